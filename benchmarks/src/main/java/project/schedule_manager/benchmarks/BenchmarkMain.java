@@ -0,0 +1,30 @@
+package project.schedule_manager.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with allocation profiling always enabled, so every result reports the bytes allocated per
+ * operation next to its time. Accepts the usual JMH command line, for example a benchmark name pattern, {@code -p
+ * size=1000} to run one size, or {@code -rf json -rff baseline.json} to record a baseline.
+ */
+public abstract class BenchmarkMain {
+    /**
+     * Runs the benchmarks selected on the command line.
+     *
+     * @param args the JMH command line
+     *
+     * @throws CommandLineOptionException if the command line cannot be parsed
+     * @throws RunnerException            if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
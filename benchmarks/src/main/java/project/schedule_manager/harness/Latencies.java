@@ -0,0 +1,130 @@
+package project.schedule_manager.harness;
+
+import java.util.Arrays;
+
+/**
+ * The latencies recorded for one operation. Each thread records into its own instance, and the instances are merged
+ * once the threads have finished. Not thread-safe.
+ */
+public class Latencies {
+    /**
+     * The recorded latencies, in nanoseconds. Only the first {@link #count} are used.
+     */
+    private long[] nanos = new long[1024];
+
+    /**
+     * The number of recorded latencies.
+     */
+    private int count;
+
+    /**
+     * The number of operations that failed. Failed operations are not timed.
+     */
+    private int errors;
+
+    /**
+     * The message of the first failure, or null if none failed.
+     */
+    private String firstError;
+
+    /**
+     * Whether {@link #nanos} is sorted.
+     */
+    private boolean sorted = true;
+
+    /**
+     * Records the latency of a successful operation.
+     *
+     * @param latency the latency, in nanoseconds
+     */
+    public void record(long latency) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latency;
+        sorted = false;
+    }
+
+    /**
+     * Records a failed operation.
+     *
+     * @param error the error it raised
+     */
+    public void fail(Throwable error) {
+        if (firstError == null) {
+            firstError = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+        errors++;
+    }
+
+    /**
+     * Adds the latencies and failures recorded by another instance.
+     *
+     * @param other the instance to add
+     */
+    public void merge(Latencies other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.nanos[i]);
+        }
+        if (firstError == null) {
+            firstError = other.firstError;
+        }
+        errors += other.errors;
+    }
+
+    /**
+     * Returns the number of successful operations.
+     *
+     * @return the number of recorded latencies
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of failed operations.
+     *
+     * @return the number of failures
+     */
+    public int errors() {
+        return errors;
+    }
+
+    /**
+     * Returns the message of the first failure.
+     *
+     * @return the message, or null if no operation failed
+     */
+    public String firstError() {
+        return firstError;
+    }
+
+    /**
+     * Returns a latency percentile, by the nearest-rank method.
+     *
+     * @param percentile the percentile, from 0 to 100
+     *
+     * @return the latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(nanos, 0, count);
+            sorted = true;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return nanos[Math.max(0, Math.min(count, rank) - 1)] / 1e6;
+    }
+
+    /**
+     * Returns the highest latency.
+     *
+     * @return the latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double max() {
+        return percentile(100);
+    }
+}
@@ -0,0 +1,471 @@
+package project.schedule_manager.harness;
+
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Customer;
+import project.schedule_manager.utils.AppointmentColumns;
+import project.schedule_manager.utils.AppointmentIndex;
+import project.schedule_manager.utils.AppointmentPager;
+import project.schedule_manager.utils.JDBC;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Drives the application's {@link JDBC} paths against an embedded H2 database in MySQL mode, growing the data step by
+ * step to find the table size at which the application stops keeping up.
+ * <p>
+ * At each scale the tables are topped up by {@link SyntheticData}, and then:
+ * <ul>
+ *     <li>the session load is timed: every appointment is read page by page, as {@link AppointmentPager} reads them,
+ *     into the same column store and customer index the application keeps, and every customer is read;</li>
+ *     <li>a mix of single-appointment reads, keyset pages, reminder window reads, inserts, updates and deletes is run
+ *     from several threads through the application's connection pool.</li>
+ * </ul>
+ * Throughput and latency percentiles are printed for each operation. The run stops at the first scale where an
+ * operation fails, the 99th percentile of an operation exceeds {@code --max-p99-ms}, the median load exceeds
+ * {@code --max-load-seconds}, or the heap runs out.
+ * <p>
+ * Options are given as {@code --name=value}; see {@link Options} for the names and defaults.
+ */
+public abstract class LoadHarness {
+    /**
+     * The embedded database the harness runs against.
+     */
+    private static final String URL = "jdbc:h2:mem:client_schedule;MODE=MySQL;DATABASE_TO_LOWER=TRUE;" +
+            "NON_KEYWORDS=END;DB_CLOSE_DELAY=-1";
+
+    /**
+     * The operations of the mixed workload, with the relative frequency of each.
+     */
+    private enum Operation {
+        SELECT(20),
+        PAGE(30),
+        REMINDERS(10),
+        INSERT(15),
+        UPDATE(15),
+        DELETE(10);
+
+        /**
+         * The relative frequency of the operation.
+         */
+        private final int weight;
+
+        /**
+         * Creates an operation.
+         *
+         * @param weight the relative frequency of the operation
+         */
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args the options, as {@code --name=value}
+     *
+     * @throws Exception if the database cannot be set up or a worker fails unexpectedly
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        SyntheticData data = new SyntheticData(options.seed(), options.anchor());
+
+        try (Connection admin = DriverManager.getConnection(URL, "sa", "")) {
+            runScript(admin, "/harness/schema.sql");
+            runScript(admin, "/sql/indexes.sql");
+
+            System.setProperty("db.driver", "org.h2.Driver");
+            System.setProperty("db.url", URL);
+            System.setProperty("db.user", "sa");
+            System.setProperty("db.password", "");
+            System.setProperty("pool.maxSize", String.valueOf(options.threads()));
+            JDBC.openConnection();
+
+            try {
+                for (int appointments : options.scales()) {
+                    String failure = runScale(admin, data, options, appointments);
+                    if (failure != null) {
+                        System.out.printf("%nFell over at %,d appointments: %s%n", appointments, failure);
+                        return;
+                    }
+                }
+                System.out.printf("%nKept up at every scale up to %,d appointments.%n",
+                        options.scales()[options.scales().length - 1]);
+            } finally {
+                JDBC.closeConnection();
+            }
+        }
+    }
+
+    /**
+     * Grows the data to a scale and measures the load and the mixed workload.
+     *
+     * @param admin        the connection the data is generated with
+     * @param data         the generator
+     * @param options      the harness options
+     * @param appointments the number of appointments to grow to
+     *
+     * @return the reason the application fell over at this scale, or null if it kept up
+     *
+     * @throws Exception if the data cannot be generated or a worker fails unexpectedly
+     */
+    private static String runScale(Connection admin, SyntheticData data, Options options, int appointments)
+            throws Exception {
+        SyntheticData.Scale scale = new SyntheticData.Scale(options.divisions(), options.contacts(),
+                options.users(), Math.max(1, appointments / options.appointmentsPerCustomer()), appointments);
+        System.out.printf("%n== %,d appointments, %,d customers ==%n", scale.appointments(), scale.customers());
+
+        int before = data.appointments();
+        long started = System.nanoTime();
+        data.populate(admin, scale);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Generated %,d appointments in %.1f s (%,.0f rows/s)%n", data.appointments() - before,
+                seconds, (data.appointments() - before) / Math.max(seconds, 1e-9));
+
+        Latencies load = new Latencies();
+        try {
+            for (int run = 0; run < options.loadRuns(); run++) {
+                long loadStarted = System.nanoTime();
+                Session session = loadSession();
+                load.record(System.nanoTime() - loadStarted);
+                if (run == 0) {
+                    long heap = usedHeapMegabytes();
+                    System.out.printf("Load: %,d appointments and %,d customers, heap in use %,d MB%n",
+                            session.appointments().size(), session.customers().size(), heap);
+                }
+            }
+        } catch (OutOfMemoryError e) {
+            return "the session load ran out of heap";
+        } catch (RuntimeException e) {
+            load.fail(e);
+        }
+        System.out.printf("Load: %d runs, p50 %.1f ms, max %.1f ms%n", load.count(), load.percentile(50),
+                load.max());
+
+        Map<Operation, Latencies> mix = runMix(admin, data, options);
+
+        if (load.errors() > 0) {
+            return "the session load failed: " + load.firstError();
+        }
+        if (load.percentile(50) > options.maxLoadSeconds() * 1000) {
+            return String.format("the session load took %.1f s", load.percentile(50) / 1000);
+        }
+        for (Map.Entry<Operation, Latencies> entry : mix.entrySet()) {
+            Latencies latencies = entry.getValue();
+            if (latencies.errors() > 0) {
+                return entry.getKey() + " failed: " + latencies.firstError();
+            }
+            if (latencies.percentile(99) > options.maxP99Millis()) {
+                return String.format("%s p99 was %.1f ms", entry.getKey(), latencies.percentile(99));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads every appointment and customer as a session does, keeping the appointments in a column store and
+     * customer index.
+     *
+     * @return the loaded session
+     */
+    private static Session loadSession() {
+        AppointmentColumns columns = new AppointmentColumns();
+        AppointmentIndex index = new AppointmentIndex(columns);
+
+        Appointment last = null;
+        List<Appointment> page;
+        do {
+            page = JDBC.selectAppointmentPage(last, AppointmentPager.PAGE_SIZE);
+            for (Appointment appointment : page) {
+                index.add(columns.put(appointment));
+                last = appointment;
+            }
+        } while (page.size() == AppointmentPager.PAGE_SIZE);
+
+        return new Session(columns, index, JDBC.selectCustomerRecords());
+    }
+
+    /**
+     * Runs the mixed workload and prints the throughput and latency percentiles of each operation.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Each worker is submitted as a lambda expression that records into its own
+     * latencies, which are merged once every worker has finished.
+     *
+     * @param admin   the connection used to find the highest appointment ID
+     * @param data    the generator of inserted and updated appointments
+     * @param options the harness options
+     *
+     * @return the latencies of each operation
+     *
+     * @throws Exception if a worker fails unexpectedly
+     */
+    private static Map<Operation, Latencies> runMix(Connection admin, SyntheticData data, Options options)
+            throws Exception {
+        int maxID = maxAppointmentID(admin);
+        AtomicInteger remaining = new AtomicInteger(options.operations());
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads());
+
+        List<Future<Map<Operation, Latencies>>> results = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int thread = 0; thread < options.threads(); thread++) {
+            Random random = new Random(options.seed() * 31 + thread);
+            results.add(workers.submit(() -> work(data, random, maxID, remaining)));
+        }
+
+        Map<Operation, Latencies> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Latencies>> result : results) {
+            result.get().forEach((operation, latencies) ->
+                    merged.computeIfAbsent(operation, key -> new Latencies()).merge(latencies));
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        workers.shutdown();
+
+        System.out.printf("Mix: %,d operations on %d threads in %.1f s (%,.0f ops/s)%n", options.operations(),
+                options.threads(), seconds, options.operations() / seconds);
+        System.out.printf("%-10s %8s %7s %9s %9s %9s %9s %9s %9s%n", "Operation", "Count", "Errors", "Ops/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        merged.forEach((operation, latencies) -> System.out.printf(
+                "%-10s %,8d %7d %,9.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation, latencies.count(),
+                latencies.errors(), latencies.count() / seconds, latencies.percentile(50),
+                latencies.percentile(90), latencies.percentile(99), latencies.percentile(99.9), latencies.max()));
+        return merged;
+    }
+
+    /**
+     * Runs operations until the shared budget is used up.
+     *
+     * @param data      the generator of inserted and updated appointments
+     * @param random    the worker's random source
+     * @param maxID     the highest appointment ID when the mix started
+     * @param remaining the number of operations left to run by all workers
+     *
+     * @return the latencies of each operation the worker ran
+     */
+    private static Map<Operation, Latencies> work(SyntheticData data, Random random, int maxID,
+                                                  AtomicInteger remaining) {
+        Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+        Operation[] operations = Operation.values();
+        int totalWeight = Arrays.stream(operations).mapToInt(operation -> operation.weight).sum();
+
+        while (remaining.getAndDecrement() > 0) {
+            int pick = random.nextInt(totalWeight);
+            Operation operation = operations[0];
+            for (Operation candidate : operations) {
+                operation = candidate;
+                pick -= candidate.weight;
+                if (pick < 0) {
+                    break;
+                }
+            }
+
+            Latencies recorded = latencies.computeIfAbsent(operation, key -> new Latencies());
+            long started = System.nanoTime();
+            try {
+                execute(operation, data, random, maxID);
+                recorded.record(System.nanoTime() - started);
+            } catch (SQLException | RuntimeException e) {
+                recorded.fail(e);
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Runs one operation through the application's data access layer.
+     *
+     * @param operation the operation to run
+     * @param data      the generator of inserted and updated appointments
+     * @param random    the worker's random source
+     * @param maxID     the highest appointment ID when the mix started
+     *
+     * @throws SQLException if the operation fails
+     */
+    private static void execute(Operation operation, SyntheticData data, Random random, int maxID)
+            throws SQLException {
+        int appointmentID = 1 + random.nextInt(maxID);
+        LocalDate date = data.anchor().plusDays(random.nextInt(SyntheticData.PAST_DAYS + SyntheticData.FUTURE_DAYS)
+                - SyntheticData.PAST_DAYS);
+
+        switch (operation) {
+            case SELECT -> JDBC.selectAppointment(appointmentID);
+            case PAGE -> JDBC.selectAppointmentPage(new Appointment(appointmentID, null, null, null, null, null, date,
+                    LocalTime.of(8 + random.nextInt(14), 0), null, 0, 0), AppointmentPager.PAGE_SIZE);
+            case REMINDERS -> {
+                LocalDateTime from = date.atTime(8 + random.nextInt(14), 0);
+                JDBC.selectAppointmentsStartingBetween(from, from.plusDays(1));
+            }
+            case INSERT -> JDBC.saveAppointment(false, data.appointmentForm(random));
+            case UPDATE -> {
+                Map<Integer, Object> form = new HashMap<>(data.appointmentForm(random));
+                form.put(10, String.valueOf(appointmentID));
+                JDBC.saveAppointment(true, form);
+            }
+            case DELETE -> JDBC.deleteAppointment(appointmentID);
+        }
+    }
+
+    /**
+     * Returns the highest appointment ID.
+     *
+     * @param connection the connection to query
+     *
+     * @return the highest ID, or 1 if there are no appointments
+     *
+     * @throws SQLException if the query fails
+     */
+    private static int maxAppointmentID(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MAX(Appointment_ID) FROM appointments")) {
+            return resultSet.next() ? Math.max(1, resultSet.getInt(1)) : 1;
+        }
+    }
+
+    /**
+     * Runs the statements of a SQL script on the class path. Comment lines are skipped and statements are separated
+     * by semicolons.
+     *
+     * @param connection the connection to run the script with
+     * @param resource   the script's resource name
+     *
+     * @throws IOException  if the script cannot be read
+     * @throws SQLException if a statement fails
+     */
+    private static void runScript(Connection connection, String resource) throws IOException, SQLException {
+        String script;
+        try (InputStream in = LoadHarness.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing resource: " + resource);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String withoutComments = script.lines()
+                .filter(line -> !line.trim().startsWith("--"))
+                .collect(Collectors.joining("\n"));
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : withoutComments.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the heap in use after a garbage collection.
+     *
+     * @return the heap in use, in megabytes
+     */
+    private static long usedHeapMegabytes() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+    }
+
+    /**
+     * The data a session holds once loaded.
+     *
+     * @param appointments the appointments
+     * @param index        the appointments, indexed by customer
+     * @param customers    the customers
+     */
+    private record Session(AppointmentColumns appointments, AppointmentIndex index, List<Customer> customers) {
+    }
+
+    /**
+     * The harness options.
+     *
+     * @param scales                  the numbers of appointments to grow to, in order; {@code --scales}, default
+     *                                1000,10000,100000,1000000
+     * @param appointmentsPerCustomer the average number of appointments per customer; {@code
+     *                                --appointments-per-customer}, default 20
+     * @param divisions               the number of first-level divisions; {@code --divisions}, default 70
+     * @param contacts                the number of contacts; {@code --contacts}, default 10
+     * @param users                   the number of users; {@code --users}, default 20
+     * @param seed                    the seed of the generated data and workload; {@code --seed}, default 42
+     * @param anchor                  the date appointments are spread around; {@code --anchor}, default
+     *                                2025-01-06
+     * @param operations              the number of mixed operations per scale; {@code --operations}, default
+     *                                5000
+     * @param threads                 the number of worker threads and pooled connections; {@code --threads},
+     *                                default 4
+     * @param loadRuns                the number of session loads timed per scale; {@code --load-runs}, default 3
+     * @param maxP99Millis            the highest acceptable 99th percentile of an operation; {@code
+     *                                --max-p99-ms}, default 250
+     * @param maxLoadSeconds          the highest acceptable median session load; {@code --max-load-seconds},
+     *                                default 30
+     */
+    private record Options(int[] scales, int appointmentsPerCustomer, int divisions, int contacts, int users,
+                           long seed, LocalDate anchor, int operations, int threads, int loadRuns,
+                           double maxP99Millis, double maxLoadSeconds) {
+        /**
+         * The names of the options.
+         */
+        private static final Set<String> NAMES = Set.of("scales", "appointments-per-customer", "divisions",
+                "contacts", "users", "seed", "anchor", "operations", "threads", "load-runs", "max-p99-ms",
+                "max-load-seconds");
+
+        /**
+         * Parses the command line.
+         *
+         * @param args the options, as {@code --name=value}
+         *
+         * @return the options, with defaults for those not given
+         *
+         * @throws IllegalArgumentException if an argument is not a known option
+         */
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --name=value: " + arg);
+                }
+                String name = arg.substring(2, equals);
+                if (!NAMES.contains(name)) {
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+                values.put(name, arg.substring(equals + 1));
+            }
+
+            return new Options(
+                    Arrays.stream(values.getOrDefault("scales", "1000,10000,100000,1000000").split(","))
+                            .map(String::trim).mapToInt(Integer::parseInt).toArray(),
+                    Integer.parseInt(values.getOrDefault("appointments-per-customer", "20")),
+                    Integer.parseInt(values.getOrDefault("divisions", "70")),
+                    Integer.parseInt(values.getOrDefault("contacts", "10")),
+                    Integer.parseInt(values.getOrDefault("users", "20")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    LocalDate.parse(values.getOrDefault("anchor", "2025-01-06")),
+                    Integer.parseInt(values.getOrDefault("operations", "5000")),
+                    Integer.parseInt(values.getOrDefault("threads", "4")),
+                    Integer.parseInt(values.getOrDefault("load-runs", "3")),
+                    Double.parseDouble(values.getOrDefault("max-p99-ms", "250")),
+                    Double.parseDouble(values.getOrDefault("max-load-seconds", "30")));
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package project.schedule_manager.harness;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates the rows of the client_schedule tables at a given scale, with distributions resembling a real schedule.
+ * <p>
+ * Customers are spread over divisions and appointments over customers by Zipf distributions, so a few divisions hold
+ * most customers and a few customers most appointments. Appointments fall mostly on weekdays, cluster in the
+ * morning and early afternoon, last 30 or 60 minutes more often than not, and span a year before and a quarter after
+ * the anchor date. Each table is topped up to the requested size, so the same data can be grown step by step.
+ * <p>
+ * The rows depend only on the seed, the anchor date and the sequence of scales requested, so a run can be repeated
+ * exactly. Not thread-safe, except for {@link #appointmentForm}, which draws from the caller's random source.
+ */
+public class SyntheticData {
+    /**
+     * The countries.
+     */
+    private static final String[] COUNTRIES = {"U.S", "UK", "Canada"};
+
+    /**
+     * The share of divisions in each country, in the order of {@link #COUNTRIES}.
+     */
+    private static final double[] COUNTRY_SHARES = {0.6, 0.2, 0.2};
+
+    /**
+     * The cumulative distribution of divisions over {@link #COUNTRIES}.
+     */
+    private static final double[] COUNTRY_CDF = cdf(COUNTRY_SHARES);
+
+    /**
+     * First names for customers and contacts.
+     */
+    private static final String[] FIRST_NAMES = {"Anika", "Daniel", "Li", "Maria", "James", "Priya", "Omar", "Sofia",
+            "Chen", "Grace", "Lucas", "Amara", "Noah", "Elena", "Kenji", "Fatima"};
+
+    /**
+     * Last names for customers and contacts.
+     */
+    private static final String[] LAST_NAMES = {"Costa", "Garcia", "Lee", "Smith", "Patel", "Nguyen", "Okafor",
+            "Muller", "Rossi", "Kim", "Johnson", "Silva", "Haddad", "Novak", "Tanaka", "Brown"};
+
+    /**
+     * Street names for customer addresses.
+     */
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Maple Rd", "High St", "Church Ln", "Park Blvd",
+            "Station Rd", "Elm St", "King St", "Lakeview Dr"};
+
+    /**
+     * The appointment types.
+     */
+    private static final String[] TYPES = {"Planning Session", "Follow-up", "Consultation", "De-Briefing", "Review"};
+
+    /**
+     * The relative frequency of each appointment type.
+     */
+    private static final double[] TYPE_WEIGHTS = {30, 25, 20, 15, 10};
+
+    /**
+     * Appointment descriptions.
+     */
+    private static final String[] DESCRIPTIONS = {"Quarterly review", "Project kickoff", "Status update",
+            "Contract renewal", "Budget planning", "Onboarding", "Escalation", "Product demo"};
+
+    /**
+     * The relative frequency of each start hour from 8:00 to 21:00.
+     */
+    private static final double[] HOUR_WEIGHTS = {6, 10, 12, 11, 7, 9, 11, 10, 8, 5, 3, 3, 2, 2};
+
+    /**
+     * Appointment durations, in minutes.
+     */
+    private static final int[] DURATIONS = {15, 30, 45, 60, 90, 120};
+
+    /**
+     * The relative frequency of each duration.
+     */
+    private static final double[] DURATION_WEIGHTS = {15, 40, 10, 25, 5, 5};
+
+    /**
+     * The Zipf exponent of the number of customers per division.
+     */
+    private static final double DIVISION_SKEW = 1.0;
+
+    /**
+     * The Zipf exponent of the number of appointments per customer.
+     */
+    private static final double CUSTOMER_SKEW = 0.8;
+
+    /**
+     * The number of days before the anchor date appointments are spread over.
+     */
+    public static final int PAST_DAYS = 365;
+
+    /**
+     * The number of days after the anchor date appointments are spread over.
+     */
+    public static final int FUTURE_DAYS = 90;
+
+    /**
+     * The number of rows inserted per batch and committed together.
+     */
+    private static final int BATCH_SIZE = 5000;
+
+    /**
+     * The source of every generated row.
+     */
+    private final Random random;
+
+    /**
+     * The date appointments are spread around.
+     */
+    private final LocalDate anchor;
+
+    /**
+     * The generated rows' IDs, per table.
+     */
+    private int[] countryIDs = new int[0], divisionIDs = new int[0], divisionCountries = new int[0],
+            contactIDs = new int[0], userIDs = new int[0], customerIDs = new int[0];
+
+    /**
+     * The number of appointments generated.
+     */
+    private int appointments;
+
+    /**
+     * The cumulative distribution of appointments over {@link #customerIDs}.
+     */
+    private double[] customerCdf = new double[0];
+
+    /**
+     * The cumulative distributions of the categorical columns.
+     */
+    private final double[] typeCdf = cdf(TYPE_WEIGHTS), hourCdf = cdf(HOUR_WEIGHTS),
+            durationCdf = cdf(DURATION_WEIGHTS);
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed   the seed of every generated row
+     * @param anchor the date appointments are spread around
+     */
+    public SyntheticData(long seed, LocalDate anchor) {
+        this.random = new Random(seed);
+        this.anchor = anchor;
+    }
+
+    /**
+     * The size of each table.
+     *
+     * @param divisions    the number of first-level divisions
+     * @param contacts     the number of contacts
+     * @param users        the number of users
+     * @param customers    the number of customers
+     * @param appointments the number of appointments
+     */
+    public record Scale(int divisions, int contacts, int users, int customers, int appointments) {
+    }
+
+    /**
+     * Returns the date appointments are spread around.
+     *
+     * @return the anchor date
+     */
+    public LocalDate anchor() {
+        return anchor;
+    }
+
+    /**
+     * Returns the number of appointments generated so far.
+     *
+     * @return the number of appointments
+     */
+    public int appointments() {
+        return appointments;
+    }
+
+    /**
+     * Inserts rows until each table holds at least as many generated rows as the scale asks for. Tables already at
+     * or above their size are left alone.
+     *
+     * @param connection the connection to insert with; its auto-commit mode is restored afterwards
+     * @param scale      the size of each table
+     *
+     * @throws SQLException if the rows cannot be inserted
+     */
+    public void populate(Connection connection, Scale scale) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            if (countryIDs.length == 0) {
+                countryIDs = insert(connection, "INSERT INTO countries (Country) VALUES (?)", COUNTRIES.length,
+                        i -> new Object[]{COUNTRIES[i]});
+            }
+
+            int divisionsBefore = divisionIDs.length;
+            int[] countries = new int[Math.max(0, scale.divisions() - divisionsBefore)];
+            int[] added = insert(connection, "INSERT INTO first_level_divisions (Division, Country_ID) VALUES (?, ?)",
+                    countries.length, i -> {
+                        int country = pick(COUNTRY_CDF);
+                        countries[i] = countryIDs[country];
+                        return new Object[]{String.format("%s Region %d", COUNTRIES[country],
+                                divisionsBefore + i + 1), countryIDs[country]};
+                    });
+            divisionIDs = concat(divisionIDs, added);
+            divisionCountries = concat(divisionCountries, countries);
+
+            contactIDs = concat(contactIDs, insert(connection,
+                    "INSERT INTO contacts (Contact_Name, Email) VALUES (?, ?)",
+                    scale.contacts() - contactIDs.length, i -> {
+                        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                        return new Object[]{first + " " + last,
+                                String.format("%s.%s%d@example.com", first, last, i).toLowerCase()};
+                    }));
+
+            int usersBefore = userIDs.length;
+            userIDs = concat(userIDs, insert(connection, "INSERT INTO users (User_Name, Password) VALUES (?, ?)",
+                    scale.users() - usersBefore, i -> new Object[]{"user" + (usersBefore + i + 1), "test"}));
+
+            double[] divisionCdf = zipfCdf(divisionIDs.length, DIVISION_SKEW);
+            int customersBefore = customerIDs.length;
+            customerIDs = concat(customerIDs, insert(connection, "INSERT INTO customers (Customer_Name, Address, " +
+                            "Postal_Code, Phone, Division_ID) VALUES (?, ?, ?, ?, ?)",
+                    scale.customers() - customersBefore, i -> customerRow(pick(divisionCdf))));
+            if (customerIDs.length != customersBefore) {
+                customerCdf = zipfCdf(customerIDs.length, CUSTOMER_SKEW);
+            }
+
+            int appointmentsToAdd = Math.max(0, scale.appointments() - appointments);
+            insert(connection, "INSERT INTO appointments (Title, Description, Location, Type, Start, End, " +
+                            "Customer_ID, User_ID, Contact_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    appointmentsToAdd, i -> appointmentRow(random));
+            appointments += appointmentsToAdd;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Generates the form data of a new appointment, keyed by placeholder index as {@code JDBC.saveAppointment}
+     * expects. May be called from several threads, each with its own random source, once the data has been
+     * populated.
+     *
+     * @param random the source of the appointment
+     *
+     * @return the values of placeholders 1 to 9
+     */
+    public Map<Integer, Object> appointmentForm(Random random) {
+        Object[] row = appointmentRow(random);
+        Map<Integer, Object> form = new HashMap<>();
+        for (int i = 0; i < row.length; i++) {
+            form.put(i + 1, row[i]);
+        }
+        return form;
+    }
+
+    /**
+     * Generates a customer.
+     *
+     * @param division the index of the customer's division
+     *
+     * @return the customer's name, address, postal code, phone and division ID
+     */
+    private Object[] customerRow(int division) {
+        String country = COUNTRIES[Arrays.binarySearch(countryIDs, divisionCountries[division])];
+
+        String postalCode = switch (country) {
+            case "UK" -> String.format("%c%c%d %d%c%c", letter(), letter(), 1 + random.nextInt(9), random.nextInt(10),
+                    letter(), letter());
+            case "Canada" -> String.format("%c%d%c %d%c%d", letter(), random.nextInt(10), letter(),
+                    random.nextInt(10), letter(), random.nextInt(10));
+            default -> String.format("%05d", random.nextInt(100000));
+        };
+        String phone = switch (country) {
+            case "UK" -> String.format("+44 20 %04d %04d", random.nextInt(10000), random.nextInt(10000));
+            default -> String.format("%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000),
+                    random.nextInt(10000));
+        };
+
+        return new Object[]{
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                String.format("%d %s, City %d", 1 + random.nextInt(9999), STREETS[random.nextInt(STREETS.length)],
+                        1 + random.nextInt(500)),
+                postalCode,
+                phone,
+                divisionIDs[division]
+        };
+    }
+
+    /**
+     * Generates an appointment.
+     *
+     * @param random the source of the appointment
+     *
+     * @return the appointment's title, description, location, type, start, end, customer, user and contact IDs
+     */
+    private Object[] appointmentRow(Random random) {
+        LocalDate date;
+        do {
+            date = anchor.plusDays(random.nextInt(PAST_DAYS + FUTURE_DAYS) - PAST_DAYS);
+        } while (date.getDayOfWeek().compareTo(DayOfWeek.SATURDAY) >= 0 && random.nextInt(10) != 0);
+
+        int duration = DURATIONS[pick(durationCdf, random)];
+        LocalDateTime start = LocalDateTime.of(date, LocalTime.of(8 + pick(hourCdf, random), 15 * random.nextInt(4)));
+        LocalDateTime latestStart = LocalDateTime.of(date, LocalTime.of(22, 0)).minusMinutes(duration);
+        if (start.isAfter(latestStart)) {
+            start = latestStart;
+        }
+
+        String type = TYPES[pick(typeCdf, random)];
+        return new Object[]{
+                type + " " + (1 + random.nextInt(1000)),
+                DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                "Office " + (1 + random.nextInt(20)),
+                type,
+                Timestamp.valueOf(start),
+                Timestamp.valueOf(start.plusMinutes(duration)),
+                customerIDs[pick(customerCdf, random)],
+                userIDs[random.nextInt(userIDs.length)],
+                contactIDs[random.nextInt(contactIDs.length)]
+        };
+    }
+
+    /**
+     * Inserts generated rows in batches, committing after each batch.
+     *
+     * @param connection the connection to insert with, not in auto-commit mode
+     * @param sql        the insert statement
+     * @param count      the number of rows to insert; nothing is inserted if it is not positive
+     * @param rows       generates the values of each row, given its index among the rows inserted
+     *
+     * @return the generated IDs, in insertion order
+     *
+     * @throws SQLException if the rows cannot be inserted
+     */
+    private static int[] insert(Connection connection, String sql, int count, Row rows) throws SQLException {
+        if (count <= 0) {
+            return new int[0];
+        }
+
+        int[] ids = new int[count];
+        int read = 0;
+
+        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < count; i++) {
+                Object[] values = rows.generate(i);
+                for (int column = 0; column < values.length; column++) {
+                    statement.setObject(column + 1, values[column]);
+                }
+                statement.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0 || i + 1 == count) {
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids[read++] = keys.getInt(1);
+                        }
+                    }
+                    connection.commit();
+                }
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+        return ids;
+    }
+
+    /**
+     * Picks an index from a cumulative distribution using the generator's random source.
+     *
+     * @param cdf the cumulative distribution, ending at 1
+     *
+     * @return the picked index
+     */
+    private int pick(double[] cdf) {
+        return pick(cdf, random);
+    }
+
+    /**
+     * Picks an index from a cumulative distribution.
+     *
+     * @param cdf    the cumulative distribution, ending at 1
+     * @param random the random source
+     *
+     * @return the picked index
+     */
+    private static int pick(double[] cdf, Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cdf.length - 1);
+    }
+
+    /**
+     * Returns the cumulative distribution of a Zipf distribution.
+     *
+     * @param size     the number of ranks
+     * @param exponent the skew; 0 is uniform
+     *
+     * @return the cumulative probability of each rank
+     */
+    private static double[] zipfCdf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+        return cdf(weights);
+    }
+
+    /**
+     * Returns the cumulative distribution of a set of relative frequencies.
+     *
+     * @param weights the relative frequency of each index
+     *
+     * @return the cumulative probability of each index
+     */
+    private static double[] cdf(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum / total;
+        }
+        return cdf;
+    }
+
+    /**
+     * Returns a random upper-case letter.
+     *
+     * @return the letter
+     */
+    private char letter() {
+        return (char) ('A' + random.nextInt(26));
+    }
+
+    /**
+     * Appends one array of IDs to another.
+     *
+     * @param first  the first IDs
+     * @param second the IDs to append
+     *
+     * @return the combined IDs
+     */
+    private static int[] concat(int[] first, int[] second) {
+        int[] combined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, combined, first.length, second.length);
+        return combined;
+    }
+
+    /**
+     * Generates the values of one row.
+     */
+    @FunctionalInterface
+    private interface Row {
+        /**
+         * Generates a row.
+         *
+         * @param index the row's index among the rows being inserted
+         *
+         * @return the row's values, in placeholder order
+         */
+        Object[] generate(int index);
+    }
+}
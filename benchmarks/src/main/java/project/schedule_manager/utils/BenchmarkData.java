@@ -0,0 +1,103 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the appointments the benchmarks run against. The same size always yields the same appointments, so
+ * results can be compared between runs.
+ */
+abstract class BenchmarkData {
+    /**
+     * The first date appointments are generated on.
+     */
+    static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+
+    /**
+     * The number of days appointments are spread over.
+     */
+    static final int DAYS = 730;
+
+    /**
+     * The average number of appointments per customer.
+     */
+    private static final int APPOINTMENTS_PER_CUSTOMER = 50;
+
+    /**
+     * The contacts appointments are assigned to.
+     */
+    private static final String[] CONTACTS = {"Anika Costa", "Daniel Garcia", "Li Lee"};
+
+    /**
+     * The appointment types.
+     */
+    private static final String[] TYPES = {"Planning Session", "De-Briefing", "Follow-up", "Consultation",
+            "Review"};
+
+    /**
+     * Generates appointments of 15 to 120 minutes starting on the quarter hour during business hours, with IDs
+     * starting at 1.
+     *
+     * @param size the number of appointments
+     *
+     * @return the appointments, in ID order
+     */
+    static List<Appointment> appointments(int size) {
+        Random random = new Random(size);
+        int customers = customers(size);
+        List<Appointment> appointments = new ArrayList<>(size);
+
+        for (int id = 1; id <= size; id++) {
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS));
+            LocalTime start = LocalTime.of(8 + random.nextInt(12), 15 * random.nextInt(4));
+            LocalTime end = start.plusMinutes(15L * (1 + random.nextInt(8)));
+
+            appointments.add(new Appointment(id,
+                    "Title " + id,
+                    "Description of appointment " + id,
+                    "Location " + random.nextInt(50),
+                    CONTACTS[random.nextInt(CONTACTS.length)],
+                    TYPES[random.nextInt(TYPES.length)],
+                    date,
+                    start,
+                    end,
+                    1 + random.nextInt(customers),
+                    1 + random.nextInt(2)));
+        }
+        return appointments;
+    }
+
+    /**
+     * Returns the number of customers the appointments of a given size are spread over.
+     *
+     * @param size the number of appointments
+     *
+     * @return the number of customers
+     */
+    static int customers(int size) {
+        return Math.max(1, size / APPOINTMENTS_PER_CUSTOMER);
+    }
+
+    /**
+     * Generates random one-hour time slots within the appointments' date range.
+     *
+     * @param count  the number of slots
+     * @param random the source of the slots
+     *
+     * @return the start of each slot
+     */
+    static LocalDateTime[] slots(int count, Random random) {
+        LocalDateTime[] slots = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = LocalDateTime.of(FIRST_DATE.plusDays(random.nextInt(DAYS)),
+                    LocalTime.of(random.nextInt(24), 15 * random.nextInt(4)));
+        }
+        return slots;
+    }
+}
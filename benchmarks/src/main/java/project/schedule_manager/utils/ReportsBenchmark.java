@@ -0,0 +1,172 @@
+package project.schedule_manager.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Contact;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three reports of the Reports tab, as aggregated by {@link AppointmentReports}.
+ * <p>
+ * The count reports are measured from the monthly and daily counts the database returns to the rendered text, which
+ * is what displaying a report after any change costs. The per-contact schedule is rendered from each contact's pages
+ * served from memory, so only the paging and formatting are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ReportsBenchmark {
+    /**
+     * Orders a contact's appointments as the per-contact page query does.
+     */
+    private static final Comparator<Appointment> PAGE_ORDER = Comparator.comparing(Appointment::startDateTime)
+            .thenComparingInt(Appointment::appointmentID);
+
+    /**
+     * The number of appointments.
+     */
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    /**
+     * The number of appointments of each type per start month, as returned by the database.
+     */
+    private List<JDBC.TypeMonthCount> typeMonthCounts;
+
+    /**
+     * The number of appointments per start date, as returned by the database.
+     */
+    private List<JDBC.DateCount> dateCounts;
+
+    /**
+     * The contacts, in name order.
+     */
+    private List<Contact> contacts;
+
+    /**
+     * Each contact's appointments in page order, keyed by contact ID.
+     */
+    private Map<Integer, List<Appointment>> byContact;
+
+    /**
+     * The reports being rendered.
+     */
+    private final AppointmentReports reports = new AppointmentReports();
+
+    /**
+     * Generates the appointments, aggregates them by type and start month and by start date, and groups them by
+     * contact.
+     */
+    @Setup
+    public void setUp() {
+        List<Appointment> appointments = BenchmarkData.appointments(size);
+
+        Map<String, Map<YearMonth, Integer>> months = new HashMap<>();
+        Map<LocalDate, Integer> dates = new HashMap<>();
+        Map<String, List<Appointment>> byName = new TreeMap<>();
+        for (Appointment appointment : appointments) {
+            months.computeIfAbsent(appointment.type(), type -> new HashMap<>())
+                    .merge(YearMonth.from(appointment.date()), 1, Integer::sum);
+            dates.merge(appointment.date(), 1, Integer::sum);
+            byName.computeIfAbsent(appointment.contact(), name -> new ArrayList<>()).add(appointment);
+        }
+
+        typeMonthCounts = new ArrayList<>();
+        months.forEach((type, counts) -> counts.forEach((month, count) ->
+                typeMonthCounts.add(new JDBC.TypeMonthCount(type, month, count))));
+        dateCounts = new ArrayList<>();
+        dates.forEach((date, count) -> dateCounts.add(new JDBC.DateCount(date, count)));
+
+        contacts = new ArrayList<>();
+        byContact = new HashMap<>();
+        byName.forEach((name, contactAppointments) -> {
+            Contact contact = new Contact(contacts.size() + 1, name);
+            contactAppointments.sort(PAGE_ORDER);
+            contacts.add(contact);
+            byContact.put(contact.contactID(), contactAppointments);
+        });
+    }
+
+    /**
+     * Seeds the monthly counts and renders the type-by-month report.
+     *
+     * @return the report text
+     */
+    @Benchmark
+    public String typeByMonth() {
+        return render(AppointmentReports.Report.TYPE_BY_MONTH);
+    }
+
+    /**
+     * Seeds the daily counts and renders the count-by-date report.
+     *
+     * @return the report text
+     */
+    @Benchmark
+    public String countByDate() {
+        return render(AppointmentReports.Report.COUNT_BY_DATE);
+    }
+
+    /**
+     * Renders every contact's schedule, page by page.
+     *
+     * @return the report text
+     */
+    @Benchmark
+    public String appointmentsByContact() {
+        return AppointmentReports.renderAppointmentsByContact(contacts, this::page);
+    }
+
+    /**
+     * Discards the counts, seeds them again and renders a count report. The counts are already held, so rendering
+     * completes without a query.
+     *
+     * @param report the report to render
+     *
+     * @return the report text
+     */
+    private String render(AppointmentReports.Report report) {
+        reports.invalidate();
+        reports.seed(typeMonthCounts, dateCounts);
+        return reports.render(report).join();
+    }
+
+    /**
+     * Returns the page of a contact's appointments following one, found by binary search as the keyset query finds
+     * it by index.
+     *
+     * @param contact  the contact
+     * @param after    the last appointment of the previous page, or null for the first page
+     * @param pageSize the maximum number of appointments to return
+     *
+     * @return the page
+     */
+    private List<Appointment> page(Contact contact, Appointment after, int pageSize) {
+        List<Appointment> appointments = byContact.get(contact.contactID());
+        int from = after == null ? 0 : Collections.binarySearch(appointments, after, PAGE_ORDER) + 1;
+        return appointments.subList(from, Math.min(from + pageSize, appointments.size()));
+    }
+}
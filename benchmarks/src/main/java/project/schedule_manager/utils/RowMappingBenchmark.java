@@ -0,0 +1,123 @@
+package project.schedule_manager.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import project.schedule_manager.model.Appointment;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The loop that turns appointment rows into records, {@link RowMappers#mapAll} and its streaming counterpart
+ * {@link RowMappers#forEach}, run against an in-memory result set so that the driver and the network are left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+    /**
+     * The columns of {@code JDBC.APPOINTMENT_SELECT}, in order.
+     */
+    private static final List<String> COLUMNS = List.of("Appointment_ID", "Title", "Description", "Location",
+            "Contact_Name", "Type", "Start", "End", "Customer_ID", "User_ID");
+
+    /**
+     * The number of rows.
+     */
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    /**
+     * The value of every column of every row, indexed by row and then column.
+     */
+    private Object[][] rows;
+
+    /**
+     * The row the result set is positioned on.
+     */
+    private int cursor;
+
+    /**
+     * The result set over {@link #rows}.
+     */
+    private ResultSet resultSet;
+
+    /**
+     * Generates the rows and the result set that reads them.
+     */
+    @Setup
+    public void setUp() {
+        List<Appointment> appointments = BenchmarkData.appointments(size);
+
+        rows = new Object[size][];
+        for (int i = 0; i < size; i++) {
+            Appointment appointment = appointments.get(i);
+            rows[i] = new Object[]{
+                    appointment.appointmentID(),
+                    appointment.title(),
+                    appointment.description(),
+                    appointment.location(),
+                    appointment.contact(),
+                    appointment.type(),
+                    Timestamp.valueOf(appointment.startDateTime()),
+                    Timestamp.valueOf(appointment.endDateTime()),
+                    appointment.customerID(),
+                    appointment.userID()
+            };
+        }
+
+        resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor < rows.length;
+                    case "findColumn" -> COLUMNS.indexOf((String) args[0]) + 1;
+                    case "getInt", "getString", "getTimestamp" -> rows[cursor][(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Maps every row into a list, as the paged and full selects do.
+     *
+     * @return the appointments
+     *
+     * @throws SQLException never; the result set is in memory
+     */
+    @Benchmark
+    public List<Appointment> mapAll() throws SQLException {
+        cursor = -1;
+        return RowMappers.mapAll(resultSet, RowMappers::appointments);
+    }
+
+    /**
+     * Maps every row and hands it on without collecting it, as the exports do.
+     *
+     * @param blackhole consumes each appointment
+     *
+     * @return the number of rows mapped
+     *
+     * @throws SQLException never; the result set is in memory
+     */
+    @Benchmark
+    public long forEach(Blackhole blackhole) throws SQLException {
+        cursor = -1;
+        return RowMappers.forEach(resultSet, RowMappers::appointments, blackhole::consume);
+    }
+}
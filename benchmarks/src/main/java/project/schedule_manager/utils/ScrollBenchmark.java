@@ -0,0 +1,122 @@
+package project.schedule_manager.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import project.schedule_manager.model.Appointment;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One frame of scrolling the appointments table: every visible row is read from the {@link AppointmentRowList} and
+ * every cell looks its value up in the {@link CellValueCache}, as the table's cells do when they are laid out.
+ * <p>
+ * The view scrolls back and forth over a few hundred rows, so after the first pass every frame shows rows that have
+ * been displayed before. Run with {@code -prof gc}: such frames should allocate nothing, since the row list returns
+ * the cached record of each row and the cell cache finds that record's values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ScrollBenchmark {
+    /**
+     * The number of rows visible at once.
+     */
+    private static final int VISIBLE_ROWS = 40;
+
+    /**
+     * The number of rows scrolled over, back and forth.
+     */
+    private static final int SCROLLED_ROWS = 400;
+
+    /**
+     * The display value of each column of the appointments table.
+     */
+    private static final List<Function<Appointment, Object>> COLUMNS = List.of(
+            Appointment::appointmentID,
+            Appointment::customerID,
+            Appointment::userID,
+            Appointment::title,
+            Appointment::description,
+            Appointment::location,
+            Appointment::contact,
+            Appointment::type,
+            Appointment::startDateTimeFormatted,
+            Appointment::endDateTimeFormatted);
+
+    /**
+     * The number of appointments listed.
+     */
+    @Param({"100000"})
+    int size;
+
+    /**
+     * The listed appointments, in start order.
+     */
+    private AppointmentRowList rows;
+
+    /**
+     * The cell values of the listed appointments.
+     */
+    private final CellValueCache<Appointment> cells = new CellValueCache<>();
+
+    /**
+     * The position of the first visible row.
+     */
+    private int top;
+
+    /**
+     * The direction of the scroll, 1 or -1.
+     */
+    private int step = 1;
+
+    /**
+     * Stores the appointments, lists every row and binds the columns.
+     */
+    @Setup
+    public void setUp() {
+        AppointmentColumns columns = new AppointmentColumns();
+        IntList listed = new IntList(size);
+        for (Appointment appointment : BenchmarkData.appointments(size)) {
+            listed.add(columns.put(appointment));
+        }
+
+        rows = new AppointmentRowList(columns);
+        rows.replaceRows(listed);
+        COLUMNS.forEach(cells::bind);
+    }
+
+    /**
+     * Scrolls the view by one row and reads every visible cell.
+     *
+     * @param blackhole consumes the cell values
+     */
+    @Benchmark
+    public void frame(Blackhole blackhole) {
+        if (top + step < 0 || top + step + VISIBLE_ROWS > SCROLLED_ROWS) {
+            step = -step;
+        }
+        top += step;
+
+        for (int index = top; index < top + VISIBLE_ROWS; index++) {
+            Appointment appointment = rows.get(index);
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                blackhole.consume(cells.valueOf(appointment, column));
+            }
+        }
+    }
+}
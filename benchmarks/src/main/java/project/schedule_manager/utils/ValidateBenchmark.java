@@ -0,0 +1,187 @@
+package project.schedule_manager.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import project.schedule_manager.model.Appointment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The checks run on every appointment save: the customer overlap lookup behind
+ * {@link Validate#areAppointmentsOverlapping}, the business hours check of {@link Validate#appointmentTime}, and the
+ * reminder queue that replaced the scan for appointments within 15 minutes.
+ * <p>
+ * {@code areAppointmentsOverlapping} reads its customer and excluded ID from form controls, so its lookup,
+ * {@link AppointmentIndex#overlapping}, is measured directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ValidateBenchmark {
+    /**
+     * The number of probes cycled through, so that lookups do not always hit the same cache lines.
+     */
+    private static final int PROBES = 1024;
+
+    /**
+     * The appointments, indexed by customer.
+     */
+    @State(Scope.Thread)
+    public static class Indexed {
+        /**
+         * The number of appointments.
+         */
+        @Param({"1000", "100000", "1000000"})
+        int size;
+
+        /**
+         * The indexed appointments.
+         */
+        AppointmentIndex index;
+
+        /**
+         * The customer of each probe.
+         */
+        int[] customerIDs;
+
+        /**
+         * The start of each probe.
+         */
+        LocalDateTime[] slots;
+
+        /**
+         * The next probe.
+         */
+        int next;
+
+        /**
+         * Stores and indexes the appointments and generates the probes.
+         */
+        @Setup
+        public void setUp() {
+            AppointmentColumns columns = new AppointmentColumns();
+            index = new AppointmentIndex(columns);
+            for (Appointment appointment : BenchmarkData.appointments(size)) {
+                index.add(columns.put(appointment));
+            }
+
+            Random random = new Random(PROBES);
+            slots = BenchmarkData.slots(PROBES, random);
+            customerIDs = new int[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                customerIDs[i] = 1 + random.nextInt(BenchmarkData.customers(size));
+            }
+        }
+    }
+
+    /**
+     * The appointments to queue reminders for.
+     */
+    @State(Scope.Thread)
+    public static class Upcoming {
+        /**
+         * The number of appointments.
+         */
+        @Param({"1000", "100000", "1000000"})
+        int size;
+
+        /**
+         * The appointments.
+         */
+        List<Appointment> appointments;
+
+        /**
+         * Generates the appointments.
+         */
+        @Setup
+        public void setUp() {
+            appointments = BenchmarkData.appointments(size);
+        }
+    }
+
+    /**
+     * Random date/times to check against business hours.
+     */
+    @State(Scope.Thread)
+    public static class Times {
+        /**
+         * The date/times.
+         */
+        LocalDateTime[] times;
+
+        /**
+         * The next date/time.
+         */
+        int next;
+
+        /**
+         * Generates the date/times.
+         */
+        @Setup
+        public void setUp() {
+            times = BenchmarkData.slots(PROBES, new Random(PROBES));
+        }
+    }
+
+    /**
+     * Looks up a customer's appointments overlapping a one-hour slot.
+     *
+     * @param indexed the indexed appointments and probes
+     *
+     * @return the overlapping appointments
+     */
+    @Benchmark
+    public List<Appointment> overlapping(Indexed indexed) {
+        int probe = indexed.next++ & (PROBES - 1);
+        LocalDateTime start = indexed.slots[probe];
+        return indexed.index.overlapping(indexed.customerIDs[probe], start, start.plusHours(1));
+    }
+
+    /**
+     * Checks a date/time against business hours.
+     *
+     * @param times the date/times to check
+     *
+     * @return whether the date/time is within business hours
+     */
+    @Benchmark
+    public boolean appointmentTime(Times times) {
+        return Validate.appointmentTime(times.times[times.next++ & (PROBES - 1)]);
+    }
+
+    /**
+     * Queues the reminder of every appointment, as at login with the whole range as the horizon, and takes the
+     * reminders due in the first week.
+     *
+     * @param upcoming the appointments
+     *
+     * @return the appointments whose reminders are due
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Appointment> within15Minutes(Upcoming upcoming) {
+        LocalDateTime now = BenchmarkData.FIRST_DATE.atStartOfDay();
+        LocalDateTime horizon = now.plusDays(BenchmarkData.DAYS);
+
+        ReminderQueue queue = new ReminderQueue(Duration.ofMinutes(15));
+        for (Appointment appointment : upcoming.appointments) {
+            queue.offer(appointment, now, horizon);
+        }
+        return queue.takeDue(now.plusWeeks(1));
+    }
+}
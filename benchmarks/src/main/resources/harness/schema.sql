@@ -0,0 +1,72 @@
+-- The client_schedule tables, as used by the application, for the load harness's embedded database. The indexes are
+-- added from the application's own sql/indexes.sql.
+CREATE TABLE countries
+(
+    Country_ID      INT AUTO_INCREMENT PRIMARY KEY,
+    Country         VARCHAR(50) NOT NULL,
+    Create_Date     DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50) NOT NULL DEFAULT 'harness',
+    Last_Update     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50) NOT NULL DEFAULT 'harness'
+);
+
+CREATE TABLE first_level_divisions
+(
+    Division_ID     INT AUTO_INCREMENT PRIMARY KEY,
+    Division        VARCHAR(50) NOT NULL,
+    Create_Date     DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50) NOT NULL DEFAULT 'harness',
+    Last_Update     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50) NOT NULL DEFAULT 'harness',
+    Country_ID      INT         NOT NULL REFERENCES countries (Country_ID)
+);
+
+CREATE TABLE customers
+(
+    Customer_ID     INT AUTO_INCREMENT PRIMARY KEY,
+    Customer_Name   VARCHAR(50)  NOT NULL,
+    Address         VARCHAR(100) NOT NULL,
+    Postal_Code     VARCHAR(50)  NOT NULL,
+    Phone           VARCHAR(50)  NOT NULL,
+    Create_Date     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50)  NOT NULL DEFAULT 'harness',
+    Last_Update     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50)  NOT NULL DEFAULT 'harness',
+    Division_ID     INT          NOT NULL REFERENCES first_level_divisions (Division_ID)
+);
+
+CREATE TABLE users
+(
+    User_ID         INT AUTO_INCREMENT PRIMARY KEY,
+    User_Name       VARCHAR(50)  NOT NULL UNIQUE,
+    Password        VARCHAR(255) NOT NULL,
+    Create_Date     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50)  NOT NULL DEFAULT 'harness',
+    Last_Update     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50)  NOT NULL DEFAULT 'harness'
+);
+
+CREATE TABLE contacts
+(
+    Contact_ID   INT AUTO_INCREMENT PRIMARY KEY,
+    Contact_Name VARCHAR(50) NOT NULL,
+    Email        VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE appointments
+(
+    Appointment_ID  INT AUTO_INCREMENT PRIMARY KEY,
+    Title           VARCHAR(50) NOT NULL,
+    Description     VARCHAR(50) NOT NULL,
+    Location        VARCHAR(50) NOT NULL,
+    Type            VARCHAR(50) NOT NULL,
+    Start           DATETIME    NOT NULL,
+    End             DATETIME    NOT NULL,
+    Create_Date     DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Created_By      VARCHAR(50) NOT NULL DEFAULT 'harness',
+    Last_Update     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Last_Updated_By VARCHAR(50) NOT NULL DEFAULT 'harness',
+    Customer_ID     INT         NOT NULL REFERENCES customers (Customer_ID),
+    User_ID         INT         NOT NULL REFERENCES users (User_ID),
+    Contact_ID      INT         NOT NULL REFERENCES contacts (Contact_ID)
+);
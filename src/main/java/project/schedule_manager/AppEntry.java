@@ -2,8 +2,12 @@ package project.schedule_manager;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import project.schedule_manager.utils.AsyncJDBC;
+import project.schedule_manager.utils.Authenticator;
 import project.schedule_manager.utils.JDBC;
 import project.schedule_manager.utils.LoadScene;
+import project.schedule_manager.utils.LoginJournal;
+import project.schedule_manager.utils.Startup;
 
 import java.io.IOException;
 
@@ -20,8 +24,14 @@ public class AppEntry extends Application {
     public static void main(String[] args) {
 //        Locale.setDefault(new Locale("fr", "FR"));
 
-        JDBC.openConnection();
+        Startup.begin();
         launch();
+        LoginJournal.close();
+        Authenticator.shutdown();
+        if (Authenticator.metrics().attempts() > 0) {
+            System.out.println(Authenticator.metrics());
+        }
+        AsyncJDBC.shutdown();
         JDBC.closeConnection();
     }
 
@@ -34,5 +44,6 @@ public class AppEntry extends Application {
     @Override
     public void start(Stage stage) throws IOException {
         LoadScene.login(stage);
+        Startup.warmUp();
     }
 }
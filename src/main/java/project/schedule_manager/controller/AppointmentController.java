@@ -1,18 +1,21 @@
 package project.schedule_manager.controller;
 
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import project.schedule_manager.model.Appointment;
+import project.schedule_manager.utils.AsyncJDBC;
 import project.schedule_manager.utils.DateTime;
-import project.schedule_manager.utils.JDBC;
 import project.schedule_manager.utils.LoadScene;
+import project.schedule_manager.utils.ReferenceData;
+import project.schedule_manager.utils.ScheduleStore;
 import project.schedule_manager.utils.Validate;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
-import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -29,8 +32,6 @@ import static java.util.stream.IntStream.rangeClosed;
 import static javafx.collections.FXCollections.observableList;
 
 public class AppointmentController implements Initializable {
-    private List<Appointment> appointments;
-
     @FXML
     private DatePicker date;
 
@@ -46,8 +47,9 @@ public class AppointmentController implements Initializable {
 
     /**
      * Initializes the controller class. Sets up the options for the start and end time
-     * ComboBoxes, sets the options for the contacts, customerID, and userID ComboBoxes,
-     * and validates the appointment input fields before allowing the user to submit.
+     * ComboBoxes and validates the appointment input fields before allowing the user to submit.
+     * The form is loaded once and reconfigured with {@link #configureAppointmentForm(Appointment...)} each time it is
+     * displayed.
      * <p>
      * <b>LAMBDA JUSTIFICATION</b>: The use of lambda expressions in this method allows for concise and readable code.
      * By using a lambda expression in forEach() method, we are able to apply the same
@@ -70,10 +72,6 @@ public class AppointmentController implements Initializable {
                 .map(LocalDateTime::getHour)
                 .collect(toList()))));
 
-        contacts.setItems(JDBC.selectContacts());
-        customerID.setItems(JDBC.selectCustomerID());
-        userID.setItems(JDBC.selectUserID());
-
         var fieldsAndLimits = Map.of(title, 50, description, 50, location, 50, type, 50);
         var combos = List.of(contacts, customerID, userID, startHour, startMinute, endHour, endMinute);
 
@@ -132,25 +130,29 @@ public class AppointmentController implements Initializable {
         alert.show();
     }
 
-    /**
-     * Sets the appointments list for verification of appointment data within the appointment GUI.
-     *
-     * @param appointments The list of appointments to be set for this object.
-     */
-    public void passAppointments(List<Appointment> appointments) {
-        this.appointments = appointments;
-    }
-
     /**
      * Configures the appointment form based on the number of appointments passed as arguments.
      * If no appointments are passed, the form is set up for adding a new appointment, with an auto-generated appointment ID.
      * If one appointment is passed, the form is set up for updating an existing appointment, and the form is populated with the appointment's data.
      *
+     * <p>
+     * The form is cleared first, and the contacts, customerID, and userID ComboBoxes are refilled from the reference
+     * data cache, so nothing entered on a previous display of the form is kept.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression fills the ComboBoxes once the reference data is available.
+     *
      * @param appointment A variable number of Appointment objects representing the appointment(s) to be configured on the form.
      *                     The length of the array determines the configuration of the form.
      */
-
     public void configureAppointmentForm(Appointment... appointment) {
+        clearForm();
+
+        AsyncJDBC.onFxThread(ReferenceData.load(), loaded -> {
+            contacts.setItems(FXCollections.observableArrayList(loaded.contactNames()));
+            customerID.setItems(FXCollections.observableArrayList(loaded.customerIDs()));
+            userID.setItems(FXCollections.observableArrayList(loaded.userIDs()));
+        });
+
         switch (appointment.length) {
             case 0 -> {
                 submit.setText("Add");
@@ -163,6 +165,17 @@ public class AppointmentController implements Initializable {
         }
     }
 
+    /**
+     * Clears every field of the form.
+     */
+    private void clearForm() {
+        Stream.of(appointmentID, title, description, location, type).forEach(TextInputControl::clear);
+        Stream.of(contacts, customerID, userID, startHour, startMinute, endHour, endMinute)
+                .forEach(combo -> combo.setValue(null));
+        date.setValue(null);
+        submit.setDisable(true);
+    }
+
     /**
      * Populates a form with data from the selected appointment object.
      *
@@ -198,32 +211,61 @@ public class AppointmentController implements Initializable {
      * otherwise it is inserted. Validates if the appointments are overlapping or not, and provides an alert if the
      * appointments
      * are overlapping.
+     * <p>
+     * The customer's appointments overlapping the selected time are loaded into the schedule store before the
+     * conflict check, so the check does not depend on how much of the appointments table has been loaded. The
+     * appointment is then saved in the background and applied to the schedule store, and the schedule scene is loaded
+     * once the save has completed.
      *
      * @param actionEvent The event that triggered this method.
-     *
-     * @throws SQLException If there is an error accessing the database.
-     * @throws IOException  If there is an error reading input.
      */
     @FXML
-    private void insertOrUpdateAppointment(ActionEvent actionEvent) throws SQLException, IOException {
+    private void insertOrUpdateAppointment(ActionEvent actionEvent) {
         var startDateTime = DateTime.toLocalDateTime(date, startHour, startMinute);
         var endDateTime = DateTime.toLocalDateTime(date, endHour, endMinute);
 
+        submit.setDisable(true);
+        ScheduleStore.loadCustomerAppointments((Integer) customerID.getValue(), startDateTime, endDateTime)
+                .thenRun(() -> validateAndSave(actionEvent, startDateTime, endDateTime))
+                .exceptionally(error -> {
+                    submit.setDisable(false);
+                    return null;
+                });
+    }
+
+    /**
+     * Checks the appointment for conflicts and invalid times, alerting the user and re-enabling the submit button if
+     * it cannot be saved, and otherwise saves it and loads the schedule scene. The contact's ID is looked up once the
+     * reference data has loaded, so the form can be submitted before the contacts have arrived.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions look the contact's ID up once the reference data is available
+     * and re-enable the submit button if it cannot be loaded.
+     *
+     * @param actionEvent   The event that triggered the save.
+     * @param startDateTime The selected start date/time.
+     * @param endDateTime   The selected end date/time.
+     */
+    private void validateAndSave(ActionEvent actionEvent, LocalDateTime startDateTime, LocalDateTime endDateTime) {
         var conflictingAppointments = submit.getText().equals("Update")
-                ? Validate.areAppointmentsOverlapping(appointments, customerID, startDateTime, endDateTime, appointmentID)
-                : Validate.areAppointmentsOverlapping(appointments, customerID, startDateTime, endDateTime);
+                ? Validate.areAppointmentsOverlapping(ScheduleStore.appointmentIndex(), customerID, startDateTime,
+                endDateTime, appointmentID)
+                : Validate.areAppointmentsOverlapping(ScheduleStore.appointmentIndex(), customerID, startDateTime,
+                endDateTime);
 
         if (!conflictingAppointments.isEmpty()) {
+            submit.setDisable(false);
             conflictingAppointmentsAlert(conflictingAppointments);
             return;
         }
 
         if (Validate.isEndTimeBeforeStartTime(startDateTime, endDateTime)) {
+            submit.setDisable(false);
             conflictingAppointmentTimeAlert();
             return;
         }
 
         if (Validate.isAppointmentDateTimeBeforeCurrentDateTime(startDateTime)) {
+            submit.setDisable(false);
             conflictingStartDateTimeAlert();
             return;
         }
@@ -237,14 +279,39 @@ public class AppointmentController implements Initializable {
         appointmentData.put(6, Timestamp.valueOf(endDateTime));
         appointmentData.put(7, customerID.getValue());
         appointmentData.put(8, userID.getValue());
-        appointmentData.put(9, contacts.getValue());
 
         if (submit.getText().equals("Update")) {
             appointmentData.put(10, appointmentID.getText());
         }
 
-        JDBC.updateAppointmentsTable(submit, appointmentData);
-        LoadScene.schedule(actionEvent, "appointment", false);
+        Object contact = contacts.getValue();
+        AsyncJDBC.onFxThread(ReferenceData.load(), loaded -> {
+            appointmentData.put(9, loaded.contactID(contact));
+            save(actionEvent, appointmentData);
+        }).exceptionally(error -> {
+            submit.setDisable(false);
+            return null;
+        });
+    }
+
+    /**
+     * Saves the appointment and loads the schedule scene once the save has completed, re-enabling the submit button
+     * if it fails.
+     *
+     * @param actionEvent     The event that triggered the save.
+     * @param appointmentData The statement parameters of the appointment.
+     */
+    private void save(ActionEvent actionEvent, Map<Integer, Object> appointmentData) {
+        ScheduleStore.saveAppointment(submit, appointmentData).thenAccept(saved -> {
+            try {
+                LoadScene.schedule(actionEvent, "appointment", false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).exceptionally(error -> {
+            submit.setDisable(false);
+            return null;
+        });
     }
 
     /**
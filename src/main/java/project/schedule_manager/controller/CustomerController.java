@@ -1,23 +1,28 @@
 package project.schedule_manager.controller;
 
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import project.schedule_manager.model.Customer;
-import project.schedule_manager.utils.JDBC;
+import project.schedule_manager.utils.AsyncJDBC;
 import project.schedule_manager.utils.LoadScene;
+import project.schedule_manager.utils.ReferenceData;
+import project.schedule_manager.utils.ScheduleStore;
 import project.schedule_manager.utils.Validate;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
 public class CustomerController implements Initializable {
+    private ReferenceData.Snapshot referenceData;
+
     @FXML
     private TextField customerID, name, address, postalCode, phoneNumber;
 
@@ -29,7 +34,8 @@ public class CustomerController implements Initializable {
 
 
     /**
-     * Initializes the customer form with default values and sets up listeners on the country combo box.
+     * Initializes the customer form with default values and sets up listeners on the country combo box. The form is
+     * loaded once and reconfigured with {@link #configureCustomerForm(Customer...)} each time it is displayed.
      * <p>
      * <b>LAMBDA JUSTIFICATION</b>: The listener uses a lambda expression to check for a new selection in the country combo box.
      * If a new selection is made, the division combo box is populated with the appropriate divisions for the selected country.
@@ -42,14 +48,9 @@ public class CustomerController implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        country.setItems(JDBC.selectCountry());
         country.valueProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue != null) {
-                switch ((String) newValue) {
-                    case "U.S" -> populateDivisionComboBox(1);
-                    case "UK" -> populateDivisionComboBox(2);
-                    case "Canada" -> populateDivisionComboBox(3);
-                }
+            if (newValue != null && referenceData != null) {
+                populateDivisionComboBox(String.valueOf(newValue));
             }
         });
 
@@ -60,12 +61,17 @@ public class CustomerController implements Initializable {
     }
 
     /**
-     * Populates the division combo box with the divisions of a given country ID.
+     * Populates the division combo box with the divisions of a given country. A division already chosen for the form
+     * is kept if it belongs to the country.
      *
-     * @param countryId the ID of the country for which to retrieve the divisions
+     * @param countryName the name of the country for which to retrieve the divisions
      */
-    private void populateDivisionComboBox(int countryId) {
-        division.setItems(JDBC.selectDivision(countryId));
+    private void populateDivisionComboBox(String countryName) {
+        var divisions = referenceData.divisionNames(countryName);
+        var selectedDivision = division.getValue();
+
+        division.setItems(FXCollections.observableArrayList(divisions));
+        division.setValue(divisions.contains(selectedDivision) ? selectedDivision : null);
         division.setDisable(false);
     }
 
@@ -74,10 +80,27 @@ public class CustomerController implements Initializable {
      * If no customers are passed, sets the form for adding a new customer, with an auto-generated customer ID.
      * If one customer is passed, sets the form for updating an existing customer, and populates the form with the customer's data.
      *
+     * <p>
+     * The form is cleared first, and the countries and their divisions are refilled from the reference data cache, so
+     * nothing entered on a previous display of the form is kept.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression fills the country combo box once the reference data is
+     * available.
+     *
      * @param customer A variable number of Customer objects, representing the customer(s) to be configured on the form.
      *                 The length of the array determines the configuration of the form.
      */
     public void configureCustomerForm(Customer... customer) {
+        clearForm();
+
+        AsyncJDBC.onFxThread(ReferenceData.load(), loaded -> {
+            referenceData = loaded;
+            country.setItems(FXCollections.observableArrayList(loaded.countryNames()));
+            if (country.getValue() != null) {
+                populateDivisionComboBox(String.valueOf(country.getValue()));
+            }
+        });
+
         switch (customer.length) {
             case 0 -> {
                 submit.setText("Add");
@@ -90,6 +113,17 @@ public class CustomerController implements Initializable {
         }
     }
 
+    /**
+     * Clears every field of the form.
+     */
+    private void clearForm() {
+        List.of(customerID, name, address, postalCode, phoneNumber).forEach(TextInputControl::clear);
+        country.setValue(null);
+        division.setValue(null);
+        division.getItems().clear();
+        submit.setDisable(true);
+    }
+
     /**
      * Populates the form with the given customer data.
      *
@@ -114,27 +148,45 @@ public class CustomerController implements Initializable {
     }
 
     /**
-     * Inserts or updates customer data into the database.
+     * Inserts or updates customer data into the database. The division's ID is looked up once the reference data has
+     * loaded, so the form can be submitted before the divisions have arrived. The customer is saved in the background
+     * and applied to the schedule store, and the schedule scene is loaded once the save has completed.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions look the division's ID up once the reference data is available,
+     * load the schedule scene after the save and re-enable the submit button if either fails.
      *
      * @param actionEvent the event triggered by the user's action
-     * @throws SQLException if there is an error accessing the database
-     * @throws IOException if there is an error loading the scene
      */
     @FXML
-    private void insertOrUpdateCustomer(ActionEvent actionEvent) throws SQLException, IOException {
+    private void insertOrUpdateCustomer(ActionEvent actionEvent) {
         Map<Integer, Object> customerData = new HashMap<>();
         customerData.put(1, name.getText());
         customerData.put(2, address.getText());
         customerData.put(3, postalCode.getText());
         customerData.put(4, phoneNumber.getText());
-        customerData.put(5, division.getValue());
 
         if (submit.getText().equals("Update")) {
             customerData.put(6, customerID.getText());
         }
 
-        JDBC.updateCustomersTable(submit, customerData);
-        LoadScene.schedule(actionEvent, "customer", false);
+        Object divisionName = division.getValue();
+        submit.setDisable(true);
+        AsyncJDBC.onFxThread(ReferenceData.load(), loaded -> {
+            customerData.put(5, loaded.divisionID(divisionName));
+            ScheduleStore.saveCustomer(submit, customerData).thenAccept(saved -> {
+                try {
+                    LoadScene.schedule(actionEvent, "customer", false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).exceptionally(error -> {
+                submit.setDisable(false);
+                return null;
+            });
+        }).exceptionally(error -> {
+            submit.setDisable(false);
+            return null;
+        });
     }
 
     /**
@@ -7,17 +7,15 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import project.schedule_manager.utils.DateTime;
+import project.schedule_manager.utils.AsyncJDBC;
 import project.schedule_manager.utils.LoadScene;
+import project.schedule_manager.utils.LoginJournal;
 import project.schedule_manager.utils.Validate;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
-import java.sql.SQLException;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -61,47 +59,44 @@ public class LoginController implements Initializable {
     }
 
     /**
-     * Attempts to log the user in and displays an error message if the user's credentials are invalid.
-     *
-     * @throws SQLException if there is an error communicating with the database.
+     * Clears the login form so the screen can be displayed again.
      */
-    @FXML
-    private void login(ActionEvent actionEvent) throws SQLException, IOException {
-        if (Validate.userCredentials(username, password)) {
-            logger("Success");
-            LoadScene.schedule(actionEvent, "appointment", true);
-        } else {
-            logger("Fail");
-            Alert alert = new Alert(Alert.AlertType.WARNING);
-            alert.setHeaderText(resourceBundle.getString("alertHeader"));
-            alert.setContentText(resourceBundle.getString("alertContent"));
-            alert.show();
-        }
+    public void reset() {
+        username.clear();
+        password.clear();
+        login.setDisable(false);
     }
 
     /**
-     * Logs the user's login activity to a file.
-     *
-     * @param status The status of the login activity.
+     * Attempts to log the user in and displays an error message if the user's credentials are invalid. The
+     * credentials are verified in the background while the login button is disabled, and the attempt is recorded in
+     * the login activity journal.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions handle the verification result and re-enable the login button
+     * next to the code that starts the verification.
      *
-     * @throws IOException if there is an error writing to the log file.
+     * @param actionEvent the ActionEvent that triggered this method call
      */
-    public void logger(String status) throws IOException {
-        String log = String.format("""
-                        Username: %s
-                        Date/Time: %s (UTC)
-                        Login Status: %s
-                                                
-                        """,
-                username.getText(),
-                LocalDateTime.now(ZoneOffset.UTC).format(DateTime.dateTimeFormat),
-                status);
+    @FXML
+    private void login(ActionEvent actionEvent) {
+        login.setDisable(true);
+
+        AsyncJDBC.onFxThread(Validate.userCredentials(username, password), isValid -> {
+            LoginJournal.record(username.getText(), isValid);
 
-        try (FileWriter writer = new FileWriter("login_activity.txt", true)) {
-            writer.write(log);
-        } catch (IOException e) {
-            throw new IOException(e);
-        }
+            if (isValid) {
+                try {
+                    LoadScene.schedule(actionEvent, "appointment", true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.setHeaderText(resourceBundle.getString("alertHeader"));
+                alert.setContentText(resourceBundle.getString("alertContent"));
+                alert.show();
+            }
+        }).whenComplete((isValid, error) -> login.setDisable(false));
     }
 
     /**
@@ -1,36 +1,45 @@
 package project.schedule_manager.controller;
 
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 import project.schedule_manager.model.Appointment;
 import project.schedule_manager.model.Customer;
+import project.schedule_manager.utils.AppointmentCalendar;
+import project.schedule_manager.utils.AppointmentReports;
+import project.schedule_manager.utils.AppointmentRowList;
+import project.schedule_manager.utils.AsyncJDBC;
+import project.schedule_manager.utils.BulkImport;
+import project.schedule_manager.utils.CellValueCache;
+import project.schedule_manager.utils.CsvExport;
 import project.schedule_manager.utils.DateTime;
-import project.schedule_manager.utils.JDBC;
 import project.schedule_manager.utils.LoadScene;
-import project.schedule_manager.utils.Validate;
+import project.schedule_manager.utils.ReminderScheduler;
+import project.schedule_manager.utils.ScheduleStore;
+import project.schedule_manager.utils.SearchIndex;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
-import java.sql.SQLException;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.temporal.WeekFields;
-import java.util.Locale;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public class ScheduleController implements Initializable {
-    ObservableList<Customer> customers = FXCollections.observableArrayList();
-    ObservableList<Appointment> appointments = FXCollections.observableArrayList();
-
     @FXML
     private TableView<Customer> tblCustomers;
 
@@ -49,7 +58,10 @@ public class ScheduleController implements Initializable {
     private ComboBox<String> comboAppointmentsFilter;
 
     @FXML
-    private Button modifyAppointment, modifyCustomer, deleteAppointment, deleteCustomer;
+    private Button modifyAppointment, modifyCustomer, deleteAppointment, deleteCustomer, exportReport;
+
+    @FXML
+    private TextField txtAppointmentSearch, txtCustomerSearch;
 
     @FXML
     private TextArea txtArea;
@@ -57,6 +69,21 @@ public class ScheduleController implements Initializable {
     @FXML
     private TabPane tabPane;
 
+    /**
+     * The report displayed in the text area, or null if none is.
+     */
+    private AppointmentReports.Report shownReport;
+
+    /**
+     * The display values of the rendered appointment rows.
+     */
+    private final CellValueCache<Appointment> appointmentCells = new CellValueCache<>();
+
+    /**
+     * The display values of the rendered customer rows.
+     */
+    private final CellValueCache<Customer> customerCells = new CellValueCache<>();
+
 
     /**
      * Initializes the controller class and sets up listeners for the modify and delete buttons in the appointments
@@ -89,11 +116,15 @@ public class ScheduleController implements Initializable {
     }
 
     /**
-     * Sets up the appointments table.
+     * Sets up the appointments table as a view of the store's selected date range. The range's rows are sorted in
+     * place by the table's sort policy rather than copied into a sorted list, so the table holds no more records than
+     * it displays. The pager fetches further pages as the table is scrolled. Each column is bound to the appointment
+     * cell cache, so a row's values, including its formatted start and end, are computed once rather than on every
+     * render. The search box narrows the range to the appointments matching its text, by filtering the range's rows on
+     * their appointment IDs, so only the matching rows are materialized.
      * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used in the forEach method call to set the cell value factory
-     * for each appointment table column. This lambda expression allows us to easily map each column to the appropriate
-     * appointment data field without having to write a separate function for each mapping.
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions are used as the listener for the search box, which replaces the
+     * range's filter whenever the search text changes, and as the sort policy, which reorders the range's rows.
      */
     private void setupAppointmentsTable() {
         Map<TableColumn<Appointment, Object>, Function<Appointment, Object>> appointmentData = Map.ofEntries(
@@ -109,17 +140,26 @@ public class ScheduleController implements Initializable {
                 Map.entry(colAppointmentEnd, Appointment::endDateTimeFormatted)
         );
 
-        appointmentData.forEach((col, func) -> col.setCellValueFactory(val -> new SimpleObjectProperty<>(func.apply(val.getValue()))));
-        appointments = JDBC.selectAppointmentRecords();
-        tblAppointments.setItems(appointments);
+        appointmentData.forEach(appointmentCells::bind);
+
+        AppointmentRowList inRange = ScheduleStore.appointmentCalendar().appointments();
+        txtAppointmentSearch.textProperty().addListener((observable, oldValue, newValue) ->
+                inRange.filter(ScheduleStore.appointmentSearch().matcher(newValue)));
+        tblAppointments.setItems(inRange);
+        tblAppointments.setSortPolicy(table -> {
+            inRange.sort(table.getComparator());
+            return true;
+        });
+        ScheduleStore.appointmentPager().attach(tblAppointments);
     }
 
     /**
-     * Sets up the customers table.
+     * Sets up the customers table as a sorted view of the store. Each column is bound to the customer cell cache, so
+     * a row's values are computed once rather than on every render. The search box narrows the table to the customers
+     * matching its text.
      * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used in the forEach method call to set the cell value factory
-     * for each customer table column. This lambda expression allows us to easily map each column to the appropriate
-     * customer data field without having to write a separate function for each mapping.
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used as the listener for the search box, which replaces the
+     * table's filter whenever the search text changes.
      */
     private void setupCustomersTable() {
         Map<TableColumn<Customer, Object>, Function<Customer, Object>> customerData = Map.of(
@@ -132,46 +172,96 @@ public class ScheduleController implements Initializable {
                 colCustomerPhone, Customer::phoneNumber
         );
 
-        customerData.forEach((col, func) -> col.setCellValueFactory(val -> new SimpleObjectProperty<>(func.apply(val.getValue()))));
-        customers = JDBC.selectCustomerRecords();
-        tblCustomers.setItems(customers);
+        customerData.forEach(customerCells::bind);
+
+        FilteredList<Customer> found = new FilteredList<>(ScheduleStore.customers());
+        txtCustomerSearch.textProperty().addListener((observable, oldValue, newValue) -> found.setPredicate(
+                matching(ScheduleStore.customerSearch(), newValue, Customer::customerID)));
+        tblCustomers.setItems(sortedBy(tblCustomers, found));
     }
 
     /**
-     * Sets up the appointments filter.
+     * Builds a table filter from a search. The filter looks each row up in the search index's result, which is
+     * refreshed when the index changes, so rows saved while a search is active are filtered too.
      * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: This method uses lambda expressions to simplify filtering of appointments by
-     * month and week. A lambda expression is used to calculate the current week number, which is then used to filter
-     * appointments by week. Another lambda expression is used as the listener for the selection of the appointments
-     * filter combo box, which updates the appointments table based on the selected filter value.
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression adapts the index's test of row IDs to a test of rows.
+     *
+     * @param index the search index of the table's rows
+     * @param query the search text
+     * @param id    returns the ID a row is indexed by
+     * @param <T>   the type of the table's rows
+     *
+     * @return the filter, or null to show every row if the search text has no terms
      */
-    private void setupAppointmentsFilter() {
-        Function<LocalDate, Integer> getCurrentWeek =
-                date -> date.get(WeekFields.of(Locale.getDefault()).weekOfWeekBasedYear());
-
-        var filteredByMonth = appointments
-                .stream()
-                .filter(e -> e.date().getMonthValue() == LocalDate.now().getMonthValue())
-                .collect(Collectors.toCollection(FXCollections::observableArrayList));
+    private static <T> Predicate<T> matching(SearchIndex index, String query, ToIntFunction<T> id) {
+        IntPredicate matcher = index.matcher(query);
+        return matcher == null ? null : row -> matcher.test(id.applyAsInt(row));
+    }
 
-        var filteredByWeek = appointments
-                .stream()
-                .filter(e -> getCurrentWeek.apply(e.date()).equals(getCurrentWeek.apply(LocalDate.now())))
-                .collect(Collectors.toCollection(FXCollections::observableArrayList));
+    /**
+     * Wraps a view of the store in a list sorted by the table's column sort order, so sorting the table does not
+     * modify the store.
+     *
+     * @param table the table displaying the view
+     * @param items the view of the store
+     * @param <T>   the type of the table's rows
+     *
+     * @return the sorted view
+     */
+    private static <T> SortedList<T> sortedBy(TableView<T> table, ObservableList<T> items) {
+        SortedList<T> sorted = new SortedList<>(items);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        return sorted;
+    }
 
+    /**
+     * Sets up the appointments filter. Each option selects a date range of the store's appointment calendar, which
+     * loads the appointments in that range, slices them from its day buckets and keeps the view current as
+     * appointments are saved and deleted and as the date changes.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used as the listener for the selection of the appointments
+     * filter combo box, which selects the period matching the selected filter value.
+     */
+    private void setupAppointmentsFilter() {
         comboAppointmentsFilter.getItems().addAll("All", "Month", "Week");
         comboAppointmentsFilter
                 .getSelectionModel()
                 .selectedItemProperty()
-                .addListener((observable, oldValue, newValue) ->
-                        tblAppointments.setItems(
-                                switch (newValue) {
-                                    case "Month" -> filteredByMonth;
-                                    case "Week" -> filteredByWeek;
-                                    default -> appointments;
-                                }
-                        )
-                );
+                .addListener((observable, oldValue, newValue) -> ScheduleStore.appointmentCalendar().show(
+                        newValue == null ? AppointmentCalendar.Period.ALL : switch (newValue) {
+                            case "Month" -> AppointmentCalendar.Period.MONTH;
+                            case "Week" -> AppointmentCalendar.Period.WEEK;
+                            default -> AppointmentCalendar.Period.ALL;
+                        }));
+    }
+
+    /**
+     * Resets the screen for a new session: clears the selections, the filter, the searches and the report, shows all
+     * appointments and loads the first page of appointments and the customers in the background while placeholders
+     * are shown. The screen is kept between navigations, so this is only needed after a login.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions replace the placeholders once each load has completed.
+     */
+    public void reset() {
+        tblAppointments.getSelectionModel().clearSelection();
+        tblCustomers.getSelectionModel().clearSelection();
+        tblAppointments.getSortOrder().clear();
+        tblCustomers.getSortOrder().clear();
+        comboAppointmentsFilter.getSelectionModel().clearSelection();
+        txtAppointmentSearch.clear();
+        txtCustomerSearch.clear();
+        ScheduleStore.appointmentCalendar().show(AppointmentCalendar.Period.ALL);
+        txtArea.clear();
+        shownReport = null;
+        exportReport.setDisable(true);
+
+        tblAppointments.setPlaceholder(new Label("Loading appointments..."));
+        ScheduleStore.loadAppointments()
+                .thenRun(() -> tblAppointments.setPlaceholder(new Label("No appointments")));
+
+        tblCustomers.setPlaceholder(new Label("Loading customers..."));
+        ScheduleStore.loadCustomers()
+                .thenRun(() -> tblCustomers.setPlaceholder(new Label("No customers")));
     }
 
     /**
@@ -189,160 +279,162 @@ public class ScheduleController implements Initializable {
     }
 
     /**
-     * Displays an alert message if there are any upcoming appointments within 15 minutes of the current time.
+     * Starts the reminder scheduler for the session and displays an alert message if there are any upcoming
+     * appointments within 15 minutes of the current time.
      * If there are upcoming appointments, it displays the appointment details in the alert message.
-     * If there are no upcoming appointments, it displays a message indicating so.
-     * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: Uses a lambda expression in the stream to filter and map the upcomingAppointments
-     * list
-     * into a list of appointment details strings. This simplifies the code by avoiding the need for a separate
-     * loop to process the list.
+     * If there are no upcoming appointments, it displays a message indicating so. For the rest of the session, the
+     * scheduler raises a reminder whenever another appointment comes within 15 minutes.
      */
     public void upcomingAppointmentsAlert() {
-        var upcomingAppointments = Validate.areAppointmentsWithin15Minutes(appointments);
-        var appointmentStrings = upcomingAppointments.stream()
-                .filter(appointment -> appointment.start().isBefore(LocalTime.now().plusMinutes(15)))
+        AsyncJDBC.onFxThread(ReminderScheduler.start(ScheduleController::reminderAlert), upcomingAppointments -> {
+            String appointmentDetails = formatReminders(upcomingAppointments);
+
+            Alert alert;
+            if (!upcomingAppointments.isEmpty()) {
+                alert = new Alert(Alert.AlertType.WARNING);
+                alert.setTitle("Upcoming Appointments");
+                alert.setHeaderText("There are appointments within 15 minutes of the current time.");
+                alert.setContentText("The following appointments are scheduled within 15 minutes:\n\n"
+                        + appointmentDetails);
+            } else {
+                alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Upcoming Appointments");
+                alert.setHeaderText("No appointments within 15 minutes of the current time.");
+                alert.setContentText("There are no upcoming appointments within 15 minutes of the current time.");
+            }
+            alert.showAndWait();
+        });
+    }
+
+    /**
+     * Displays a reminder for appointments that have come within 15 minutes of the current time during the session.
+     *
+     * @param upcomingAppointments the appointments starting within 15 minutes
+     */
+    private static void reminderAlert(List<Appointment> upcomingAppointments) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Upcoming Appointments");
+        alert.setHeaderText("There are appointments within 15 minutes of the current time.");
+        alert.setContentText("The following appointments are scheduled within 15 minutes:\n\n"
+                + formatReminders(upcomingAppointments));
+        alert.show();
+    }
+
+    /**
+     * Formats the details of upcoming appointments for a reminder.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Uses a lambda expression in the stream to map the upcoming appointments into
+     * appointment details strings. This simplifies the code by avoiding the need for a separate loop to process the
+     * list.
+     *
+     * @param upcomingAppointments the appointments to describe
+     *
+     * @return the appointment details, one appointment per paragraph
+     */
+    private static String formatReminders(List<Appointment> upcomingAppointments) {
+        return upcomingAppointments.stream()
                 .map(appointment -> String.format("Appointment ID: %d\n\tDate: %s - Time: %s - %s\n",
                         appointment.appointmentID(),
                         appointment.date().format(DateTime.dateFormat),
                         appointment.start().format(DateTime.timeFormat),
                         appointment.end().format(DateTime.timeFormat)))
-                .toList();
-
-        String appointmentDetails = String.join("\n", appointmentStrings);
-
-        Alert alert;
-        if (!upcomingAppointments.isEmpty()) {
-            alert = new Alert(Alert.AlertType.WARNING);
-            alert.setTitle("Upcoming Appointments");
-            alert.setHeaderText("There are appointments within 15 minutes of the current time.");
-            alert.setContentText("The following appointments are scheduled within 15 minutes:\n\n" + appointmentDetails);
-        } else {
-            alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Upcoming Appointments");
-            alert.setHeaderText("No appointments within 15 minutes of the current time.");
-            alert.setContentText("There are no upcoming appointments within 15 minutes of the current time.");
-        }
-        alert.showAndWait();
+                .collect(Collectors.joining("\n"));
     }
 
     /**
-     * This method counts the number of appointments by type and month, then sorts the results and formats them as a
-     * string. The string is then set as the text of a text area.
-     * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions are used in the Collectors.groupingBy and map methods to
-     * specify the grouping and mapping
-     * functions, respectively. They provide a concise and readable way to express the logic for grouping and mapping
-     * appointments by their type and month.
+     * Displays the number of appointments by type and month in the text area.
      */
     @FXML
     private void countAppointmentByTypeThenMonth() {
-        var result = appointments.stream()
-                .collect(Collectors.groupingBy(Appointment::type,
-                        Collectors.groupingBy(appointment -> appointment.date().getMonth(), Collectors.counting())))
-                .entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(type -> String.format("%s:\n%s",
-                        type.getKey(),
-                        type.getValue()
-                                .entrySet().stream()
-                                .sorted(Map.Entry.comparingByKey())
-                                .map(entry -> String.format("\t%s: %d",
-                                        entry.getKey().toString().charAt(0)
-                                                + entry.getKey().toString().substring(1).toLowerCase(),
-                                        entry.getValue()))
-                                .collect(Collectors.joining("\n"))))
-                .collect(Collectors.joining("\n\n"));
-
-        txtArea.setText(result);
-    }
-
-    /**
-     * This method counts the number of appointments by date, then sorts the results and formats them as a string.
-     * The string is then set as the text of a text area.
-     * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: The lambda expression is used to simplify the process of formatting the results
-     * as a string. It is used to replace a traditional for-each loop to iterate over the map entries and concatenate
-     * the results as a string.
+        showReport(AppointmentReports.Report.TYPE_BY_MONTH);
+    }
+
+    /**
+     * Displays the number of appointments on each date in the text area.
      */
     @FXML
     private void countAppointmentByDate() {
-        var results = appointments.stream()
-                .map(Appointment::date)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
-                .entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> String.format("%s: %s",
-                        entry.getKey(),
-                        entry.getValue()))
-                .collect(Collectors.joining("\n"));
-
-        txtArea.setText(results);
+        showReport(AppointmentReports.Report.COUNT_BY_DATE);
     }
 
     /**
-     * This method groups appointments by contact, then formats the results as a string.
-     * The string is then set as the text of a text area.
-     * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: The lambda expression is used to format the output for each appointment in the
-     * resulting list. This allows for a more concise and readable code, as well as easier maintenance and
-     * modification of the formatting in the future.
+     * Displays each contact's appointments in the text area.
      */
     @FXML
     private void appointmentsByContact() {
-        var result = appointments.stream()
-                .collect(Collectors.groupingBy(Appointment::contact))
-                .entrySet().stream()
-                .map(entry -> String.format("%s:\n%s", entry.getKey(), entry.getValue().stream()
-                        .map(appointment -> String.format("""
-                                        Appointment ID: %s
-                                        \tTitle: %s, Type: %s, Description: %s, Start Date/Time: %s, End Date/Time: %s, Customer ID: %s
-                                        """,
-                                appointment.appointmentID(),
-                                appointment.title(),
-                                appointment.type(),
-                                appointment.description(),
-                                appointment.start(),
-                                appointment.end(),
-                                appointment.customerID()))
-                        .collect(Collectors.joining("\n"))))
-                .collect(Collectors.joining("\n"));
+        showReport(AppointmentReports.Report.APPOINTMENTS_BY_CONTACT);
+    }
 
-        txtArea.setText(result);
+    /**
+     * Displays a report. The report is aggregated by the database rather than from the loaded appointments, and is
+     * only re-rendered if the appointments have changed since it was last shown.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression displays the report and enables its export once it has been
+     * rendered.
+     *
+     * @param report the report to display
+     */
+    private void showReport(AppointmentReports.Report report) {
+        ScheduleStore.appointmentReports().render(report).thenAccept(text -> {
+            txtArea.setText(text);
+            shownReport = report;
+            exportReport.setDisable(false);
+        });
+    }
+
+    /**
+     * Exports the displayed report to a CSV file chosen by the user.
+     *
+     * @param actionEvent the action event triggering the method
+     */
+    @FXML
+    private void exportReport(ActionEvent actionEvent) {
+        AppointmentReports.Report report = shownReport;
+        exportFile(actionEvent, "Export Report", file -> CsvExport.report(report, file));
     }
 
     /**
      * Launches the 'Add Appointment' screen.
      *
      * @param actionEvent the ActionEvent that triggered this method call
-     *
-     * @throws IOException if an I/O error occurs while loading the scene
      */
     @FXML
-    private void addAppointment(ActionEvent actionEvent) throws IOException {
-        LoadScene.appointment(actionEvent, appointments);
+    private void addAppointment(ActionEvent actionEvent) {
+        showAppointmentForm(actionEvent);
     }
 
     /**
      * Launches the 'Modify Appointment' screen, pre-populated with the selected appointment's data.
      *
      * @param actionEvent the ActionEvent that triggered this method call
-     *
-     * @throws IOException if an I/O error occurs while loading the scene
      */
     @FXML
-    private void modifyAppointment(ActionEvent actionEvent) throws IOException {
-        LoadScene.appointment(actionEvent, appointments, tblAppointments.getSelectionModel().getSelectedItem());
+    private void modifyAppointment(ActionEvent actionEvent) {
+        showAppointmentForm(actionEvent, tblAppointments.getSelectionModel().getSelectedItem());
     }
 
     /**
-     * Deletes the selected appointment and updates the table view with the remaining appointments.
-     * Prompts the user to confirm the deletion before proceeding.
+     * Loads the appointment scene. The form loads the appointments of the customer being scheduled when it checks for
+     * conflicts, so no other appointments have to be loaded first.
      *
-     * @throws SQLException if a database access error occurs while deleting the appointment
+     * @param actionEvent the ActionEvent that triggered the navigation
+     * @param appointment the appointment to pre-populate the form with (optional)
+     */
+    private void showAppointmentForm(ActionEvent actionEvent, Appointment... appointment) {
+        try {
+            LoadScene.appointment(actionEvent, appointment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the selected appointment and removes it from the store, which updates the table view.
+     * Prompts the user to confirm the deletion before proceeding. The deletion runs in the background and the success
+     * message is shown once it has completed.
      */
     @FXML
-    private void deleteAppointment() throws SQLException {
+    private void deleteAppointment() {
         var appointment = tblAppointments.getSelectionModel().getSelectedItem();
         var appointmentID = appointment.appointmentID();
         var appointmentType = appointment.type();
@@ -359,22 +451,20 @@ public class ScheduleController implements Initializable {
         Optional<ButtonType> result = confirmationAlert.showAndWait();
 
         if (result.isPresent() && result.get() == okButton) {
-            JDBC.deleteAppointment(appointmentID);
-            appointments = JDBC.selectAppointmentRecords();
-            tblAppointments.setItems(appointments);
-
-            Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
-            successAlert.setTitle("Cancellation Successful");
-            successAlert.setHeaderText("Appointment cancelled");
-            successAlert.setContentText(String.format("""
-                            Appointment ID: %d
-                            Appointment Type: %s
-
-                            The selected appointment was successfully cancelled.
-                            """,
-                    appointmentID,
-                    appointmentType));
-            successAlert.showAndWait();
+            ScheduleStore.deleteAppointment(appointmentID).thenRun(() -> {
+                Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
+                successAlert.setTitle("Cancellation Successful");
+                successAlert.setHeaderText("Appointment cancelled");
+                successAlert.setContentText(String.format("""
+                                Appointment ID: %d
+                                Appointment Type: %s
+
+                                The selected appointment was successfully cancelled.
+                                """,
+                        appointmentID,
+                        appointmentType));
+                successAlert.showAndWait();
+            });
         }
     }
 
@@ -405,17 +495,11 @@ public class ScheduleController implements Initializable {
 
     /**
      * Deletes the selected customer and all associated appointments, after displaying a confirmation alert to the user.
-     * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: In this method, a lambda expression is used to iterate through the appointments
-     * list and
-     * filter the appointments associated with the selected customer. This filtering is done to delete all associated
-     * appointments of the customer being deleted. The lambda expression is passed as an argument to the forEach()
-     * method, which helps in concise and readable code.
-     *
-     * @throws SQLException if there is an error in the SQL query or database connection.
+     * The customer and its appointments are deleted in one background transaction, and the deleted rows are then
+     * removed from the store without reloading the tables.
      */
     @FXML
-    private void deleteCustomer() throws SQLException {
+    private void deleteCustomer() {
         var customerID = tblCustomers.getSelectionModel().getSelectedItem().customerID();
 
         Alert confirmationAlert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -431,34 +515,133 @@ public class ScheduleController implements Initializable {
         Optional<ButtonType> result = confirmationAlert.showAndWait();
 
         if (result.isPresent() && result.get() == okButton) {
-            appointments.stream()
-                    .filter(appointment -> appointment.customerID().contains(String.valueOf(customerID)))
-                    .forEach(appointment -> {
-                        try {
-                            JDBC.deleteAppointment(appointment.appointmentID());
-                        } catch (SQLException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-
-            appointments = JDBC.selectAppointmentRecords();
-            tblAppointments.setItems(appointments);
-
-            JDBC.deleteCustomer(customerID);
-            customers = JDBC.selectCustomerRecords();
-            tblCustomers.setItems(customers);
-
-            Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
-            successAlert.setTitle("Deletion Successful");
-            successAlert.setHeaderText("Customer deleted");
-            successAlert.setContentText("The selected customer and all associated appointments were successfully " +
-                    "deleted.");
-            successAlert.showAndWait();
+            ScheduleStore.deleteCustomer(customerID).thenRun(() -> {
+                Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
+                successAlert.setTitle("Deletion Successful");
+                successAlert.setHeaderText("Customer deleted");
+                successAlert.setContentText("The selected customer and all associated appointments were successfully " +
+                        "deleted.");
+                successAlert.showAndWait();
+            });
         }
     }
 
     /**
-     * Logs out the current user and returns to the login screen.
+     * Imports appointments from a CSV file chosen by the user and reports the outcome.
+     *
+     * @param actionEvent the action event triggering the method
+     */
+    @FXML
+    private void importAppointments(ActionEvent actionEvent) {
+        importFile(actionEvent, "Import Appointments", ScheduleStore::importAppointments);
+    }
+
+    /**
+     * Imports customers from a CSV file chosen by the user and reports the outcome.
+     *
+     * @param actionEvent the action event triggering the method
+     */
+    @FXML
+    private void importCustomers(ActionEvent actionEvent) {
+        importFile(actionEvent, "Import Customers", ScheduleStore::importCustomers);
+    }
+
+    /**
+     * Exports every appointment to a CSV file chosen by the user.
+     *
+     * @param actionEvent the action event triggering the method
+     */
+    @FXML
+    private void exportAppointments(ActionEvent actionEvent) {
+        exportFile(actionEvent, "Export Appointments", CsvExport::appointments);
+    }
+
+    /**
+     * Exports every customer to a CSV file chosen by the user.
+     *
+     * @param actionEvent the action event triggering the method
+     */
+    @FXML
+    private void exportCustomers(ActionEvent actionEvent) {
+        exportFile(actionEvent, "Export Customers", CsvExport::customers);
+    }
+
+    /**
+     * Asks the user where to save a CSV file and exports to it in the background. The export button is disabled
+     * until the export has finished, and the number of rows written is then displayed.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions display the outcome and re-enable the button once the export
+     * has finished.
+     *
+     * @param actionEvent the action event triggering the export
+     * @param title       the title of the file chooser and the outcome
+     * @param exporter    writes the chosen file
+     */
+    private static void exportFile(ActionEvent actionEvent, String title,
+                                   Function<Path, CompletableFuture<Long>> exporter) {
+        Button button = (Button) actionEvent.getSource();
+
+        File file = csvFileChooser(title).showSaveDialog(button.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        button.setDisable(true);
+        AsyncJDBC.onFxThread(exporter.apply(file.toPath()), rows -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle(title);
+            alert.setHeaderText("Export complete");
+            alert.setContentText(String.format("Wrote %d rows to %s", rows, file.getName()));
+            alert.show();
+        }).whenComplete((rows, error) -> button.setDisable(false));
+    }
+
+    /**
+     * Creates a file chooser limited to CSV files.
+     *
+     * @param title the title of the chooser
+     *
+     * @return the file chooser
+     */
+    private static FileChooser csvFileChooser(String title) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(title);
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        return fileChooser;
+    }
+
+    /**
+     * Asks the user for a CSV file and imports it in the background. The import button is disabled until the import
+     * has finished, and the number of imported and rejected rows is then displayed.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions display the report and re-enable the button once the import
+     * has finished.
+     *
+     * @param actionEvent the action event triggering the import
+     * @param title       the title of the file chooser and the report
+     * @param importer    imports the chosen file
+     */
+    private static void importFile(ActionEvent actionEvent, String title,
+                                   Function<Path, CompletableFuture<BulkImport.Report>> importer) {
+        Button button = (Button) actionEvent.getSource();
+
+        File file = csvFileChooser(title).showOpenDialog(button.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        button.setDisable(true);
+        AsyncJDBC.onFxThread(importer.apply(file.toPath()), report -> {
+            Alert alert = new Alert(report.rejected() == 0 ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+            alert.setTitle(title);
+            alert.setHeaderText(String.format("Imported %d of %d rows", report.imported(), report.read()));
+            alert.setContentText(report.summary());
+            alert.show();
+        }).whenComplete((report, error) -> button.setDisable(false));
+    }
+
+    /**
+     * Logs out the current user, empties the store, stops the reminders and returns to the login screen.
      *
      * @param actionEvent the action event triggering the method
      *
@@ -466,6 +649,8 @@ public class ScheduleController implements Initializable {
      */
     @FXML
     private void logout(ActionEvent actionEvent) throws IOException {
+        ScheduleStore.clear();
+        ReminderScheduler.stop();
         LoadScene.login(actionEvent);
     }
 }
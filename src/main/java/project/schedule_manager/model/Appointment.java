@@ -18,8 +18,8 @@ public record Appointment(int appointmentID,
                           LocalDate date,
                           LocalTime start,
                           LocalTime end,
-                          String customerID,
-                          String userID) {
+                          int customerID,
+                          int userID) {
 
     /**
      * Returns the start date and time of the appointment as a LocalDateTime object.
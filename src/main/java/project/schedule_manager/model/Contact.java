@@ -0,0 +1,8 @@
+package project.schedule_manager.model;
+
+/**
+ * Represents a contact who can be assigned to appointments
+ */
+public record Contact(int contactID,
+                      String name) {
+}
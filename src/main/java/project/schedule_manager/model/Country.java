@@ -0,0 +1,8 @@
+package project.schedule_manager.model;
+
+/**
+ * Represents a country that customers can be located in
+ */
+public record Country(int countryID,
+                      String name) {
+}
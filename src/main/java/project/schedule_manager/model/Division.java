@@ -0,0 +1,9 @@
+package project.schedule_manager.model;
+
+/**
+ * Represents a first-level division of a country, such as a state or province
+ */
+public record Division(int divisionID,
+                       String name,
+                       int countryID) {
+}
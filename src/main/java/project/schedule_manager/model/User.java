@@ -0,0 +1,10 @@
+package project.schedule_manager.model;
+
+/**
+ * Represents a user who can log in to the application. The password is the stored credential: a salted hash, or
+ * plaintext for a user who has not logged in since hashing was introduced.
+ */
+public record User(int userID,
+                   String name,
+                   String password) {
+}
@@ -0,0 +1,313 @@
+package project.schedule_manager.utils;
+
+import javafx.animation.PauseTransition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * The loaded appointments bucketed by start date, with a live view of the appointments in a selected date range.
+ * <p>
+ * Appointments are kept as rows of the {@link AppointmentColumns} in a sorted map of day buckets, so selecting a
+ * month, a week or any other range is a sub-map slice over the days in that range rather than a scan of every
+ * appointment. The view is an {@link AppointmentRowList} of the rows in the selected range, which materializes an
+ * appointment only when it is read, so even the unbounded range holds no records. Afterwards, appointments added to or
+ * removed from the calendar are applied to the view when their date falls in the range. A range relative to the
+ * current date, such as this week, is moved forward at midnight. A row must be removed from the calendar before it is
+ * overwritten or freed in the columns. All methods must be called on the JavaFX application thread.
+ */
+public class AppointmentCalendar {
+    /**
+     * The week definition of the default locale, used to find the first day of the current week.
+     */
+    private static final WeekFields WEEK_FIELDS = WeekFields.of(Locale.getDefault());
+
+    /**
+     * The date ranges the view can follow, relative to the current date.
+     */
+    public enum Period {
+        ALL,
+        MONTH,
+        WEEK;
+
+        /**
+         * Returns the range of this period that contains a date.
+         *
+         * @param today the date the range must contain
+         *
+         * @return the date range
+         */
+        public DateRange around(LocalDate today) {
+            return switch (this) {
+                case ALL -> DateRange.UNBOUNDED;
+                case MONTH -> {
+                    LocalDate first = today.withDayOfMonth(1);
+                    yield new DateRange(first, first.plusMonths(1));
+                }
+                case WEEK -> {
+                    LocalDate first = today.with(WEEK_FIELDS.dayOfWeek(), 1);
+                    yield new DateRange(first, first.plusWeeks(1));
+                }
+            };
+        }
+    }
+
+    /**
+     * The columns holding the calendar's rows.
+     */
+    private final AppointmentColumns columns;
+
+    /**
+     * The rows, grouped by start date.
+     */
+    private final TreeMap<LocalDate, IntList> byDate = new TreeMap<>();
+
+    /**
+     * The rows in the selected range.
+     */
+    private final AppointmentRowList visible;
+
+    /**
+     * Ensures every appointment in a range has been added before the range is shown.
+     */
+    private final Function<DateRange, CompletableFuture<Void>> loader;
+
+    /**
+     * The selected range.
+     */
+    private DateRange range = DateRange.UNBOUNDED;
+
+    /**
+     * The period the selected range follows, or null if the range is fixed.
+     */
+    private Period period = Period.ALL;
+
+    /**
+     * Moves the selected range forward at midnight, or null if the range is fixed.
+     */
+    private PauseTransition rollover;
+
+    /**
+     * Incremented on every selection so that a range loaded after a newer selection is not shown.
+     */
+    private int generation;
+
+    /**
+     * Creates a calendar.
+     *
+     * @param columns the columns holding the calendar's rows
+     * @param loader ensures every appointment in a range has been added, completing on the application thread
+     */
+    public AppointmentCalendar(AppointmentColumns columns, Function<DateRange, CompletableFuture<Void>> loader) {
+        this.columns = columns;
+        this.visible = new AppointmentRowList(columns);
+        this.loader = loader;
+    }
+
+    /**
+     * Returns a read-only view of the appointments in the selected range. The view can be reordered with
+     * {@link AppointmentRowList#sort}.
+     *
+     * @return the appointments in the selected range
+     */
+    public AppointmentRowList appointments() {
+        return visible;
+    }
+
+    /**
+     * Adds a row to its day bucket, and its appointment to the view if its date is in the selected range.
+     *
+     * @param row the row of the appointment to add
+     */
+    public void add(int row) {
+        LocalDate date = columns.date(row);
+        byDate.computeIfAbsent(date, day -> new IntList(4)).add(row);
+
+        if (range.contains(date)) {
+            visible.addRow(row);
+        }
+    }
+
+    /**
+     * Removes a row from its day bucket, and from the view. Removing a row that is not in the calendar has no effect.
+     *
+     * @param row the row of the appointment to remove
+     */
+    public void remove(int row) {
+        LocalDate date = columns.date(row);
+        IntList sameDate = byDate.get(date);
+
+        if (sameDate == null || !sameDate.removeValue(row)) {
+            return;
+        }
+        if (sameDate.isEmpty()) {
+            byDate.remove(date);
+        }
+
+        if (range.contains(date)) {
+            visible.removeRow(row);
+        }
+    }
+
+    /**
+     * Removes every appointment and selects every date again.
+     */
+    public void clear() {
+        generation++;
+        stopRollover();
+        byDate.clear();
+        visible.clearRows();
+        range = DateRange.UNBOUNDED;
+        period = Period.ALL;
+    }
+
+    /**
+     * Shows the range of a period that contains the current date, and keeps following the period as the date
+     * changes.
+     *
+     * @param period the period to show
+     *
+     * @return a future completed on the application thread once the range is shown
+     */
+    public CompletableFuture<Void> show(Period period) {
+        this.period = period;
+        return select(period.around(LocalDate.now())).thenRun(this::scheduleRollover);
+    }
+
+    /**
+     * Shows a fixed range of dates.
+     *
+     * @param from the first date, inclusive
+     * @param to   the last date, exclusive
+     *
+     * @return a future completed on the application thread once the range is shown
+     */
+    public CompletableFuture<Void> show(LocalDate from, LocalDate to) {
+        period = null;
+        stopRollover();
+        return select(new DateRange(from, to));
+    }
+
+    /**
+     * Collects the rows of the appointments starting in a range of dates.
+     *
+     * @param range the dates to collect the rows of
+     *
+     * @return the rows, ordered by date
+     */
+    private IntList rowsIn(DateRange range) {
+        IntList rows = new IntList(16);
+
+        for (IntList sameDate : range.slice(byDate).values()) {
+            for (int i = 0; i < sameDate.size(); i++) {
+                rows.add(sameDate.get(i));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Loads a range and replaces the view with its appointments, unless another range has been selected meanwhile.
+     *
+     * @param selected the range to show
+     *
+     * @return a future completed on the application thread once the range is shown
+     */
+    private CompletableFuture<Void> select(DateRange selected) {
+        int requestedGeneration = ++generation;
+
+        return loader.apply(selected).thenRun(() -> {
+            if (requestedGeneration == generation) {
+                range = selected;
+                visible.replaceRows(rowsIn(selected));
+            }
+        });
+    }
+
+    /**
+     * Arms a timer that selects the period's next range after midnight. Nothing is armed for a fixed range or for a
+     * period that does not depend on the date.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression re-selects the period when the timer finishes, keeping the
+     * rollover next to the code that arms it.
+     */
+    private void scheduleRollover() {
+        stopRollover();
+        if (period == null || period == Period.ALL) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long untilMidnight = ChronoUnit.MILLIS.between(now, now.toLocalDate().plusDays(1).atStartOfDay());
+
+        rollover = new PauseTransition(javafx.util.Duration.millis(untilMidnight + 1));
+        rollover.setOnFinished(event -> {
+            if (period != null) {
+                show(period);
+            }
+        });
+        rollover.play();
+    }
+
+    /**
+     * Stops the midnight timer if one is armed.
+     */
+    private void stopRollover() {
+        if (rollover != null) {
+            rollover.stop();
+            rollover = null;
+        }
+    }
+
+    /**
+     * A range of dates. A null bound leaves that side of the range open.
+     *
+     * @param from the first date, inclusive, or null for no lower bound
+     * @param to   the last date, exclusive, or null for no upper bound
+     */
+    public record DateRange(LocalDate from, LocalDate to) {
+        /**
+         * The range containing every date.
+         */
+        public static final DateRange UNBOUNDED = new DateRange(null, null);
+
+        /**
+         * Returns whether a date is in the range.
+         *
+         * @param date the date to check
+         *
+         * @return true if the date is in the range, false otherwise
+         */
+        public boolean contains(LocalDate date) {
+            return (from == null || !date.isBefore(from)) && (to == null || date.isBefore(to));
+        }
+
+        /**
+         * Returns the part of a date-keyed map that falls in the range. The slice is a view of the map.
+         *
+         * @param byDate the map to slice
+         * @param <V>    the type of the map's values
+         *
+         * @return the entries whose date is in the range
+         */
+        <V> NavigableMap<LocalDate, V> slice(NavigableMap<LocalDate, V> byDate) {
+            if (from == null && to == null) {
+                return byDate;
+            }
+            if (from == null) {
+                return byDate.headMap(to, false);
+            }
+            if (to == null) {
+                return byDate.tailMap(from, true);
+            }
+            return byDate.subMap(from, true, to, false);
+        }
+    }
+}
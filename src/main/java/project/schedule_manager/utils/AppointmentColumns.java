@@ -0,0 +1,501 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The loaded appointments, stored column by column.
+ * <p>
+ * Each appointment occupies one row, identified by its row number, across a set of parallel arrays: primitive ints
+ * for the appointment, customer and user IDs, the start and end as local date/times in epoch minutes, and dictionary
+ * codes for the contact, type and location, which repeat across many appointments. Only the title and description
+ * are kept as strings. The rows of deleted appointments are reused. {@link Appointment} records are only created by
+ * {@link #materialize(int)}, for the rows a view actually displays, so a large history costs a few dozen bytes per
+ * appointment instead of a record with its own date, time and string objects. All methods must be called on the
+ * JavaFX application thread.
+ */
+public class AppointmentColumns {
+    /**
+     * The number of rows allocated before the columns first grow.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The row number of each appointment, keyed by appointment ID.
+     */
+    private final IdMap rows = new IdMap();
+
+    /**
+     * The rows freed by deleted appointments, reused before new rows are allocated.
+     */
+    private final IntList freeRows = new IntList(16);
+
+    /**
+     * The contact names, by code.
+     */
+    private final Dictionary contacts = new Dictionary();
+
+    /**
+     * The appointment types, by code.
+     */
+    private final Dictionary types = new Dictionary();
+
+    /**
+     * The locations, by code.
+     */
+    private final Dictionary locations = new Dictionary();
+
+    /**
+     * The appointment ID of each row, or zero for a free row.
+     */
+    private int[] appointmentIDs = new int[INITIAL_CAPACITY];
+
+    /**
+     * The customer ID of each row.
+     */
+    private int[] customerIDs = new int[INITIAL_CAPACITY];
+
+    /**
+     * The user ID of each row.
+     */
+    private int[] userIDs = new int[INITIAL_CAPACITY];
+
+    /**
+     * The contact code of each row.
+     */
+    private int[] contactCodes = new int[INITIAL_CAPACITY];
+
+    /**
+     * The type code of each row.
+     */
+    private int[] typeCodes = new int[INITIAL_CAPACITY];
+
+    /**
+     * The location code of each row.
+     */
+    private int[] locationCodes = new int[INITIAL_CAPACITY];
+
+    /**
+     * The start of each row, as a local date/time in epoch minutes.
+     */
+    private int[] starts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The end of each row, as a local date/time in epoch minutes.
+     */
+    private int[] ends = new int[INITIAL_CAPACITY];
+
+    /**
+     * The title of each row.
+     */
+    private String[] titles = new String[INITIAL_CAPACITY];
+
+    /**
+     * The description of each row.
+     */
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+
+    /**
+     * The number of rows allocated, including free rows.
+     */
+    private int allocated;
+
+    /**
+     * Converts a local date/time to epoch minutes.
+     *
+     * @param dateTime the date/time to convert
+     *
+     * @return the minutes between the epoch and the date/time, both read as local time
+     */
+    public static int toEpochMinute(LocalDateTime dateTime) {
+        return Math.toIntExact(Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    /**
+     * Converts epoch minutes to a local date/time.
+     *
+     * @param epochMinute the minutes since the epoch, read as local time
+     *
+     * @return the date/time
+     */
+    public static LocalDateTime fromEpochMinute(int epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the number of appointments stored.
+     *
+     * @return the number of appointments
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns the row of an appointment.
+     *
+     * @param appointmentID the ID of the appointment
+     *
+     * @return the appointment's row, or -1 if it is not stored
+     */
+    public int rowOf(int appointmentID) {
+        return rows.get(appointmentID);
+    }
+
+    /**
+     * Stores an appointment, overwriting its row if it is already stored.
+     *
+     * @param appointment the appointment to store
+     *
+     * @return the appointment's row
+     */
+    public int put(Appointment appointment) {
+        int row = rows.get(appointment.appointmentID());
+
+        if (row < 0) {
+            row = freeRows.isEmpty() ? allocate() : freeRows.removeAt(freeRows.size() - 1);
+            rows.put(appointment.appointmentID(), row);
+        }
+
+        appointmentIDs[row] = appointment.appointmentID();
+        customerIDs[row] = appointment.customerID();
+        userIDs[row] = appointment.userID();
+        contactCodes[row] = contacts.encode(appointment.contact());
+        typeCodes[row] = types.encode(appointment.type());
+        locationCodes[row] = locations.encode(appointment.location());
+        starts[row] = toEpochMinute(appointment.startDateTime());
+        ends[row] = toEpochMinute(appointment.endDateTime());
+        titles[row] = appointment.title();
+        descriptions[row] = appointment.description();
+        return row;
+    }
+
+    /**
+     * Removes an appointment and frees its row. Removing an appointment that is not stored has no effect.
+     *
+     * @param appointmentID the ID of the appointment
+     */
+    public void remove(int appointmentID) {
+        int row = rows.remove(appointmentID);
+        if (row < 0) {
+            return;
+        }
+
+        appointmentIDs[row] = 0;
+        titles[row] = null;
+        descriptions[row] = null;
+        freeRows.add(row);
+    }
+
+    /**
+     * Removes every appointment. The dictionaries are kept.
+     */
+    public void clear() {
+        rows.clear();
+        freeRows.clear();
+        Arrays.fill(appointmentIDs, 0, allocated, 0);
+        Arrays.fill(titles, 0, allocated, null);
+        Arrays.fill(descriptions, 0, allocated, null);
+        allocated = 0;
+    }
+
+    /**
+     * Creates an appointment record from a row.
+     *
+     * @param row the row to read
+     *
+     * @return the appointment stored in the row
+     */
+    public Appointment materialize(int row) {
+        LocalDateTime start = fromEpochMinute(starts[row]);
+        LocalDateTime end = fromEpochMinute(ends[row]);
+
+        return new Appointment(appointmentIDs[row],
+                titles[row],
+                descriptions[row],
+                locations.decode(locationCodes[row]),
+                contacts.decode(contactCodes[row]),
+                types.decode(typeCodes[row]),
+                start.toLocalDate(),
+                start.toLocalTime(),
+                end.toLocalTime(),
+                customerIDs[row],
+                userIDs[row]);
+    }
+
+    /**
+     * Returns the appointment ID of a row.
+     *
+     * @param row the row to read
+     *
+     * @return the appointment ID
+     */
+    public int appointmentID(int row) {
+        return appointmentIDs[row];
+    }
+
+    /**
+     * Returns the customer ID of a row.
+     *
+     * @param row the row to read
+     *
+     * @return the customer ID
+     */
+    public int customerID(int row) {
+        return customerIDs[row];
+    }
+
+    /**
+     * Returns the start of a row.
+     *
+     * @param row the row to read
+     *
+     * @return the start as a local date/time in epoch minutes
+     */
+    public int start(int row) {
+        return starts[row];
+    }
+
+    /**
+     * Returns the end of a row.
+     *
+     * @param row the row to read
+     *
+     * @return the end as a local date/time in epoch minutes
+     */
+    public int end(int row) {
+        return ends[row];
+    }
+
+    /**
+     * Returns the start date of a row.
+     *
+     * @param row the row to read
+     *
+     * @return the start date
+     */
+    public LocalDate date(int row) {
+        return LocalDate.ofEpochDay(Math.floorDiv(starts[row], 24 * 60));
+    }
+
+    /**
+     * Allocates a new row, growing the columns if they are full.
+     *
+     * @return the new row
+     */
+    private int allocate() {
+        if (allocated == appointmentIDs.length) {
+            int capacity = allocated * 2;
+            appointmentIDs = Arrays.copyOf(appointmentIDs, capacity);
+            customerIDs = Arrays.copyOf(customerIDs, capacity);
+            userIDs = Arrays.copyOf(userIDs, capacity);
+            contactCodes = Arrays.copyOf(contactCodes, capacity);
+            typeCodes = Arrays.copyOf(typeCodes, capacity);
+            locationCodes = Arrays.copyOf(locationCodes, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        return allocated++;
+    }
+
+    /**
+     * Assigns a small integer code to each distinct string, so a column of repeated strings is stored as ints and each
+     * distinct string is held once.
+     */
+    private static final class Dictionary {
+        /**
+         * The code of each string.
+         */
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        /**
+         * The string of each code.
+         */
+        private final List<String> values = new ArrayList<>();
+
+        /**
+         * Returns the code of a string, assigning the next code if the string is new.
+         *
+         * @param value the string to encode
+         *
+         * @return the string's code
+         */
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * Returns the string of a code.
+         *
+         * @param code the code to decode
+         *
+         * @return the string
+         */
+        String decode(int code) {
+            return values.get(code);
+        }
+    }
+
+    /**
+     * A map from appointment IDs to rows using open addressing over primitive arrays, so no entry or boxed key is
+     * allocated per appointment. Appointment IDs are positive, so zero marks an empty slot.
+     */
+    private static final class IdMap {
+        /**
+         * The key of each slot, or zero if the slot is empty.
+         */
+        private int[] keys = new int[INITIAL_CAPACITY * 2];
+
+        /**
+         * The value of each slot.
+         */
+        private int[] values = new int[INITIAL_CAPACITY * 2];
+
+        /**
+         * The number of keys in the map.
+         */
+        private int size;
+
+        /**
+         * Returns the number of keys in the map.
+         *
+         * @return the map's size
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Returns the value of a key.
+         *
+         * @param key the key to look up
+         *
+         * @return the key's value, or -1 if the key is absent
+         */
+        int get(int key) {
+            int slot = find(key);
+            return keys[slot] == key ? values[slot] : -1;
+        }
+
+        /**
+         * Associates a value with a key.
+         *
+         * @param key   the key, which must be positive
+         * @param value the value
+         */
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+
+            int slot = find(key);
+            if (keys[slot] != key) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        /**
+         * Removes a key, shifting back the keys that probed past its slot so every key stays reachable.
+         *
+         * @param key the key to remove
+         *
+         * @return the key's value, or -1 if the key was absent
+         */
+        int remove(int key) {
+            int slot = find(key);
+            if (keys[slot] != key) {
+                return -1;
+            }
+
+            int removed = values[slot];
+            int mask = keys.length - 1;
+            int hole = slot;
+
+            for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+
+            keys[hole] = 0;
+            size--;
+            return removed;
+        }
+
+        /**
+         * Removes every key.
+         */
+        void clear() {
+            Arrays.fill(keys, 0);
+            size = 0;
+        }
+
+        /**
+         * Finds the slot holding a key, or the empty slot where it would be inserted.
+         *
+         * @param key the key to find
+         *
+         * @return the slot
+         */
+        private int find(int key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Doubles the number of slots and reinserts every key.
+         */
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            size = 0;
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        /**
+         * Spreads the bits of a key, since sequential appointment IDs would otherwise fill adjacent slots.
+         *
+         * @param key the key to hash
+         *
+         * @return the hash
+         */
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of appointment intervals per customer, used to find scheduling conflicts without scanning every
+ * appointment.
+ * <p>
+ * Each customer's appointments are kept as rows of the {@link AppointmentColumns}, sorted by start minute, together
+ * with the duration of the customer's longest appointment. An appointment can only overlap a slot if it starts before
+ * the slot ends and no earlier than the longest duration before the slot starts, so a conflict query is one binary
+ * search in O(log n) plus a pass over the rows starting in that window. Appointments are bounded by business hours,
+ * which keeps the window small. Only the overlapping rows are materialized. A row must be removed from the index
+ * before it is overwritten or freed in the columns.
+ */
+public class AppointmentIndex {
+    /**
+     * The columns holding the indexed rows.
+     */
+    private final AppointmentColumns columns;
+
+    /**
+     * The appointment intervals of each customer, keyed by customer ID.
+     */
+    private final Map<Integer, CustomerIntervals> customers = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param columns the columns holding the indexed rows
+     */
+    public AppointmentIndex(AppointmentColumns columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Adds a row to the index.
+     *
+     * @param row the row of the appointment to add
+     */
+    public void add(int row) {
+        customers.computeIfAbsent(columns.customerID(row), customerID -> new CustomerIntervals()).add(row);
+    }
+
+    /**
+     * Removes a row from the index. Removing a row that is not indexed has no effect.
+     *
+     * @param row the row of the appointment to remove
+     */
+    public void remove(int row) {
+        int customerID = columns.customerID(row);
+        CustomerIntervals intervals = customers.get(customerID);
+
+        if (intervals != null && intervals.remove(row) && intervals.isEmpty()) {
+            customers.remove(customerID);
+        }
+    }
+
+    /**
+     * Removes every appointment from the index.
+     */
+    public void clear() {
+        customers.clear();
+    }
+
+    /**
+     * Finds a customer's appointments that overlap a time slot.
+     *
+     * @param customerID the ID of the customer
+     * @param start      the start of the slot, inclusive
+     * @param end        the end of the slot, exclusive
+     *
+     * @return the overlapping appointments, ordered by start date/time
+     */
+    public List<Appointment> overlapping(int customerID, LocalDateTime start, LocalDateTime end) {
+        CustomerIntervals intervals = customers.get(customerID);
+        return intervals == null
+                ? List.of()
+                : intervals.overlapping(AppointmentColumns.toEpochMinute(start), AppointmentColumns.toEpochMinute(end));
+    }
+
+    /**
+     * The rows of one customer, sorted by start minute.
+     */
+    private final class CustomerIntervals {
+        /**
+         * The customer's rows, sorted by start minute.
+         */
+        private final IntList rows = new IntList(4);
+
+        /**
+         * The duration of the customer's longest indexed appointment, in minutes. It is not reduced when appointments
+         * are removed, which only widens the lookup window.
+         */
+        private int longest;
+
+        /**
+         * Adds a row after any rows with the same start.
+         *
+         * @param row the row to add
+         */
+        void add(int row) {
+            rows.insert(firstStartingAtOrAfter(columns.start(row) + 1), row);
+            longest = Math.max(longest, columns.end(row) - columns.start(row));
+        }
+
+        /**
+         * Removes a row.
+         *
+         * @param row the row to remove
+         *
+         * @return true if the row was indexed, false otherwise
+         */
+        boolean remove(int row) {
+            int start = columns.start(row);
+
+            for (int i = firstStartingAtOrAfter(start); i < rows.size() && columns.start(rows.get(i)) == start; i++) {
+                if (rows.get(i) == row) {
+                    rows.removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns whether the customer has no indexed appointments.
+         *
+         * @return true if no appointments are indexed, false otherwise
+         */
+        boolean isEmpty() {
+            return rows.isEmpty();
+        }
+
+        /**
+         * Finds the appointments that overlap a time slot.
+         *
+         * @param start the start of the slot in epoch minutes, inclusive
+         * @param end   the end of the slot in epoch minutes, exclusive
+         *
+         * @return the overlapping appointments, ordered by start date/time
+         */
+        List<Appointment> overlapping(int start, int end) {
+            List<Appointment> overlapping = new ArrayList<>();
+
+            for (int i = firstStartingAtOrAfter(start - longest); i < rows.size(); i++) {
+                int row = rows.get(i);
+                if (columns.start(row) >= end) {
+                    break;
+                }
+                if (columns.end(row) > start) {
+                    overlapping.add(columns.materialize(row));
+                }
+            }
+            return overlapping;
+        }
+
+        /**
+         * Finds the position of the first row starting at or after a minute.
+         *
+         * @param minute the minute to search for
+         *
+         * @return the position, or the number of rows if every row starts earlier
+         */
+        private int firstStartingAtOrAfter(int minute) {
+            int low = 0;
+            int high = rows.size();
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (columns.start(rows.get(mid)) < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package project.schedule_manager.utils;
+
+import javafx.geometry.Orientation;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+import project.schedule_manager.model.Appointment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Loads appointments one keyset page at a time.
+ * <p>
+ * Only the first page is read up front; further pages are fetched as the user scrolls an attached table towards the
+ * end of what has been loaded, so the time to first paint does not depend on the size of the appointments table.
+ * Pages are queried on a background worker and appended on the JavaFX application thread, and all methods must be
+ * called from that thread.
+ */
+public class AppointmentPager {
+    /**
+     * The number of appointments fetched per page.
+     */
+    public static final int PAGE_SIZE = 200;
+
+    /**
+     * How far down the loaded rows, as a fraction of the scroll range, the user must scroll before the next page is
+     * fetched.
+     */
+    private static final double PREFETCH_THRESHOLD = 0.8;
+
+    /**
+     * Receives each loaded page.
+     */
+    private final Consumer<List<Appointment>> sink;
+
+    /**
+     * The maximum number of appointments fetched per page.
+     */
+    private final int pageSize;
+
+    /**
+     * The last appointment loaded, used as the keyset for the next page.
+     */
+    private Appointment last;
+
+    /**
+     * Whether every appointment has been loaded.
+     */
+    private boolean complete;
+
+    /**
+     * The page currently being loaded, or null when no load is in progress.
+     */
+    private CompletableFuture<Void> pending;
+
+    /**
+     * Incremented on every reload so that pages requested before the reload are discarded.
+     */
+    private int generation;
+
+    /**
+     * Creates a pager using the default page size.
+     *
+     * @param sink receives each loaded page on the application thread
+     */
+    public AppointmentPager(Consumer<List<Appointment>> sink) {
+        this(sink, PAGE_SIZE);
+    }
+
+    /**
+     * Creates a pager.
+     *
+     * @param sink     receives each loaded page on the application thread
+     * @param pageSize the maximum number of appointments fetched per page
+     */
+    public AppointmentPager(Consumer<List<Appointment>> sink, int pageSize) {
+        this.sink = sink;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns whether every appointment has been loaded.
+     *
+     * @return true if no pages remain, false otherwise
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Fetches the next page of appointments in the background and passes it to the sink. If a page is already being
+     * loaded, the pending load is returned instead of starting another.
+     *
+     * @return a future completed on the application thread once the page has been passed to the sink
+     */
+    public CompletableFuture<Void> loadNextPage() {
+        if (complete) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (pending != null) {
+            return pending;
+        }
+
+        int requestedGeneration = generation;
+
+        pending = AsyncJDBC.onFxThread(AsyncJDBC.selectAppointmentPage(last, pageSize), page -> {
+            if (requestedGeneration != generation) {
+                return;
+            }
+
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+                sink.accept(page);
+            }
+            complete = page.size() < pageSize;
+        }).<Void>thenApply(page -> null).whenComplete((page, error) -> {
+            if (requestedGeneration == generation) {
+                pending = null;
+            }
+        });
+
+        return pending;
+    }
+
+    /**
+     * Fetches every remaining page. Used by features that need the complete set of appointments.
+     *
+     * @return a future completed on the application thread once every page has been passed to the sink
+     */
+    public CompletableFuture<Void> loadAll() {
+        return complete
+                ? CompletableFuture.completedFuture(null)
+                : loadNextPage().thenCompose(loaded -> loadAll());
+    }
+
+    /**
+     * Starts again from the first page. Pages requested before the reload are discarded; the caller is responsible
+     * for clearing any appointments it has already received.
+     *
+     * @return a future completed on the application thread once the first page has been passed to the sink
+     */
+    public CompletableFuture<Void> reload() {
+        reset();
+        return loadNextPage();
+    }
+
+    /**
+     * Returns the pager to its initial state without loading anything. Pages requested before the reset are
+     * discarded.
+     */
+    public void reset() {
+        generation++;
+        pending = null;
+        last = null;
+        complete = false;
+    }
+
+    /**
+     * Fetches the next page whenever the given table is scrolled close to the end of the loaded rows.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions are used for the skin and scroll listeners so the scroll bar
+     * lookup and the threshold check can be expressed inline without separate listener classes.
+     *
+     * @param table the table displaying the loaded appointments
+     */
+    public void attach(TableView<?> table) {
+        if (table.getSkin() != null) {
+            watchScrollBar(table);
+        } else {
+            table.skinProperty().addListener((observable, oldSkin, newSkin) -> watchScrollBar(table));
+        }
+    }
+
+    /**
+     * Adds a listener to the table's vertical scroll bar that loads the next page past the prefetch threshold.
+     *
+     * @param table the table whose scroll bar is watched
+     */
+    private void watchScrollBar(TableView<?> table) {
+        table.lookupAll(".scroll-bar").stream()
+                .filter(ScrollBar.class::isInstance)
+                .map(ScrollBar.class::cast)
+                .filter(scrollBar -> scrollBar.getOrientation() == Orientation.VERTICAL)
+                .findFirst()
+                .ifPresent(scrollBar -> scrollBar.valueProperty().addListener(observable -> {
+                    if (scrollBar.getValue() >= scrollBar.getMax() * PREFETCH_THRESHOLD) {
+                        loadNextPage();
+                    }
+                }));
+    }
+}
@@ -0,0 +1,397 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Contact;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The aggregates behind the Reports tab.
+ * <p>
+ * The type-by-month and per-date counts are seeded from two GROUP BY queries, one row per type and month and one per
+ * date, so they do not depend on how many appointments the client has loaded, and are then kept up to date
+ * incrementally as appointments are saved and deleted. A change whose previous values are unknown, such as an update
+ * to an appointment that was never loaded, invalidates the counts so they are queried again. The per-contact schedule
+ * is read contact by contact, each through a paged query over the contact's range of the contact index, so only one
+ * page of rows is held at a time.
+ * <p>
+ * Every change increments a data version. Each rendered report is cached together with the version it was rendered
+ * at, so displaying a report whose data has not changed returns the cached text. All methods must be called on the
+ * JavaFX application thread.
+ */
+public class AppointmentReports {
+    /**
+     * The reports that can be rendered.
+     */
+    public enum Report {
+        TYPE_BY_MONTH,
+        COUNT_BY_DATE,
+        APPOINTMENTS_BY_CONTACT
+    }
+
+    /**
+     * The number of appointments read per page of the per-contact schedule.
+     */
+    private static final int CONTACT_PAGE_SIZE = 500;
+
+    /**
+     * The number of appointments of each type in each month, keyed by type and then month.
+     */
+    private final Map<String, Map<YearMonth, Integer>> typeByMonth = new TreeMap<>();
+
+    /**
+     * The number of appointments on each date.
+     */
+    private final Map<LocalDate, Integer> countByDate = new TreeMap<>();
+
+    /**
+     * The most recently rendered text of each report.
+     */
+    private final Map<Report, Rendered> rendered = new EnumMap<>(Report.class);
+
+    /**
+     * Incremented on every change to the appointments.
+     */
+    private long version;
+
+    /**
+     * Whether the counts reflect every appointment.
+     */
+    private boolean countsLoaded;
+
+    /**
+     * The load of the counts in progress, or null if none is.
+     */
+    private CompletableFuture<Void> pendingCounts;
+
+    /**
+     * Records a saved appointment.
+     *
+     * @param previous the appointment's values before the save, or null if it is new or its values are unknown
+     * @param saved    the appointment as stored
+     * @param isUpdate whether the save updated an existing appointment
+     */
+    public void saved(Appointment previous, Appointment saved, boolean isUpdate) {
+        if (isUpdate && previous == null) {
+            invalidate();
+            return;
+        }
+
+        if (countsLoaded) {
+            if (previous != null) {
+                subtract(previous);
+            }
+            add(saved);
+        }
+        version++;
+    }
+
+    /**
+     * Records a deleted appointment.
+     *
+     * @param appointment the appointment's values before the delete, or null if they are unknown
+     */
+    public void deleted(Appointment appointment) {
+        if (appointment == null) {
+            invalidate();
+            return;
+        }
+
+        if (countsLoaded) {
+            subtract(appointment);
+        }
+        version++;
+    }
+
+    /**
+     * Discards the counts so they are queried again the next time a report is displayed.
+     */
+    public void invalidate() {
+        typeByMonth.clear();
+        countByDate.clear();
+        countsLoaded = false;
+        pendingCounts = null;
+        version++;
+    }
+
+    /**
+     * Discards the counts and every rendered report.
+     */
+    public void clear() {
+        invalidate();
+        rendered.clear();
+    }
+
+    /**
+     * Returns the text of a report. The report is only rendered if the appointments have changed since it was last
+     * rendered, and the database is only queried if the data behind it is not held.
+     *
+     * @param report the report to display
+     *
+     * @return a future completed on the application thread with the report text
+     */
+    public CompletableFuture<String> render(Report report) {
+        Rendered cached = rendered.get(report);
+        if (cached != null && cached.version() == version) {
+            return CompletableFuture.completedFuture(cached.text());
+        }
+
+        return switch (report) {
+            case TYPE_BY_MONTH -> loadCounts().thenApply(loaded -> cache(report, version, this::renderTypeByMonth));
+            case COUNT_BY_DATE -> loadCounts().thenApply(loaded -> cache(report, version, this::renderCountByDate));
+            case APPOINTMENTS_BY_CONTACT -> {
+                long requestedVersion = version;
+                yield AsyncJDBC.onFxThread(ReferenceData.load().thenCompose(referenceData -> AsyncJDBC.supply(() ->
+                        renderAppointmentsByContact(referenceData.contacts(), JDBC::selectContactAppointmentsPage))),
+                        text -> cache(report, requestedVersion, () -> text));
+            }
+        };
+    }
+
+    /**
+     * Seeds the counts from the database unless they are already held. If the appointments change while the query
+     * is running, its result is discarded and the counts are queried again.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions handle the query's result and failure next to the code that
+     * starts it.
+     *
+     * @return a future completed on the application thread once the counts are held
+     */
+    private CompletableFuture<Void> loadCounts() {
+        if (countsLoaded) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (pendingCounts != null) {
+            return pendingCounts;
+        }
+
+        long requestedVersion = version;
+        CompletableFuture<Void> load = new CompletableFuture<>();
+        pendingCounts = load;
+
+        var typeMonthCounts = AsyncJDBC.selectTypeMonthCounts();
+        var dateCounts = AsyncJDBC.selectDateCounts();
+
+        AsyncJDBC.onFxThread(CompletableFuture.allOf(typeMonthCounts, dateCounts), loaded -> {
+            if (pendingCounts == load) {
+                pendingCounts = null;
+            }
+
+            if (requestedVersion == version) {
+                seed(typeMonthCounts.join(), dateCounts.join());
+                load.complete(null);
+            } else {
+                loadCounts().thenRun(() -> load.complete(null));
+            }
+        }).exceptionally(error -> {
+            if (pendingCounts == load) {
+                pendingCounts = null;
+            }
+            load.completeExceptionally(error);
+            return null;
+        });
+
+        return load;
+    }
+
+    /**
+     * Replaces the counts with the counts read from the database.
+     *
+     * @param typeMonthCounts the number of appointments of each type per start month
+     * @param dateCounts      the number of appointments per start date
+     */
+    void seed(List<JDBC.TypeMonthCount> typeMonthCounts, List<JDBC.DateCount> dateCounts) {
+        typeByMonth.clear();
+        countByDate.clear();
+
+        for (JDBC.TypeMonthCount count : typeMonthCounts) {
+            typeByMonth.computeIfAbsent(count.type(), type -> new TreeMap<>()).put(count.month(), count.count());
+        }
+        for (JDBC.DateCount count : dateCounts) {
+            countByDate.put(count.date(), count.count());
+        }
+        countsLoaded = true;
+    }
+
+    /**
+     * Adds an appointment to the counts.
+     *
+     * @param appointment the appointment to add
+     */
+    private void add(Appointment appointment) {
+        typeByMonth.computeIfAbsent(appointment.type(), type -> new TreeMap<>())
+                .merge(YearMonth.from(appointment.date()), 1, Integer::sum);
+        countByDate.merge(appointment.date(), 1, Integer::sum);
+    }
+
+    /**
+     * Removes an appointment from the counts.
+     *
+     * @param appointment the appointment to remove
+     */
+    private void subtract(Appointment appointment) {
+        Map<YearMonth, Integer> months = typeByMonth.get(appointment.type());
+        if (months != null) {
+            decrement(months, YearMonth.from(appointment.date()));
+            if (months.isEmpty()) {
+                typeByMonth.remove(appointment.type());
+            }
+        }
+
+        decrement(countByDate, appointment.date());
+    }
+
+    /**
+     * Renders a report and caches the text under the version of the data it reflects.
+     *
+     * @param report          the report being rendered
+     * @param renderedVersion the data version the report reflects
+     * @param renderer        renders the report text
+     *
+     * @return the report text
+     */
+    private String cache(Report report, long renderedVersion, Supplier<String> renderer) {
+        String text = renderer.get();
+        rendered.put(report, new Rendered(renderedVersion, text));
+        return text;
+    }
+
+    /**
+     * Renders the number of appointments by type and then month.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions format each type and month entry, avoiding nested loops and
+     * string builders.
+     *
+     * @return the report text
+     */
+    private String renderTypeByMonth() {
+        return typeByMonth.entrySet().stream()
+                .map(type -> String.format("%s:\n%s",
+                        type.getKey(),
+                        type.getValue()
+                                .entrySet().stream()
+                                .map(entry -> String.format("\t%s %d: %d",
+                                        entry.getKey().getMonth().toString().charAt(0)
+                                                + entry.getKey().getMonth().toString().substring(1).toLowerCase(),
+                                        entry.getKey().getYear(),
+                                        entry.getValue()))
+                                .collect(Collectors.joining("\n"))))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    /**
+     * Renders the number of appointments on each date.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression formats each date entry, replacing a for-each loop.
+     *
+     * @return the report text
+     */
+    private String renderCountByDate() {
+        return countByDate.entrySet().stream()
+                .map(entry -> String.format("%s: %s", entry.getKey(), entry.getValue()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Renders each contact's schedule, reading each contact's appointments one page at a time. Contacts without
+     * appointments are left out. Runs on a background worker.
+     *
+     * @param contacts the contacts, in the order they are rendered
+     * @param pages    reads the pages of each contact's appointments
+     *
+     * @return the report text
+     */
+    static String renderAppointmentsByContact(List<Contact> contacts, ContactPages pages) {
+        StringBuilder text = new StringBuilder();
+
+        for (Contact contact : contacts) {
+            Appointment last = null;
+            List<Appointment> page;
+
+            do {
+                page = pages.page(contact, last, CONTACT_PAGE_SIZE);
+
+                for (Appointment appointment : page) {
+                    if (last == null) {
+                        if (!text.isEmpty()) {
+                            text.append('\n');
+                        }
+                        text.append(contact.name()).append(":\n");
+                    } else {
+                        text.append('\n');
+                    }
+                    text.append(formatContactAppointment(appointment));
+                    last = appointment;
+                }
+            } while (page.size() == CONTACT_PAGE_SIZE);
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Formats one appointment of a contact's schedule.
+     *
+     * @param appointment the appointment to format
+     *
+     * @return the formatted appointment
+     */
+    private static String formatContactAppointment(Appointment appointment) {
+        return String.format("""
+                        Appointment ID: %s
+                        \tTitle: %s, Type: %s, Description: %s, Start Date/Time: %s, End Date/Time: %s, Customer ID: %s
+                        """,
+                appointment.appointmentID(),
+                appointment.title(),
+                appointment.type(),
+                appointment.description(),
+                appointment.start(),
+                appointment.end(),
+                appointment.customerID());
+    }
+
+    /**
+     * Decrements a count, removing its key when it reaches zero.
+     *
+     * @param counts the counts to update
+     * @param key    the key whose count is decremented
+     * @param <K>    the type of the keys
+     */
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Reads one page of a contact's appointments.
+     */
+    @FunctionalInterface
+    interface ContactPages {
+        /**
+         * Reads the page of a contact's appointments following a given one, in order of start date/time and ID.
+         *
+         * @param contact  the contact
+         * @param after    the last appointment of the previous page, or null for the first page
+         * @param pageSize the maximum number of appointments to return
+         *
+         * @return the page
+         */
+        List<Appointment> page(Contact contact, Appointment after, int pageSize);
+    }
+
+    /**
+     * A rendered report and the data version it reflects.
+     *
+     * @param version the data version the report was rendered at
+     * @param text    the report text
+     */
+    private record Rendered(long version, String text) {
+    }
+}
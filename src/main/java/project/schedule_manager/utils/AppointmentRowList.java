@@ -0,0 +1,416 @@
+package project.schedule_manager.utils;
+
+import javafx.collections.ObservableListBase;
+import project.schedule_manager.model.Appointment;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * A read-only observable list of appointments backed by rows of the {@link AppointmentColumns}.
+ * <p>
+ * The list holds row numbers rather than records. An {@link Appointment} is materialized when an element is read, so a
+ * table over a large range only creates records for the rows it renders. The most recently read records are kept in a
+ * fixed-size cache, two per slot, so the rows on screen, and those just scrolled past, are returned as the same record
+ * on every read: scrolling over them allocates nothing, and per-row caches such as {@link CellValueCache} keep their
+ * values while the record is cached. A row's cached record is dropped when the row is added or removed, and every
+ * cached record when the rows are replaced, so a reused row never returns a stale record. The rows are kept in the
+ * order of a comparator, by default start date/time, with ties always broken by appointment ID, so the position of a
+ * row is found by binary search when it is added or removed. Sorting the list materializes each row once while the rows
+ * are sorted and keeps only the new row order. The list can be narrowed by a filter of appointment IDs, which reads each
+ * row's ID from the columns, so only the rows that pass are ever materialized; the rows that fail are kept, in order,
+ * so they are listed again when the filter changes. A row must be removed from the list before it is overwritten or
+ * freed in the columns. All methods must be called on the JavaFX application thread.
+ */
+public class AppointmentRowList extends ObservableListBase<Appointment> {
+    /**
+     * The number of slots of the record cache, each holding two records. Must be a power of two.
+     */
+    private static final int CACHE_SLOTS = 2048;
+
+    /**
+     * The columns holding the listed rows.
+     */
+    private final AppointmentColumns columns;
+
+    /**
+     * The rows whose records are cached, two per slot, or -1 for an empty entry.
+     */
+    private final int[] cachedRows = new int[CACHE_SLOTS * 2];
+
+    /**
+     * The cached records, at the positions of their rows in {@link #cachedRows}.
+     */
+    private final Appointment[] cachedRecords = new Appointment[CACHE_SLOTS * 2];
+
+    /**
+     * Whether the second entry of each slot was read more recently than the first.
+     */
+    private final boolean[] secondRecent = new boolean[CACHE_SLOTS];
+
+    /**
+     * Every row, including those the filter leaves out, in list order.
+     */
+    private IntList unfiltered = new IntList(16);
+
+    /**
+     * The listed rows, in list order. The same list as {@link #unfiltered} while the list has no filter.
+     */
+    private IntList rows = unfiltered;
+
+    /**
+     * The test of the appointment IDs of the listed rows, or null to list every row.
+     */
+    private IntPredicate filter;
+
+    /**
+     * The order of the list, or null for the default order.
+     */
+    private Comparator<? super Appointment> comparator;
+
+    /**
+     * Creates an empty list.
+     *
+     * @param columns the columns holding the listed rows
+     */
+    AppointmentRowList(AppointmentColumns columns) {
+        this.columns = columns;
+        Arrays.fill(cachedRows, -1);
+    }
+
+    /**
+     * Returns the appointment at a position, materializing it unless its record is cached. The least recently read
+     * record of the row's slot makes way for it.
+     *
+     * @param index the position
+     *
+     * @return the appointment
+     */
+    @Override
+    public Appointment get(int index) {
+        int row = rows.get(index);
+        int slot = row & (CACHE_SLOTS - 1);
+        int first = slot * 2;
+
+        if (cachedRows[first] == row) {
+            secondRecent[slot] = false;
+            return cachedRecords[first];
+        }
+        if (cachedRows[first + 1] == row) {
+            secondRecent[slot] = true;
+            return cachedRecords[first + 1];
+        }
+
+        int entry = secondRecent[slot] ? first : first + 1;
+        Appointment appointment = columns.materialize(row);
+        cachedRows[entry] = row;
+        cachedRecords[entry] = appointment;
+        secondRecent[slot] = entry == first + 1;
+        return appointment;
+    }
+
+    /**
+     * Returns the number of listed rows.
+     *
+     * @return the list's size
+     */
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Reorders the list, and keeps it in that order as rows are added. Ties are broken by appointment ID.
+     *
+     * @param comparator the order of the appointments, or null for the default order
+     */
+    @Override
+    public void sort(Comparator<? super Appointment> comparator) {
+        this.comparator = comparator;
+        if (rows != unfiltered) {
+            unfiltered = sorted(unfiltered);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Entry> entries = entries(rows);
+        int[] permutation = new int[entries.size()];
+        IntList sorted = new IntList(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            permutation[entries.get(i).index()] = i;
+            sorted.add(entries.get(i).row());
+        }
+        rows = sorted;
+        if (filter == null) {
+            unfiltered = sorted;
+        }
+
+        beginChange();
+        nextPermutation(0, permutation.length, permutation);
+        endChange();
+    }
+
+    /**
+     * Replaces the rows, listing those that pass the filter.
+     *
+     * @param replacement the rows, in any order
+     */
+    void replaceRows(IntList replacement) {
+        IntList previous = rows;
+        Arrays.fill(cachedRows, -1);
+        Arrays.fill(cachedRecords, null);
+        unfiltered = sorted(replacement);
+        rows = filtered(unfiltered);
+
+        if (!previous.isEmpty() || !rows.isEmpty()) {
+            beginChange();
+            nextReplace(0, rows.size(), materializing(previous));
+            endChange();
+        }
+    }
+
+    /**
+     * Narrows the list to the rows whose appointment IDs pass a test, replacing any previous filter. The rows are
+     * tested by ID, so only those that pass are materialized, and only when they are read. The filter is also applied
+     * to the rows added later.
+     *
+     * @param appointmentIDs the test of the appointment IDs to list, or null to list every row
+     */
+    public void filter(IntPredicate appointmentIDs) {
+        IntList previous = rows;
+        filter = appointmentIDs;
+        rows = filtered(unfiltered);
+
+        if (!previous.isEmpty() || !rows.isEmpty()) {
+            beginChange();
+            nextReplace(0, rows.size(), materializing(previous));
+            endChange();
+        }
+    }
+
+    /**
+     * Adds a row at its position in the list's order. A row the filter leaves out is kept but not listed.
+     *
+     * @param row the row to add
+     */
+    void addRow(int row) {
+        Appointment values = valuesForOrder(row);
+        int position = -search(unfiltered, row, values) - 1;
+        if (position < 0) {
+            return;
+        }
+
+        uncache(row);
+        unfiltered.insert(position, row);
+        if (rows != unfiltered) {
+            if (!filter.test(columns.appointmentID(row))) {
+                return;
+            }
+            position = -search(rows, row, values) - 1;
+            rows.insert(position, row);
+        }
+        int index = position;
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    /**
+     * Removes a row. Removing a row that is not listed has no effect.
+     *
+     * @param row the row to remove
+     */
+    void removeRow(int row) {
+        Appointment appointment = columns.materialize(row);
+        Appointment values = comparator == null ? null : appointment;
+        int position = search(unfiltered, row, values);
+        if (position < 0) {
+            return;
+        }
+
+        unfiltered.removeAt(position);
+        uncache(row);
+        int index = rows == unfiltered ? position : search(rows, row, values);
+        if (index < 0) {
+            return;
+        }
+        if (rows != unfiltered) {
+            rows.removeAt(index);
+        }
+        beginChange();
+        nextRemove(index, appointment);
+        endChange();
+    }
+
+    /**
+     * Removes every row.
+     */
+    void clearRows() {
+        replaceRows(new IntList(1));
+    }
+
+    /**
+     * Drops the cached record of a row, if any.
+     *
+     * @param row the row
+     */
+    private void uncache(int row) {
+        int first = (row & (CACHE_SLOTS - 1)) * 2;
+
+        for (int entry = first; entry < first + 2; entry++) {
+            if (cachedRows[entry] == row) {
+                cachedRows[entry] = -1;
+                cachedRecords[entry] = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the rows that pass the filter, by the appointment IDs in the columns.
+     *
+     * @param source the rows, in list order
+     *
+     * @return {@code source} itself if the list has no filter, otherwise the rows that pass, in the same order
+     */
+    private IntList filtered(IntList source) {
+        if (filter == null) {
+            return source;
+        }
+
+        IntList passed = new IntList(16);
+        for (int i = 0; i < source.size(); i++) {
+            if (filter.test(columns.appointmentID(source.get(i)))) {
+                passed.add(source.get(i));
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Finds a row by binary search.
+     *
+     * @param source the rows to search, in list order
+     * @param row    the row to find
+     * @param values the row's appointment if the list has a comparator, otherwise null
+     *
+     * @return the row's position, or {@code -(insertion point) - 1} if it is not in {@code source}
+     */
+    private int search(IntList source, int row, Appointment values) {
+        int low = 0;
+        int high = source.size() - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = compare(source.get(mid), comparator == null ? null : columns.materialize(source.get(mid)),
+                    row, values);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the values a row is ordered by.
+     *
+     * @param row the row
+     *
+     * @return the row's appointment if the list has a comparator, otherwise null
+     */
+    private Appointment valuesForOrder(int row) {
+        return comparator == null ? null : columns.materialize(row);
+    }
+
+    /**
+     * Compares two rows in the list's order.
+     *
+     * @param row         the first row
+     * @param values      the first row's appointment if the list has a comparator, otherwise null
+     * @param other       the second row
+     * @param otherValues the second row's appointment if the list has a comparator, otherwise null
+     *
+     * @return a negative number, zero or a positive number as the first row comes before, at or after the second
+     */
+    private int compare(int row, Appointment values, int other, Appointment otherValues) {
+        int order = comparator == null
+                ? Integer.compare(columns.start(row), columns.start(other))
+                : comparator.compare(values, otherValues);
+        return order != 0 ? order : Integer.compare(columns.appointmentID(row), columns.appointmentID(other));
+    }
+
+    /**
+     * Sorts rows in the list's order. Each row's appointment is materialized once for the sort if the list has a
+     * comparator.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression adapts the row comparison to the sorted entries.
+     *
+     * @param source the rows to sort
+     *
+     * @return the rows in order, each with its position in {@code source}
+     */
+    private List<Entry> entries(IntList source) {
+        List<Entry> entries = new ArrayList<>(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            entries.add(new Entry(i, source.get(i), valuesForOrder(source.get(i))));
+        }
+        entries.sort((first, second) -> compare(first.row(), first.values(), second.row(), second.values()));
+        return entries;
+    }
+
+    /**
+     * Returns rows in the list's order.
+     *
+     * @param source the rows, in any order
+     *
+     * @return the rows in order
+     */
+    private IntList sorted(IntList source) {
+        List<Entry> entries = entries(source);
+        IntList sorted = new IntList(entries.size());
+        for (Entry entry : entries) {
+            sorted.add(entry.row());
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns a list that materializes rows as they are read, to report removed rows without materializing those
+     * that no listener reads.
+     *
+     * @param source the rows
+     *
+     * @return the appointments of the rows
+     */
+    private List<Appointment> materializing(IntList source) {
+        return new AbstractList<>() {
+            @Override
+            public Appointment get(int index) {
+                return columns.materialize(source.get(index));
+            }
+
+            @Override
+            public int size() {
+                return source.size();
+            }
+        };
+    }
+
+    /**
+     * A row being sorted.
+     *
+     * @param index  the row's position before the sort
+     * @param row    the row
+     * @param values the row's appointment if the list has a comparator, otherwise null
+     */
+    private record Entry(int index, int row, Appointment values) {
+    }
+}
@@ -0,0 +1,379 @@
+package project.schedule_manager.utils;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Contact;
+import project.schedule_manager.model.Country;
+import project.schedule_manager.model.Customer;
+import project.schedule_manager.model.Division;
+import project.schedule_manager.model.User;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous counterparts of the {@link JDBC} methods.
+ * <p>
+ * Every method runs its query on a background worker and returns a CompletableFuture, so no database round-trip
+ * happens on the JavaFX application thread. Results are applied to the scene graph with
+ * {@link #onFxThread(CompletableFuture, Consumer)}.
+ */
+public abstract class AsyncJDBC {
+    /**
+     * Numbers the worker threads.
+     */
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    /**
+     * The workers that run database calls. Threads are created on demand and reclaimed when idle; the connection pool
+     * bounds how many of them can hold a connection at once.
+     */
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jdbc-worker-" + WORKER_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A database call that may throw a SQLException.
+     *
+     * @param <T> the type of the call's result
+     */
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * A database update that may throw a SQLException and returns no result.
+     */
+    @FunctionalInterface
+    public interface SqlRunnable {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Runs a database call on a background worker.
+     *
+     * @param call the database call
+     * @param <T>  the type of the call's result
+     *
+     * @return a future completed with the call's result, or exceptionally with the error it raised
+     */
+    public static <T> CompletableFuture<T> supply(SqlCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, WORKERS);
+    }
+
+    /**
+     * Runs a database update on a background worker.
+     *
+     * @param update the database update
+     *
+     * @return a future completed when the update has finished, or exceptionally with the error it raised
+     */
+    public static CompletableFuture<Void> run(SqlRunnable update) {
+        return supply(() -> {
+            update.run();
+            return null;
+        });
+    }
+
+    /**
+     * Applies the result of a future on the JavaFX application thread. If the future fails, an error alert is shown
+     * instead.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression handles both outcomes of the future in one place, keeping the
+     * hand-off to the application thread next to the code that consumes the result.
+     *
+     * @param future    the future whose result is applied
+     * @param onSuccess the action that applies the result to the scene graph
+     * @param <T>       the type of the result
+     *
+     * @return a future completed on the application thread once the result has been applied
+     */
+    public static <T> CompletableFuture<T> onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        return future.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                showError(error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Shows an alert describing a failed database call.
+     *
+     * @param error the error raised by the call
+     */
+    private static void showError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Database Error");
+        alert.setHeaderText("The database request could not be completed.");
+        alert.setContentText(cause.getMessage());
+        alert.show();
+    }
+
+    /**
+     * Stops accepting new calls and waits briefly for calls in progress, such as a pending save, to finish.
+     */
+    public static void shutdown() {
+        WORKERS.shutdown();
+        try {
+            WORKERS.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asynchronously retrieves a list of all customers.
+     *
+     * @return a future completed with the list of customers
+     */
+    public static CompletableFuture<List<Customer>> selectCustomerRecords() {
+        return supply(JDBC::selectCustomerRecords);
+    }
+
+    /**
+     * Asynchronously retrieves a list of all appointments.
+     *
+     * @return a future completed with the list of appointments
+     */
+    public static CompletableFuture<List<Appointment>> selectAppointmentRecords() {
+        return supply(JDBC::selectAppointmentRecords);
+    }
+
+    /**
+     * Asynchronously retrieves a single appointment.
+     *
+     * @param appointmentID the ID of the appointment
+     *
+     * @return a future completed with the appointment, or null if it does not exist
+     */
+    public static CompletableFuture<Appointment> selectAppointment(int appointmentID) {
+        return supply(() -> JDBC.selectAppointment(appointmentID));
+    }
+
+    /**
+     * Asynchronously retrieves a single customer.
+     *
+     * @param customerID the ID of the customer
+     *
+     * @return a future completed with the customer, or null if it does not exist
+     */
+    public static CompletableFuture<Customer> selectCustomer(int customerID) {
+        return supply(() -> JDBC.selectCustomer(customerID));
+    }
+
+    /**
+     * Asynchronously retrieves one keyset page of appointments.
+     *
+     * @param after    the last appointment of the previous page, or null to fetch the first page
+     * @param pageSize the maximum number of appointments to return
+     *
+     * @return a future completed with the page of appointments
+     */
+    public static CompletableFuture<List<Appointment>> selectAppointmentPage(Appointment after, int pageSize) {
+        return supply(() -> JDBC.selectAppointmentPage(after, pageSize));
+    }
+
+    /**
+     * Asynchronously retrieves the appointments that start within the given range.
+     *
+     * @param from the earliest start date/time, inclusive
+     * @param to   the latest start date/time, exclusive
+     *
+     * @return a future completed with the appointments starting in the range
+     */
+    public static CompletableFuture<List<Appointment>> selectAppointmentsStartingBetween(LocalDateTime from,
+                                                                                           LocalDateTime to) {
+        return supply(() -> JDBC.selectAppointmentsStartingBetween(from, to));
+    }
+
+    /**
+     * Asynchronously retrieves a customer's appointments that overlap a range.
+     *
+     * @param customerID the ID of the customer
+     * @param from       the start of the range, inclusive
+     * @param to         the end of the range, exclusive
+     *
+     * @return a future completed with the overlapping appointments
+     */
+    public static CompletableFuture<List<Appointment>> selectCustomerAppointmentsOverlapping(int customerID,
+                                                                                             LocalDateTime from,
+                                                                                             LocalDateTime to) {
+        return supply(() -> JDBC.selectCustomerAppointmentsOverlapping(customerID, from, to));
+    }
+
+    /**
+     * Asynchronously counts the appointments of each type per start month.
+     *
+     * @return a future completed with the counts
+     */
+    public static CompletableFuture<List<JDBC.TypeMonthCount>> selectTypeMonthCounts() {
+        return supply(JDBC::selectTypeMonthCounts);
+    }
+
+    /**
+     * Asynchronously counts the appointments per start date.
+     *
+     * @return a future completed with the counts
+     */
+    public static CompletableFuture<List<JDBC.DateCount>> selectDateCounts() {
+        return supply(JDBC::selectDateCounts);
+    }
+
+    /**
+     * Asynchronously retrieves every contact.
+     *
+     * @return a future completed with the contacts
+     */
+    public static CompletableFuture<List<Contact>> selectContactRecords() {
+        return supply(JDBC::selectContactRecords);
+    }
+
+    /**
+     * Asynchronously retrieves the customer IDs.
+     *
+     * @return a future completed with the customer IDs
+     */
+    public static CompletableFuture<List<Integer>> selectCustomerID() {
+        return supply(JDBC::selectCustomerID);
+    }
+
+    /**
+     * Asynchronously retrieves the user IDs.
+     *
+     * @return a future completed with the user IDs
+     */
+    public static CompletableFuture<List<Integer>> selectUserID() {
+        return supply(JDBC::selectUserID);
+    }
+
+    /**
+     * Asynchronously retrieves the ID, name and stored password of every user.
+     *
+     * @return a future completed with the users
+     */
+    public static CompletableFuture<List<User>> selectUserRecords() {
+        return supply(JDBC::selectUserRecords);
+    }
+
+    /**
+     * Asynchronously retrieves every country.
+     *
+     * @return a future completed with the countries
+     */
+    public static CompletableFuture<List<Country>> selectCountryRecords() {
+        return supply(JDBC::selectCountryRecords);
+    }
+
+    /**
+     * Asynchronously retrieves every first-level division.
+     *
+     * @return a future completed with the divisions
+     */
+    public static CompletableFuture<List<Division>> selectDivisionRecords() {
+        return supply(JDBC::selectDivisionRecords);
+    }
+
+    /**
+     * Asynchronously replaces a user's stored password.
+     *
+     * @param userID   the ID of the user
+     * @param password the new stored password
+     *
+     * @return a future completed when the password has been replaced
+     */
+    public static CompletableFuture<Void> updateUserPassword(int userID, String password) {
+        return run(() -> JDBC.updateUserPassword(userID, password));
+    }
+
+    /**
+     * Asynchronously deletes a record with a given ID.
+     *
+     * @param sql      the SQL statement used to delete the record
+     * @param recordID the ID of the record to be deleted
+     *
+     * @return a future completed when the record has been deleted
+     */
+    public static CompletableFuture<Void> deleteRecord(String sql, int recordID) {
+        return run(() -> JDBC.deleteRecord(sql, recordID));
+    }
+
+    /**
+     * Asynchronously deletes an appointment.
+     *
+     * @param appointmentID the ID of the appointment to be deleted
+     *
+     * @return a future completed when the appointment has been deleted
+     */
+    public static CompletableFuture<Void> deleteAppointment(int appointmentID) {
+        return run(() -> JDBC.deleteAppointment(appointmentID));
+    }
+
+    /**
+     * Asynchronously deletes a customer.
+     *
+     * @param customerID the ID of the customer to be deleted
+     *
+     * @return a future completed when the customer has been deleted
+     */
+    public static CompletableFuture<Void> deleteCustomer(int customerID) {
+        return run(() -> JDBC.deleteCustomer(customerID));
+    }
+
+    /**
+     * Asynchronously deletes a customer and all of its appointments in a single transaction.
+     *
+     * @param customerID the ID of the customer to be deleted
+     *
+     * @return a future completed with the deleted customer's ID and the IDs of its deleted appointments
+     */
+    public static CompletableFuture<JDBC.CustomerDeletion> deleteCustomerCascade(int customerID) {
+        return supply(() -> JDBC.deleteCustomerCascade(customerID));
+    }
+
+    /**
+     * Asynchronously inserts or updates an appointment.
+     *
+     * @param isUpdate whether the form data updates an existing appointment
+     * @param formData a map of the form data to be used in the statement
+     *
+     * @return a future completed with the appointment as stored once it has been saved
+     */
+    public static CompletableFuture<Appointment> saveAppointment(boolean isUpdate, Map<Integer, ?> formData) {
+        return supply(() -> JDBC.saveAppointment(isUpdate, formData));
+    }
+
+    /**
+     * Asynchronously inserts or updates a customer.
+     *
+     * @param isUpdate whether the form data updates an existing customer
+     * @param formData a map of the form data to be used in the statement
+     *
+     * @return a future completed with the customer as stored once it has been saved
+     */
+    public static CompletableFuture<Customer> saveCustomer(boolean isUpdate, Map<Integer, ?> formData) {
+        return supply(() -> JDBC.saveCustomer(isUpdate, formData));
+    }
+}
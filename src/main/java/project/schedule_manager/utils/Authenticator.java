@@ -0,0 +1,393 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.User;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies login credentials against the users table.
+ * <p>
+ * Passwords are stored as salted PBKDF2 hashes in the form {@code pbkdf2-sha256$iterations$salt$hash}. A password
+ * still stored in plaintext is accepted once and replaced with a hash in the background, so existing databases are
+ * migrated as users log in. Hashing is deliberately slow, so it runs on a dedicated pool of hashing workers rather
+ * than on the JavaFX application thread or the database workers. An unknown username costs the same hash as a known
+ * one, so response times do not reveal which usernames exist.
+ * <p>
+ * The user directory is read once with only the columns needed to log in, and kept in memory for
+ * {@link #DIRECTORY_TIME_TO_LIVE}. A username missing from a directory older than {@link #MISS_REFRESH_AGE} triggers
+ * one reload, so users added since the directory was read can log in. The latency of every attempt is recorded and
+ * reported by {@link #metrics()}.
+ */
+public abstract class Authenticator {
+    /**
+     * The key derivation function used to hash passwords.
+     */
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    /**
+     * The prefix identifying a stored password as a hash.
+     */
+    private static final String PREFIX = "pbkdf2-sha256";
+
+    /**
+     * The number of PBKDF2 iterations used for new hashes.
+     */
+    private static final int ITERATIONS = 600_000;
+
+    /**
+     * The length of a generated salt, in bytes.
+     */
+    private static final int SALT_BYTES = 16;
+
+    /**
+     * The length of a derived hash, in bits.
+     */
+    private static final int HASH_BITS = 256;
+
+    /**
+     * How long a loaded user directory is served before it is read again.
+     */
+    private static final Duration DIRECTORY_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    /**
+     * How old the directory must be before an unknown username causes it to be read again.
+     */
+    private static final Duration MISS_REFRESH_AGE = Duration.ofSeconds(30);
+
+    /**
+     * Generates salts.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Numbers the hashing workers.
+     */
+    private static final AtomicInteger HASHER_COUNT = new AtomicInteger();
+
+    /**
+     * The workers that hash passwords. Half of the processors are used, so hashing cannot starve rendering.
+     */
+    private static final ExecutorService HASHERS =
+            Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                Thread thread = new Thread(runnable, "credential-hasher-" + HASHER_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * The number of login attempts.
+     */
+    private static final LongAdder ATTEMPTS = new LongAdder();
+
+    /**
+     * The number of successful login attempts.
+     */
+    private static final LongAdder SUCCESSES = new LongAdder();
+
+    /**
+     * The total time taken by every attempt, in nanoseconds.
+     */
+    private static final LongAdder TOTAL_NANOS = new LongAdder();
+
+    /**
+     * The total time spent hashing, in nanoseconds.
+     */
+    private static final LongAdder HASH_NANOS = new LongAdder();
+
+    /**
+     * The longest time taken by an attempt, in nanoseconds.
+     */
+    private static final LongAccumulator MAX_NANOS = new LongAccumulator(Math::max, 0);
+
+    /**
+     * The current or in-progress directory load, or null if the directory is not cached.
+     */
+    private static CompletableFuture<Directory> directory;
+
+    /**
+     * Verifies a username and password in the background.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions chain the directory lookup, the hash comparison and the
+     * bookkeeping, keeping each stage on the executor it belongs to.
+     *
+     * @param userName the username entered
+     * @param password the password entered
+     *
+     * @return a future completed with true if the credentials are valid, false otherwise
+     */
+    public static CompletableFuture<Boolean> verify(String userName, String password) {
+        long started = System.nanoTime();
+
+        return lookUp(userName)
+                .thenApplyAsync(user -> matches(user, password) ? user : null, HASHERS)
+                .thenApply(user -> {
+                    if (user != null && !isHash(user.password())) {
+                        upgrade(user, password);
+                    }
+                    record(started, user != null);
+                    return user != null;
+                });
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password the password to hash
+     *
+     * @return the stored form of the hash
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return String.join("$", PREFIX, String.valueOf(ITERATIONS), encoder.encodeToString(salt),
+                encoder.encodeToString(derive(password, salt, ITERATIONS)));
+    }
+
+    /**
+     * Reads the user directory ahead of the first login attempt.
+     *
+     * @return a future completed once the directory is cached
+     */
+    public static CompletableFuture<Void> warmUp() {
+        return loadDirectory().thenApply(loaded -> null);
+    }
+
+    /**
+     * Discards the cached user directory so the next attempt reads it again.
+     */
+    public static synchronized void invalidate() {
+        directory = null;
+    }
+
+    /**
+     * Returns the attempt counts and latencies recorded so far.
+     *
+     * @return the authentication metrics
+     */
+    public static Metrics metrics() {
+        long attempts = ATTEMPTS.sum();
+        long successes = SUCCESSES.sum();
+
+        return new Metrics(attempts,
+                successes,
+                attempts == 0 ? Duration.ZERO : Duration.ofNanos(TOTAL_NANOS.sum() / attempts),
+                Duration.ofNanos(MAX_NANOS.get()),
+                attempts == 0 ? Duration.ZERO : Duration.ofNanos(HASH_NANOS.sum() / attempts));
+    }
+
+    /**
+     * Stops the hashing workers.
+     */
+    public static void shutdown() {
+        HASHERS.shutdownNow();
+    }
+
+    /**
+     * Finds a user in the cached directory, reading the directory again if the user is missing from one that is not
+     * recent.
+     *
+     * @param userName the username to look up
+     *
+     * @return a future completed with the user, or null if no user has that name
+     */
+    private static CompletableFuture<User> lookUp(String userName) {
+        String key = userName.toLowerCase(Locale.ROOT);
+
+        return loadDirectory().thenCompose(loaded -> {
+            User user = loaded.users().get(key);
+            if (user != null || !loaded.isOlderThan(MISS_REFRESH_AGE)) {
+                return CompletableFuture.completedFuture(user);
+            }
+
+            synchronized (Authenticator.class) {
+                if (directory != null && directory.getNow(null) == loaded) {
+                    directory = null;
+                }
+            }
+            return loadDirectory().thenApply(reloaded -> reloaded.users().get(key));
+        });
+    }
+
+    /**
+     * Returns the cached user directory, reading it first if it is not cached, has expired or the last read failed.
+     * Concurrent callers share a single read.
+     *
+     * @return a future completed with the user directory
+     */
+    private static synchronized CompletableFuture<Directory> loadDirectory() {
+        if (directory == null
+                || directory.isCompletedExceptionally()
+                || (directory.isDone() && directory.join().isOlderThan(DIRECTORY_TIME_TO_LIVE))) {
+            directory = AsyncJDBC.selectUserRecords().thenApply(users -> new Directory(users.stream()
+                    .collect(Collectors.toUnmodifiableMap(user -> user.name().toLowerCase(Locale.ROOT),
+                            Function.identity(), (first, second) -> first)), Instant.now()));
+        }
+        return directory;
+    }
+
+    /**
+     * Compares a password with a user's stored password. A missing user is compared against a throwaway hash of the
+     * same cost and never matches.
+     *
+     * @param user     the user, or null if no user has the entered name
+     * @param password the password entered
+     *
+     * @return true if the password matches, false otherwise
+     */
+    private static boolean matches(User user, String password) {
+        long started = System.nanoTime();
+        try {
+            if (user == null) {
+                derive(password, new byte[SALT_BYTES], ITERATIONS);
+                return false;
+            }
+
+            String stored = user.password();
+            if (!isHash(stored)) {
+                return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                        password.getBytes(StandardCharsets.UTF_8));
+            }
+
+            String[] parts = stored.split("\\$");
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expected = decoder.decode(parts[3]);
+            return MessageDigest.isEqual(expected,
+                    derive(password, decoder.decode(parts[2]), Integer.parseInt(parts[1])));
+        } finally {
+            HASH_NANOS.add(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Replaces a plaintext stored password with a hash of it, in the background. A failure is reported but does not
+     * affect the login.
+     *
+     * @param user     the user whose password is stored in plaintext
+     * @param password the verified password
+     */
+    private static void upgrade(User user, String password) {
+        CompletableFuture.supplyAsync(() -> hash(password), HASHERS)
+                .thenCompose(hashed -> AsyncJDBC.updateUserPassword(user.userID(), hashed))
+                .whenComplete((updated, error) -> {
+                    if (error != null) {
+                        System.out.println("Error: Could not hash the password of user " + user.userID() + ": "
+                                + error.getMessage());
+                    } else {
+                        invalidate();
+                    }
+                });
+    }
+
+    /**
+     * Returns whether a stored password is a hash.
+     *
+     * @param stored the stored password
+     *
+     * @return true if the password is stored as a hash, false if it is plaintext
+     */
+    private static boolean isHash(String stored) {
+        return stored.startsWith(PREFIX + "$") && stored.split("\\$").length == 4;
+    }
+
+    /**
+     * Derives a PBKDF2 hash of a password.
+     *
+     * @param password   the password to hash
+     * @param salt       the salt
+     * @param iterations the number of iterations
+     *
+     * @return the derived hash
+     */
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Records the outcome and latency of an attempt.
+     *
+     * @param started when the attempt started, in {@link System#nanoTime()} units
+     * @param success whether the attempt succeeded
+     */
+    private static void record(long started, boolean success) {
+        long elapsed = System.nanoTime() - started;
+
+        ATTEMPTS.increment();
+        if (success) {
+            SUCCESSES.increment();
+        }
+        TOTAL_NANOS.add(elapsed);
+        MAX_NANOS.accumulate(elapsed);
+    }
+
+    /**
+     * The cached users, keyed by lower-case username, matching the database's case-insensitive comparison.
+     *
+     * @param users    the users, keyed by lower-case username
+     * @param loadedAt when the users were read
+     */
+    private record Directory(Map<String, User> users, Instant loadedAt) {
+        /**
+         * Returns whether the directory was read longer ago than a given age.
+         *
+         * @param age the age to compare with
+         *
+         * @return true if the directory is older, false otherwise
+         */
+        boolean isOlderThan(Duration age) {
+            return Duration.between(loadedAt, Instant.now()).compareTo(age) > 0;
+        }
+    }
+
+    /**
+     * The attempt counts and latencies recorded since the application started.
+     *
+     * @param attempts    the number of login attempts
+     * @param successes   the number of successful attempts
+     * @param meanLatency the mean time from submitting credentials to the result
+     * @param maxLatency  the longest time from submitting credentials to the result
+     * @param meanHashing the mean time spent hashing per attempt
+     */
+    public record Metrics(long attempts,
+                          long successes,
+                          Duration meanLatency,
+                          Duration maxLatency,
+                          Duration meanHashing) {
+        /**
+         * Formats the metrics as a single line.
+         *
+         * @return the formatted metrics
+         */
+        @Override
+        public String toString() {
+            return String.format("Logins: %d attempts, %d succeeded, mean %d ms (hashing %d ms), max %d ms",
+                    attempts, successes, meanLatency.toMillis(), meanHashing.toMillis(), maxLatency.toMillis());
+        }
+    }
+}
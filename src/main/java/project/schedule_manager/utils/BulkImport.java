@@ -0,0 +1,617 @@
+package project.schedule_manager.utils;
+
+import javafx.application.Platform;
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Customer;
+
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports customers and appointments from CSV files.
+ * <p>
+ * A file is streamed {@link #CHUNK_SIZE} records at a time. Each chunk is validated in parallel against a preloaded
+ * {@link ReferenceData} snapshot, so contact and division names are resolved from memory rather than by a query per
+ * row. Appointments are also checked for business hours and for overlaps, per customer and in parallel, against the
+ * appointments already stored over the chunk's time span and against the chunk's earlier rows. The valid rows of a
+ * chunk are inserted as one JDBC batch and committed together, so a failure loses at most the chunk in progress.
+ * Each committed chunk is handed to a sink on the JavaFX application thread. Invalid rows are skipped and reported
+ * by line number.
+ * <p>
+ * Customer files need the columns Customer_Name, Address, Postal_Code, Phone and Division. Appointment files need
+ * Title, Description, Location, Type, Start, End, Customer_ID, User_ID and Contact, with the start and end in local
+ * time formatted as {@code yyyy-MM-dd HH:mm}. Column names are matched ignoring case, and other columns are ignored.
+ */
+public abstract class BulkImport {
+    /**
+     * The number of records validated, inserted and committed together.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * The number of rejected rows listed in a report; further rejections are only counted.
+     */
+    private static final int MAX_LISTED_REJECTIONS = 100;
+
+    /**
+     * The columns a customer file must have.
+     */
+    private static final List<String> CUSTOMER_COLUMNS = List.of("Customer_Name", "Address", "Postal_Code", "Phone",
+            "Division");
+
+    /**
+     * The columns an appointment file must have.
+     */
+    private static final List<String> APPOINTMENT_COLUMNS = List.of("Title", "Description", "Location", "Type",
+            "Start", "End", "Customer_ID", "User_ID", "Contact");
+
+    /**
+     * Imports the customers in a CSV file.
+     *
+     * @param file the file to read
+     * @param sink receives each committed chunk of customers on the application thread
+     *
+     * @return a future completed with the import's report, or exceptionally if the file cannot be read or a chunk
+     *         cannot be written
+     */
+    public static CompletableFuture<Report> customers(Path file, Consumer<List<Customer>> sink) {
+        return ReferenceData.load().thenCompose(snapshot ->
+                AsyncJDBC.supply(() -> importCustomers(file, snapshot, sink)));
+    }
+
+    /**
+     * Imports the appointments in a CSV file.
+     *
+     * @param file the file to read
+     * @param sink receives each committed chunk of appointments on the application thread
+     *
+     * @return a future completed with the import's report, or exceptionally if the file cannot be read or a chunk
+     *         cannot be written
+     */
+    public static CompletableFuture<Report> appointments(Path file, Consumer<List<Appointment>> sink) {
+        return ReferenceData.load().thenCompose(snapshot ->
+                AsyncJDBC.supply(() -> importAppointments(file, snapshot, sink)));
+    }
+
+    /**
+     * Streams a customer file into the database.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions validate each record in a parallel stream and build the stored
+     * customer from each inserted row and its generated ID.
+     *
+     * @param file     the file to read
+     * @param snapshot the reference data used to resolve division names
+     * @param sink     receives each committed chunk of customers on the application thread
+     *
+     * @return the import's report
+     *
+     * @throws SQLException if a chunk cannot be written
+     */
+    private static Report importCustomers(Path file, ReferenceData.Snapshot snapshot, Consumer<List<Customer>> sink)
+            throws SQLException {
+        Map<Integer, String> divisionNames = new HashMap<>();
+        Map<Integer, String> countryNames = new HashMap<>();
+        for (String country : snapshot.countryNames()) {
+            for (String division : snapshot.divisionNames(country)) {
+                divisionNames.put(snapshot.divisionID(division), division);
+                countryNames.put(snapshot.divisionID(division), country);
+            }
+        }
+
+        Tally tally = new Tally();
+        try (LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            Csv.Header header = new Csv.Header(reader, CUSTOMER_COLUMNS);
+
+            for (List<Line> chunk = readChunk(reader); !chunk.isEmpty(); chunk = readChunk(reader)) {
+                List<Checked<JDBC.NewCustomer>> checked = chunk.parallelStream()
+                        .map(line -> parseCustomer(line, header, snapshot))
+                        .toList();
+
+                commit(checked, JDBC::insertCustomers, (customer, customerID) -> new Customer(customerID,
+                        customer.name(),
+                        customer.address(),
+                        countryNames.get(customer.divisionID()),
+                        divisionNames.get(customer.divisionID()),
+                        customer.postalCode(),
+                        customer.phone()), sink, tally);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tally.report();
+    }
+
+    /**
+     * Streams an appointment file into the database.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions validate each record in a parallel stream and build the stored
+     * appointment from each inserted row and its generated ID.
+     *
+     * @param file     the file to read
+     * @param snapshot the reference data used to resolve contact names and check customer and user IDs
+     * @param sink     receives each committed chunk of appointments on the application thread
+     *
+     * @return the import's report
+     *
+     * @throws SQLException if a chunk cannot be written
+     */
+    private static Report importAppointments(Path file, ReferenceData.Snapshot snapshot,
+                                             Consumer<List<Appointment>> sink) throws SQLException {
+        Set<Integer> customerIDs = new HashSet<>(snapshot.customerIDs());
+        Set<Integer> userIDs = new HashSet<>(snapshot.userIDs());
+        Map<Integer, String> contactNames = new HashMap<>();
+        for (String contact : snapshot.contactNames()) {
+            contactNames.put(snapshot.contactID(contact), contact);
+        }
+
+        Tally tally = new Tally();
+        try (LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            Csv.Header header = new Csv.Header(reader, APPOINTMENT_COLUMNS);
+
+            for (List<Line> chunk = readChunk(reader); !chunk.isEmpty(); chunk = readChunk(reader)) {
+                List<Checked<JDBC.NewAppointment>> checked = chunk.parallelStream()
+                        .map(line -> parseAppointment(line, header, snapshot, customerIDs, userIDs))
+                        .toList();
+
+                commit(rejectOverlaps(checked), JDBC::insertAppointments,
+                        (appointment, appointmentID) -> new Appointment(appointmentID,
+                                appointment.title(),
+                                appointment.description(),
+                                appointment.location(),
+                                contactNames.get(appointment.contactID()),
+                                appointment.type(),
+                                appointment.start().toLocalDate(),
+                                appointment.start().toLocalTime(),
+                                appointment.end().toLocalTime(),
+                                appointment.customerID(),
+                                appointment.userID()), sink, tally);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tally.report();
+    }
+
+    /**
+     * Reads the next chunk of records.
+     *
+     * @param reader the reader positioned at the start of a record
+     *
+     * @return up to {@link #CHUNK_SIZE} records, or an empty list at the end of the input
+     *
+     * @throws IOException if the input cannot be read
+     */
+    private static List<Line> readChunk(LineNumberReader reader) throws IOException {
+        List<Line> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (chunk.size() < CHUNK_SIZE) {
+            int number = reader.getLineNumber() + 1;
+            List<String> fields = Csv.readRecord(reader);
+            if (fields == null) {
+                break;
+            }
+            if (fields.size() > 1 || !fields.get(0).isBlank()) {
+                chunk.add(new Line(number, fields));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Inserts the valid rows of a chunk in one transaction, hands the stored rows to the sink and tallies the chunk.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression hands the stored rows to the sink on the application thread.
+     *
+     * @param checked  the chunk's rows, validated
+     * @param insert   inserts the valid rows and returns their generated IDs
+     * @param toRecord builds the stored record from a row and its generated ID
+     * @param sink     receives the stored records on the application thread
+     * @param tally    the running totals of the import
+     * @param <T>      the type of the rows
+     * @param <R>      the type of the stored records
+     *
+     * @throws SQLException if the rows cannot be inserted, in which case none of them are
+     */
+    private static <T, R> void commit(List<Checked<T>> checked, Insert<T> insert, BiFunction<T, Integer, R> toRecord,
+                                      Consumer<List<R>> sink, Tally tally) throws SQLException {
+        List<T> valid = new ArrayList<>(checked.size());
+        for (Checked<T> row : checked) {
+            if (row.rejection() == null) {
+                valid.add(row.row());
+            } else {
+                tally.reject(row.line(), row.rejection());
+            }
+        }
+        tally.read += checked.size();
+
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<Integer> ids = insert.insert(valid);
+        List<R> stored = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            stored.add(toRecord.apply(valid.get(i), ids.get(i)));
+        }
+        tally.imported += stored.size();
+
+        Platform.runLater(() -> sink.accept(stored));
+    }
+
+    /**
+     * Validates a customer record and resolves its division.
+     *
+     * @param line     the record
+     * @param header   the positions of the file's columns
+     * @param snapshot the reference data used to resolve the division name
+     *
+     * @return the customer to insert, or the reason the record was rejected
+     */
+    private static Checked<JDBC.NewCustomer> parseCustomer(Line line, Csv.Header header,
+                                                           ReferenceData.Snapshot snapshot) {
+        String name = header.get(line.fields(), "Customer_Name");
+        String address = header.get(line.fields(), "Address");
+        String postalCode = header.get(line.fields(), "Postal_Code");
+        String phone = header.get(line.fields(), "Phone");
+        String division = header.get(line.fields(), "Division");
+
+        String invalid = firstInvalid(Map.of("Customer_Name", name, "Postal_Code", postalCode, "Phone", phone), 50);
+        if (invalid == null) {
+            invalid = firstInvalid(Map.of("Address", address), 100);
+        }
+        if (invalid != null) {
+            return Checked.rejected(line.number(), invalid);
+        }
+
+        Integer divisionID = snapshot.divisionID(division);
+        if (divisionID == null) {
+            return Checked.rejected(line.number(), "Unknown division: " + division);
+        }
+
+        return new Checked<>(line.number(), new JDBC.NewCustomer(name, address, postalCode, phone, divisionID), null);
+    }
+
+    /**
+     * Validates an appointment record and resolves its contact. The appointment must start and end on the same day,
+     * not end before it starts, and fall within business hours; its customer, user and contact must exist.
+     *
+     * @param line        the record
+     * @param header      the positions of the file's columns
+     * @param snapshot    the reference data used to resolve the contact name
+     * @param customerIDs the IDs of the existing customers
+     * @param userIDs     the IDs of the existing users
+     *
+     * @return the appointment to insert, or the reason the record was rejected
+     */
+    private static Checked<JDBC.NewAppointment> parseAppointment(Line line, Csv.Header header,
+                                                                 ReferenceData.Snapshot snapshot,
+                                                                 Set<Integer> customerIDs, Set<Integer> userIDs) {
+        String title = header.get(line.fields(), "Title");
+        String description = header.get(line.fields(), "Description");
+        String location = header.get(line.fields(), "Location");
+        String type = header.get(line.fields(), "Type");
+        String contact = header.get(line.fields(), "Contact");
+
+        String invalid = firstInvalid(Map.of("Title", title, "Description", description, "Location", location,
+                "Type", type), 50);
+        if (invalid != null) {
+            return Checked.rejected(line.number(), invalid);
+        }
+
+        LocalDateTime start;
+        LocalDateTime end;
+        int customerID;
+        int userID;
+        try {
+            start = LocalDateTime.parse(header.get(line.fields(), "Start"), DateTime.dateTimeFormat);
+            end = LocalDateTime.parse(header.get(line.fields(), "End"), DateTime.dateTimeFormat);
+        } catch (DateTimeParseException e) {
+            return Checked.rejected(line.number(), "Start and End must be date/times formatted as yyyy-MM-dd HH:mm");
+        }
+        try {
+            customerID = Integer.parseInt(header.get(line.fields(), "Customer_ID"));
+            userID = Integer.parseInt(header.get(line.fields(), "User_ID"));
+        } catch (NumberFormatException e) {
+            return Checked.rejected(line.number(), "Customer_ID and User_ID must be numbers");
+        }
+
+        if (!end.toLocalDate().equals(start.toLocalDate()) || Validate.isEndTimeBeforeStartTime(start, end)) {
+            return Checked.rejected(line.number(), "The appointment must end after it starts, on the same day");
+        }
+        if (!Validate.appointmentTime(start) || !Validate.appointmentTime(end)) {
+            return Checked.rejected(line.number(), "The appointment is outside business hours");
+        }
+        if (!customerIDs.contains(customerID)) {
+            return Checked.rejected(line.number(), "Unknown customer ID: " + customerID);
+        }
+        if (!userIDs.contains(userID)) {
+            return Checked.rejected(line.number(), "Unknown user ID: " + userID);
+        }
+
+        Integer contactID = snapshot.contactID(contact);
+        if (contactID == null) {
+            return Checked.rejected(line.number(), "Unknown contact: " + contact);
+        }
+
+        return new Checked<>(line.number(), new JDBC.NewAppointment(title, description, location, type, start, end,
+                customerID, userID, contactID), null);
+    }
+
+    /**
+     * Finds the first field that is empty or longer than a limit.
+     *
+     * @param fields    the fields to check, keyed by column name
+     * @param maxLength the maximum length of each field
+     *
+     * @return a description of the problem, or null if every field is valid
+     */
+    private static String firstInvalid(Map<String, String> fields, int maxLength) {
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (field.getValue().isEmpty()) {
+                return field.getKey() + " is empty";
+            }
+            if (field.getValue().length() > maxLength) {
+                return field.getKey() + " is longer than " + maxLength + " characters";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rejects the appointments of a chunk that overlap another appointment of the same customer, either one already
+     * stored or an earlier one in the chunk. The stored appointments over the chunk's time span are read once, and
+     * each customer's appointments are then checked in parallel.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions group the rows and intervals by customer and check each group
+     * in a parallel stream.
+     *
+     * @param checked the chunk's rows, validated
+     *
+     * @return the rows, with the overlapping appointments rejected
+     */
+    private static List<Checked<JDBC.NewAppointment>> rejectOverlaps(List<Checked<JDBC.NewAppointment>> checked) {
+        List<Checked<JDBC.NewAppointment>> valid = checked.stream().filter(row -> row.rejection() == null).toList();
+        if (valid.isEmpty()) {
+            return checked;
+        }
+
+        LocalDateTime from = valid.stream().map(row -> row.row().start()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = valid.stream().map(row -> row.row().end()).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Integer, List<JDBC.AppointmentInterval>> stored = JDBC.selectAppointmentIntervals(from, to).stream()
+                .collect(Collectors.groupingBy(JDBC.AppointmentInterval::customerID));
+
+        Set<Integer> overlapping = valid.stream()
+                .collect(Collectors.groupingBy(row -> row.row().customerID()))
+                .entrySet()
+                .parallelStream()
+                .flatMap(customer -> overlapping(customer.getValue(),
+                        stored.getOrDefault(customer.getKey(), List.of())).stream())
+                .collect(Collectors.toSet());
+
+        return checked.stream()
+                .map(row -> overlapping.contains(row.line())
+                        ? Checked.<JDBC.NewAppointment>rejected(row.line(),
+                        "The appointment overlaps another appointment of customer " + row.row().customerID())
+                        : row)
+                .toList();
+    }
+
+    /**
+     * Finds the appointments of one customer that overlap a stored appointment or an earlier appointment of the file.
+     * The customer's booked time is kept as disjoint intervals sorted by start, so each appointment is checked
+     * against only the latest interval starting before it ends.
+     *
+     * @param rows   the customer's valid rows
+     * @param stored the customer's stored appointments over the chunk's time span
+     *
+     * @return the line numbers of the overlapping rows
+     */
+    private static List<Integer> overlapping(List<Checked<JDBC.NewAppointment>> rows,
+                                             List<JDBC.AppointmentInterval> stored) {
+        TreeMap<LocalDateTime, LocalDateTime> booked = new TreeMap<>();
+
+        List<JDBC.AppointmentInterval> sortedStored = new ArrayList<>(stored);
+        sortedStored.sort(Comparator.comparing(JDBC.AppointmentInterval::start));
+        for (JDBC.AppointmentInterval interval : sortedStored) {
+            Map.Entry<LocalDateTime, LocalDateTime> last = booked.lastEntry();
+            if (last != null && interval.start().isBefore(last.getValue())) {
+                if (interval.end().isAfter(last.getValue())) {
+                    booked.put(last.getKey(), interval.end());
+                }
+            } else {
+                booked.put(interval.start(), interval.end());
+            }
+        }
+
+        List<Checked<JDBC.NewAppointment>> sortedRows = new ArrayList<>(rows);
+        sortedRows.sort(Comparator.comparing((Checked<JDBC.NewAppointment> row) -> row.row().start())
+                .thenComparing(Checked::line));
+
+        List<Integer> overlapping = new ArrayList<>();
+        for (Checked<JDBC.NewAppointment> row : sortedRows) {
+            LocalDateTime start = row.row().start();
+            LocalDateTime end = row.row().end();
+            Map.Entry<LocalDateTime, LocalDateTime> before = booked.lowerEntry(end);
+
+            if ((before != null && before.getValue().isAfter(start)) || booked.containsKey(start)) {
+                overlapping.add(row.line());
+            } else {
+                booked.put(start, end);
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * Inserts a chunk of rows.
+     *
+     * @param <T> the type of the rows
+     */
+    @FunctionalInterface
+    private interface Insert<T> {
+        /**
+         * Inserts the rows in one transaction.
+         *
+         * @param rows the rows to insert
+         *
+         * @return the generated IDs, in row order
+         *
+         * @throws SQLException if the rows cannot be inserted
+         */
+        List<Integer> insert(List<T> rows) throws SQLException;
+    }
+
+    /**
+     * A record of the file and the line it starts on.
+     *
+     * @param number the line the record starts on
+     * @param fields the record's fields
+     */
+    private record Line(int number, List<String> fields) {
+    }
+
+    /**
+     * A validated record: either the row to insert or the reason it was rejected.
+     *
+     * @param line      the line the record starts on
+     * @param row       the row to insert, or null if the record was rejected
+     * @param rejection the reason the record was rejected, or null if it is valid
+     * @param <T>       the type of the row
+     */
+    private record Checked<T>(int line, T row, String rejection) {
+        /**
+         * Creates a rejected record.
+         *
+         * @param line   the line the record starts on
+         * @param reason the reason the record was rejected
+         * @param <T>    the type of the row
+         *
+         * @return the rejected record
+         */
+        static <T> Checked<T> rejected(int line, String reason) {
+            return new Checked<>(line, null, reason);
+        }
+    }
+
+    /**
+     * The running totals of an import. Only touched by the importing thread.
+     */
+    private static final class Tally {
+        /**
+         * When the import started, in {@link System#nanoTime()} units.
+         */
+        private final long started = System.nanoTime();
+
+        /**
+         * The first rejected rows.
+         */
+        private final List<Rejection> rejections = new ArrayList<>();
+
+        /**
+         * The number of records read.
+         */
+        private int read;
+
+        /**
+         * The number of rows inserted.
+         */
+        private int imported;
+
+        /**
+         * The number of records rejected.
+         */
+        private int rejected;
+
+        /**
+         * Counts a rejected record, listing it if fewer than {@link #MAX_LISTED_REJECTIONS} have been listed.
+         *
+         * @param line   the line the record starts on
+         * @param reason the reason the record was rejected
+         */
+        void reject(int line, String reason) {
+            rejected++;
+            if (rejections.size() < MAX_LISTED_REJECTIONS) {
+                rejections.add(new Rejection(line, reason));
+            }
+        }
+
+        /**
+         * Builds the report of the import so far.
+         *
+         * @return the report
+         */
+        Report report() {
+            rejections.sort(Comparator.comparingInt(Rejection::line));
+            return new Report(read, imported, rejected, List.copyOf(rejections),
+                    Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    /**
+     * A rejected record.
+     *
+     * @param line   the line the record starts on
+     * @param reason the reason the record was rejected
+     */
+    public record Rejection(int line, String reason) {
+    }
+
+    /**
+     * The outcome of an import.
+     *
+     * @param read       the number of records read
+     * @param imported   the number of rows inserted
+     * @param rejected   the number of records rejected
+     * @param rejections the first rejected records, by line
+     * @param elapsed    how long the import took
+     */
+    public record Report(int read, int imported, int rejected, List<Rejection> rejections, Duration elapsed) {
+        /**
+         * Returns the import's throughput.
+         *
+         * @return the records read per second
+         */
+        public double rowsPerSecond() {
+            return read / Math.max(elapsed.toNanos() / 1e9, 1e-3);
+        }
+
+        /**
+         * Describes the import for display.
+         *
+         * @return the totals, the throughput and the listed rejections, one per line
+         */
+        public String summary() {
+            StringBuilder summary = new StringBuilder(String.format(
+                    "Read %d rows in %.1f s (%.0f rows/sec).%nImported: %d%nRejected: %d%n",
+                    read, elapsed.toMillis() / 1000.0, rowsPerSecond(), imported, rejected));
+
+            for (Rejection rejection : rejections) {
+                summary.append(String.format("%nLine %d: %s", rejection.line(), rejection.reason()));
+            }
+            if (rejected > rejections.size()) {
+                summary.append(String.format("%n...and %d more", rejected - rejections.size()));
+            }
+            return summary.toString();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package project.schedule_manager.utils;
+
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.ObservableValueBase;
+import javafx.scene.control.TableColumn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * The display values of a table's rows, computed once per row and shared by every cell that renders them.
+ * <p>
+ * A cell value factory that wraps each value in a new property allocates on every render, and a value such as a
+ * formatted date/time is recomputed whenever its cell scrolls back into view. Instead, the columns bound to a cache
+ * look their values up by row: the first lookup computes every column of the row once into immutable observable values,
+ * and later renders, scrolls and sorts reuse them. Rows are held weakly, so the cache never keeps a row alive by
+ * itself: the values of a row are released once nothing else references the row. For a table whose items list holds its
+ * rows, that is when the row leaves the list. The appointments table reads its rows from an {@link AppointmentRowList},
+ * which returns the same record for a row as long as the row stays in its record cache, so the rows on screen and those
+ * recently scrolled past keep their values, and scrolling back over them neither allocates nor formats anything. Rows
+ * are immutable records, so a changed row is a new key and never shows a stale value. All methods must be called on the
+ * JavaFX application thread.
+ *
+ * @param <S> the type of the table's rows
+ */
+public class CellValueCache<S> {
+    /**
+     * The value of each bound column, in binding order.
+     */
+    private final List<Function<S, ?>> columns = new ArrayList<>();
+
+    /**
+     * The display values of each row that has been rendered, by column.
+     */
+    private final Map<S, CellValue<?>[]> rows = new WeakHashMap<>();
+
+    /**
+     * Binds a column to the cache, so that its cells display a value of their row.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression serves as the column's cell value factory, looking the cell's
+     * value up in the cache by row and column.
+     *
+     * @param column the column to bind
+     * @param value  computes the column's value from a row
+     * @param <T>    the type of the column's values
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void bind(TableColumn<S, T> column, Function<S, ? extends T> value) {
+        int index = bind(value);
+        column.setCellValueFactory(features -> (ObservableValue<T>) valueOf(features.getValue(), index));
+    }
+
+    /**
+     * Adds a column to the values computed for each row, discarding the values computed so far.
+     *
+     * @param value computes the column's value from a row
+     *
+     * @return the position of the column in binding order
+     */
+    int bind(Function<S, ?> value) {
+        columns.add(value);
+        rows.clear();
+        return columns.size() - 1;
+    }
+
+    /**
+     * Returns the display value of a row's column, computing every column of the row on its first lookup.
+     *
+     * @param row    the row
+     * @param column the position of the column in binding order
+     *
+     * @return the cell's value
+     */
+    ObservableValue<?> valueOf(S row, int column) {
+        CellValue<?>[] values = rows.get(row);
+
+        if (values == null) {
+            values = new CellValue<?>[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = new CellValue<>(columns.get(i).apply(row));
+            }
+            rows.put(row, values);
+        }
+        return values[column];
+    }
+
+    /**
+     * A cell value that never changes. Rows are immutable, so a cell's value is only replaced together with its row.
+     *
+     * @param <T> the type of the value
+     */
+    private static final class CellValue<T> extends ObservableValueBase<T> {
+        /**
+         * The value.
+         */
+        private final T value;
+
+        /**
+         * Creates a cell value.
+         *
+         * @param value the value
+         */
+        CellValue(T value) {
+            this.value = value;
+        }
+
+        /**
+         * Returns the value.
+         *
+         * @return the value
+         */
+        @Override
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package project.schedule_manager.utils;
+
+import javafx.application.Platform;
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Customer;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the appointments and customers changed by other clients of the same database.
+ * <p>
+ * Triggers record every insert, update and delete in the change log under an increasing version (see
+ * {@code sql/change_log.sql}). While a session is running, the log is polled for the versions following the last one
+ * seen. This client's own changes are skipped, the remaining changes to each row are collapsed into one, and only the
+ * inserted and updated rows are read back, so staying current costs a few rows per poll rather than a reload of whole
+ * tables. Deleted rows are delivered as IDs. If the change log has not been created, the feed reports it once and
+ * does not poll.
+ * <p>
+ * Versions are assigned when a change is made, not when its transaction commits, so a long transaction can commit a
+ * version lower than one already read. Every version skipped below the highest one read is therefore read again on
+ * each poll until it appears, and is given up after a grace period, when its transaction is taken to have rolled
+ * back. A change that arrives late is delivered on its own; rows are read back as stored at delivery, so the order
+ * in which batches are delivered does not matter.
+ * <p>
+ * All state is confined to the feed's own thread; changes are delivered on the JavaFX application thread.
+ */
+public abstract class ChangeFeed {
+    /**
+     * The ID this client records in the change log, set on every pooled connection.
+     */
+    public static final String CLIENT_ID = UUID.randomUUID().toString();
+
+    /**
+     * How long to wait between polls.
+     */
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * The maximum number of log entries read per query. A full batch is followed immediately by the next one.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * How long a skipped version is read again before its transaction is taken to have rolled back.
+     */
+    private static final Duration SKIPPED_GRACE_PERIOD = Duration.ofMinutes(2);
+
+    /**
+     * The maximum number of skipped versions waited for at once. The oldest are given up beyond it.
+     */
+    private static final int MAX_SKIPPED = 10_000;
+
+    /**
+     * The versions below {@link #lastVersion} that had not been committed when the versions around them were read,
+     * each with the time it was first skipped.
+     */
+    private static final TreeMap<Long, Instant> skipped = new TreeMap<>();
+
+    /**
+     * Runs every feed task, one at a time.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Receives the changes of the current session, or null when the feed is stopped.
+     */
+    private static Consumer<Changes> listener;
+
+    /**
+     * The highest version read from the change log.
+     */
+    private static long lastVersion;
+
+    /**
+     * The polling task, or null when the feed is stopped.
+     */
+    private static ScheduledFuture<?> poll;
+
+    /**
+     * Starts delivering changes made from now on, replacing any previous session.
+     *
+     * @param onChanges receives, on the application thread, each batch of changes made by other clients
+     *
+     * @return a future completed once the current version has been read, or once the feed has been found
+     *         unavailable; it never completes exceptionally
+     */
+    public static CompletableFuture<Void> start(Consumer<Changes> onChanges) {
+        return CompletableFuture.runAsync(() -> {
+            reset();
+
+            try {
+                lastVersion = JDBC.selectLatestChangeVersion();
+                skipUncommitted();
+            } catch (SQLException e) {
+                System.out.println("Error: Change feed unavailable: " + e.getMessage());
+                return;
+            }
+
+            listener = onChanges;
+            poll = EXECUTOR.scheduleWithFixedDelay(ChangeFeed::poll, POLL_INTERVAL.toMillis(),
+                    POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }, EXECUTOR);
+    }
+
+    /**
+     * Stops delivering changes.
+     */
+    public static void stop() {
+        EXECUTOR.execute(ChangeFeed::reset);
+    }
+
+    /**
+     * Cancels the polling task and forgets the listener.
+     */
+    private static void reset() {
+        if (poll != null) {
+            poll.cancel(false);
+            poll = null;
+        }
+        listener = null;
+        skipped.clear();
+    }
+
+    /**
+     * Waits for the versions among the last batch before the starting version that have not been committed yet, so
+     * that a transaction in progress when the session starts is still delivered once it commits.
+     *
+     * @throws SQLException if the change log cannot be read
+     */
+    private static void skipUncommitted() throws SQLException {
+        long version = Math.max(0, lastVersion - BATCH_SIZE);
+        Instant now = Instant.now();
+
+        for (JDBC.Change change : JDBC.selectChangesSince(version, BATCH_SIZE)) {
+            skip(version, change.version(), now);
+            version = change.version();
+        }
+    }
+
+    /**
+     * Reads and delivers the skipped versions that have since been committed, then the changes following the last
+     * version seen. The versions only advance once a batch has been delivered, so a failed poll is retried from the
+     * same versions. Errors are reported and never stop the polling task.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression selects the skipped versions whose grace period has passed.
+     */
+    private static void poll() {
+        try {
+            Instant now = Instant.now();
+
+            if (!skipped.isEmpty()) {
+                List<JDBC.Change> late = JDBC.selectChanges(new ArrayList<>(skipped.keySet()));
+                if (!late.isEmpty()) {
+                    deliver(late);
+                    for (JDBC.Change change : late) {
+                        skipped.remove(change.version());
+                    }
+                }
+                skipped.values().removeIf(since -> since.plus(SKIPPED_GRACE_PERIOD).isBefore(now));
+            }
+
+            List<JDBC.Change> changes;
+            do {
+                changes = JDBC.selectChangesSince(lastVersion, BATCH_SIZE);
+                if (!changes.isEmpty()) {
+                    deliver(changes);
+                    for (JDBC.Change change : changes) {
+                        skip(lastVersion, change.version(), now);
+                        lastVersion = change.version();
+                    }
+                }
+            } while (changes.size() == BATCH_SIZE && listener != null);
+        } catch (SQLException | RuntimeException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records the versions between two consecutive versions read as skipped. If more than {@link #MAX_SKIPPED} are
+     * waited for, the oldest are given up and reported.
+     *
+     * @param previous the lower version read
+     * @param next     the higher version read
+     * @param now      the time the versions were read
+     */
+    private static void skip(long previous, long next, Instant now) {
+        for (long version = Math.max(previous + 1, next - MAX_SKIPPED); version < next; version++) {
+            skipped.putIfAbsent(version, now);
+        }
+
+        if (skipped.size() > MAX_SKIPPED) {
+            System.out.println("Error: Change feed gave up waiting for " + (skipped.size() - MAX_SKIPPED)
+                    + " uncommitted changes");
+            while (skipped.size() > MAX_SKIPPED) {
+                skipped.pollFirstEntry();
+            }
+        }
+    }
+
+    /**
+     * Collapses a batch of log entries, reads back the inserted and updated rows and hands them to the listener.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression hands the batch to the listener captured on the feed's thread,
+     * so a batch read before {@link #stop()} still goes to the session it was read for.
+     *
+     * @param changes the log entries, oldest first
+     *
+     * @throws SQLException if the changed rows cannot be read
+     */
+    private static void deliver(List<JDBC.Change> changes) throws SQLException {
+        Map<Integer, JDBC.Change.Operation> appointmentChanges = new LinkedHashMap<>();
+        Map<Integer, JDBC.Change.Operation> customerChanges = new LinkedHashMap<>();
+
+        for (JDBC.Change change : changes) {
+            if (!CLIENT_ID.equals(change.clientID())) {
+                collapse(change.table().equals("appointments") ? appointmentChanges : customerChanges, change);
+            }
+        }
+        if (appointmentChanges.isEmpty() && customerChanges.isEmpty()) {
+            return;
+        }
+
+        Changes delivered = new Changes(
+                JDBC.selectAppointments(withOperation(appointmentChanges, JDBC.Change.Operation.INSERT,
+                        JDBC.Change.Operation.UPDATE)),
+                Set.copyOf(withOperation(appointmentChanges, JDBC.Change.Operation.INSERT)),
+                withOperation(appointmentChanges, JDBC.Change.Operation.DELETE),
+                JDBC.selectCustomers(withOperation(customerChanges, JDBC.Change.Operation.INSERT,
+                        JDBC.Change.Operation.UPDATE)),
+                withOperation(customerChanges, JDBC.Change.Operation.DELETE));
+
+        Consumer<Changes> target = listener;
+        if (target != null) {
+            Platform.runLater(() -> target.accept(delivered));
+        }
+    }
+
+    /**
+     * Folds a log entry into the net change of its row. A row inserted and then changed is still an insert, and a row
+     * inserted and then deleted in the same batch is dropped. Otherwise the latest operation wins.
+     *
+     * @param net    the net change of each row, keyed by row ID
+     * @param change the log entry to fold in
+     */
+    private static void collapse(Map<Integer, JDBC.Change.Operation> net, JDBC.Change change) {
+        JDBC.Change.Operation prior = net.get(change.rowID());
+
+        if (prior != JDBC.Change.Operation.INSERT) {
+            net.put(change.rowID(), change.operation());
+        } else if (change.operation() == JDBC.Change.Operation.DELETE) {
+            net.remove(change.rowID());
+        }
+    }
+
+    /**
+     * Returns the IDs of the rows whose net change is one of the given operations.
+     *
+     * @param net        the net change of each row, keyed by row ID
+     * @param operations the operations to select
+     *
+     * @return the matching row IDs, in order of first change
+     */
+    private static List<Integer> withOperation(Map<Integer, JDBC.Change.Operation> net,
+                                               JDBC.Change.Operation... operations) {
+        List<Integer> ids = new ArrayList<>();
+
+        for (Map.Entry<Integer, JDBC.Change.Operation> entry : net.entrySet()) {
+            for (JDBC.Change.Operation operation : operations) {
+                if (entry.getValue() == operation) {
+                    ids.add(entry.getKey());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * The net changes made by other clients since the previous batch.
+     *
+     * @param appointments           the inserted and updated appointments, as stored now
+     * @param insertedAppointmentIDs the IDs of the appointments that are new
+     * @param deletedAppointmentIDs  the IDs of the deleted appointments
+     * @param customers              the inserted and updated customers, as stored now
+     * @param deletedCustomerIDs     the IDs of the deleted customers
+     */
+    public record Changes(List<Appointment> appointments,
+                          Set<Integer> insertedAppointmentIDs,
+                          List<Integer> deletedAppointmentIDs,
+                          List<Customer> customers,
+                          List<Integer> deletedCustomerIDs) {
+    }
+}
@@ -0,0 +1,354 @@
+package project.schedule_manager.utils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of database connections.
+ * <p>
+ * The pool keeps at least {@link DatabaseConfig#minPoolSize()} connections open and never more than
+ * {@link DatabaseConfig#maxPoolSize()}. Idle connections are handed out most-recently-used first and validated before
+ * every loan, connections idle for longer than the configured timeout are evicted in the background, and new
+ * connections are opened with exponential backoff so a restarting database does not end the session.
+ */
+public class ConnectionPool implements AutoCloseable {
+    /**
+     * The settings used to open and manage connections.
+     */
+    private final DatabaseConfig config;
+
+    /**
+     * Connections available for loan, most recently used first.
+     */
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    /**
+     * Limits the number of connections on loan at once to the maximum pool size.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The number of physical connections currently open, whether idle or on loan.
+     */
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    /**
+     * Evicts idle connections and tops the pool back up to its minimum size.
+     */
+    private final ScheduledExecutorService maintenance;
+
+    /**
+     * The number of successful loans.
+     */
+    private final LongAdder borrows = new LongAdder();
+
+    /**
+     * The total time, in nanoseconds, callers spent waiting for a connection.
+     */
+    private final LongAdder borrowWaitNanos = new LongAdder();
+
+    /**
+     * The longest time, in nanoseconds, a caller spent waiting for a connection.
+     */
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+
+    /**
+     * The number of loans that gave up after the borrow timeout.
+     */
+    private final LongAdder borrowTimeouts = new LongAdder();
+
+    /**
+     * The number of idle connections discarded because they failed validation.
+     */
+    private final LongAdder validationFailures = new LongAdder();
+
+    /**
+     * The number of failed attempts to open a physical connection.
+     */
+    private final LongAdder connectFailures = new LongAdder();
+
+    /**
+     * Whether the pool has been shut down.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool and opens its minimum number of connections. If one of them cannot be opened, those already
+     * opened are closed before the failure is thrown.
+     *
+     * @param config the connection and pool settings
+     *
+     * @throws SQLException if the JDBC driver is missing or the initial connections cannot be opened
+     */
+    public ConnectionPool(DatabaseConfig config) throws SQLException {
+        this.config = config;
+        this.permits = new Semaphore(config.maxPoolSize(), true);
+
+        try {
+            Class.forName(config.driver());
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC driver not found: " + config.driver(), e);
+        }
+
+        try {
+            for (int i = 0; i < config.minPoolSize(); i++) {
+                idle.offerLast(open());
+            }
+        } catch (SQLException | RuntimeException e) {
+            PooledConnection pooledConnection;
+            while ((pooledConnection = idle.pollFirst()) != null) {
+                discard(pooledConnection);
+            }
+            throw e;
+        }
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1, config.idleTimeout().toSeconds() / 2);
+        maintenance.scheduleWithFixedDelay(this::maintain, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a validated connection, waiting up to the configured borrow timeout for one to become available.
+     *
+     * @return a connection that must be closed to return it to the pool
+     *
+     * @throws SQLException if the pool is closed, the wait times out, or no connection can be opened
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long waitStart = System.nanoTime();
+
+        try {
+            if (!permits.tryAcquire(config.borrowTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTimeoutException("Timed out waiting " + config.borrowTimeout().toMillis()
+                        + " ms for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooledConnection;
+
+            while ((pooledConnection = idle.pollFirst()) != null) {
+                if (pooledConnection.isValid(config.validationTimeout())) {
+                    break;
+                }
+                validationFailures.increment();
+                discard(pooledConnection);
+            }
+
+            if (pooledConnection == null) {
+                pooledConnection = open();
+            }
+
+            recordWait(System.nanoTime() - waitStart);
+            pooledConnection.markBorrowed();
+            return pooledConnection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool, discarding it if it can no longer be used.
+     *
+     * @param pooledConnection the connection being returned
+     */
+    void release(PooledConnection pooledConnection) {
+        try {
+            if (closed) {
+                discard(pooledConnection);
+                return;
+            }
+
+            pooledConnection.reset();
+            idle.offerFirst(pooledConnection);
+        } catch (SQLException e) {
+            discard(pooledConnection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool's size and borrow-wait metrics.
+     *
+     * @return the current pool statistics
+     */
+    public Stats stats() {
+        long count = borrows.sum();
+
+        return new Stats(openConnections.get(),
+                idle.size(),
+                count,
+                borrowTimeouts.sum(),
+                Duration.ofNanos(count == 0 ? 0 : borrowWaitNanos.sum() / count),
+                Duration.ofNanos(maxBorrowWaitNanos.get()),
+                validationFailures.sum(),
+                connectFailures.sum());
+    }
+
+    /**
+     * Shuts the pool down and closes every idle connection. Connections still on loan are closed as they are
+     * returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idle.pollFirst()) != null) {
+            discard(pooledConnection);
+        }
+    }
+
+    /**
+     * Opens a new physical connection, retrying with exponential backoff when the database is unreachable.
+     *
+     * @return the new connection
+     *
+     * @throws SQLException if every attempt fails
+     */
+    private PooledConnection open() throws SQLException {
+        Duration backoff = config.reconnectBackoff();
+        SQLException lastError = null;
+
+        for (int attempt = 0; attempt <= config.reconnectAttempts(); attempt++) {
+            try {
+                var connection = DriverManager.getConnection(config.url(), config.user(), config.password());
+                tagClient(connection);
+                openConnections.incrementAndGet();
+                return new PooledConnection(this, connection, config.statementCacheSize());
+            } catch (SQLException e) {
+                connectFailures.increment();
+                lastError = e;
+            }
+
+            if (attempt < config.reconnectAttempts()) {
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = backoff.multipliedBy(2);
+            }
+        }
+
+        throw new SQLException("Unable to connect to the database after " + (config.reconnectAttempts() + 1)
+                + " attempts", lastError);
+    }
+
+    /**
+     * Records this client's ID in a session variable of a new connection, so that the change log attributes the
+     * connection's writes to this client and {@link ChangeFeed} can skip them. The connection is closed if the
+     * variable cannot be set.
+     *
+     * @param connection the new connection
+     *
+     * @throws SQLException if the variable cannot be set
+     */
+    private static void tagClient(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SET @schedule_client = ?")) {
+            statement.setString(1, ChangeFeed.CLIENT_ID);
+            statement.execute();
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes a physical connection and removes it from the open count.
+     *
+     * @param pooledConnection the connection to close
+     */
+    private void discard(PooledConnection pooledConnection) {
+        openConnections.decrementAndGet();
+        pooledConnection.closePhysical();
+    }
+
+    /**
+     * Records the time a caller spent waiting for a connection.
+     *
+     * @param nanos the wait time in nanoseconds
+     */
+    private void recordWait(long nanos) {
+        borrows.increment();
+        borrowWaitNanos.add(nanos);
+        maxBorrowWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Evicts connections that have been idle for longer than the idle timeout, oldest first, without dropping below
+     * the minimum pool size, then reopens connections until the minimum is met again.
+     */
+    private void maintain() {
+        Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+
+        while (oldestFirst.hasNext() && openConnections.get() > config.minPoolSize()) {
+            PooledConnection pooledConnection = oldestFirst.next();
+
+            if (pooledConnection.idleTime().compareTo(config.idleTimeout()) > 0 && idle.remove(pooledConnection)) {
+                discard(pooledConnection);
+            }
+        }
+
+        try {
+            while (!closed && openConnections.get() < config.minPoolSize()) {
+                idle.offerLast(open());
+            }
+        } catch (SQLException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A snapshot of the pool's size and borrow-wait metrics.
+     *
+     * @param open               the number of physical connections open
+     * @param idle               the number of connections available for loan
+     * @param borrows            the number of successful loans
+     * @param timeouts           the number of loans that timed out
+     * @param averageWait        the average time spent waiting for a connection
+     * @param maxWait            the longest time spent waiting for a connection
+     * @param validationFailures the number of idle connections discarded after failing validation
+     * @param connectFailures    the number of failed attempts to open a connection
+     */
+    public record Stats(int open,
+                        int idle,
+                        long borrows,
+                        long timeouts,
+                        Duration averageWait,
+                        Duration maxWait,
+                        long validationFailures,
+                        long connectFailures) {
+    }
+}
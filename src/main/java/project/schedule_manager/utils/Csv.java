@@ -0,0 +1,281 @@
+package project.schedule_manager.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads and writes comma-separated values as described by RFC 4180: fields may be quoted, a quoted field may contain
+ * commas, line breaks and doubled quotes, and records end at CRLF or LF. Records are read and written one at a time,
+ * so a file of any size is streamed.
+ */
+public abstract class Csv {
+    /**
+     * Reads the next record.
+     *
+     * @param reader the reader positioned at the start of a record
+     *
+     * @return the record's fields, or null at the end of the input
+     *
+     * @throws IOException if the input cannot be read
+     */
+    public static List<String> readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (!quoted) {
+                break;
+            }
+
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted field at end of input");
+            }
+            field.append('\n');
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Appends a field to a record, quoting it if it contains a comma, a quote or a line break.
+     *
+     * @param record the record being built
+     * @param field  the field, or null for an empty field
+     */
+    private static void appendField(StringBuilder record, String field) {
+        if (field == null) {
+            return;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            record.append(field);
+            return;
+        }
+
+        record.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                record.append('"');
+            }
+            record.append(c);
+        }
+        record.append('"');
+    }
+
+    /**
+     * Writes records as UTF-8 to a channel through a fixed-size buffer. Each record is encoded straight into the
+     * buffer, which is written out whenever it fills, so memory use does not grow with the number of records.
+     * Records end with CRLF.
+     */
+    public static final class Writer implements Closeable {
+        /**
+         * The size of the output buffer, in bytes.
+         */
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        /**
+         * The channel written to.
+         */
+        private final WritableByteChannel channel;
+
+        /**
+         * The encoded bytes not yet written to the channel.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /**
+         * Encodes each record into the buffer.
+         */
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        /**
+         * The record being written, reused for every record.
+         */
+        private final StringBuilder record = new StringBuilder();
+
+        /**
+         * Creates a writer. The channel is closed when the writer is.
+         *
+         * @param channel the channel to write to
+         */
+        public Writer(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Writes a record.
+         *
+         * @param fields the record's fields; a null field is written as an empty field
+         *
+         * @throws IOException if the channel cannot be written
+         */
+        public void writeRecord(String... fields) throws IOException {
+            record.setLength(0);
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    record.append(',');
+                }
+                appendField(record, fields[i]);
+            }
+            record.append("\r\n");
+
+            CharBuffer chars = CharBuffer.wrap(record);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isUnderflow()) {
+                    break;
+                }
+                if (result.isOverflow()) {
+                    drain();
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        /**
+         * Writes out any buffered bytes.
+         *
+         * @throws IOException if the channel cannot be written
+         */
+        public void flush() throws IOException {
+            encoder.encode(CharBuffer.allocate(0), buffer, true);
+            encoder.flush(buffer);
+            drain();
+            encoder.reset();
+        }
+
+        /**
+         * Flushes the buffered bytes and closes the channel.
+         *
+         * @throws IOException if the channel cannot be written or closed
+         */
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes the buffered bytes to the channel and empties the buffer.
+         *
+         * @throws IOException if the channel cannot be written
+         */
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * The positions of the named columns of a file, read from its header record.
+     */
+    public static final class Header {
+        /**
+         * The position of each column, keyed by lower-case name.
+         */
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        /**
+         * Reads a header record and checks that it names every required column. Names are matched ignoring case and
+         * surrounding whitespace; other columns are ignored.
+         *
+         * @param reader   the reader positioned at the start of the input
+         * @param required the names of the columns that must be present
+         *
+         * @throws IOException if the input cannot be read, is empty, or lacks a required column
+         */
+        public Header(BufferedReader reader, List<String> required) throws IOException {
+            List<String> names = readRecord(reader);
+            if (names == null) {
+                throw new IOException("The file is empty");
+            }
+
+            for (int i = 0; i < names.size(); i++) {
+                positions.putIfAbsent(key(names.get(i)), i);
+            }
+            for (String name : required) {
+                if (!positions.containsKey(key(name))) {
+                    throw new IOException("Missing column: " + name);
+                }
+            }
+        }
+
+        /**
+         * Returns a field of a record, trimmed.
+         *
+         * @param record the record's fields
+         * @param name   the name of the column
+         *
+         * @return the field, or an empty string if the record is too short or the column is absent
+         */
+        public String get(List<String> record, String name) {
+            Integer position = positions.get(key(name));
+            return position == null || position >= record.size() ? "" : record.get(position).trim();
+        }
+
+        /**
+         * Normalizes a column name for lookups.
+         *
+         * @param name the column name
+         *
+         * @return the lower-case, trimmed name, without any byte order mark
+         */
+        private static String key(String name) {
+            return name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Customer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exports the appointments, the customers and the reports to CSV files.
+ * <p>
+ * Rows are read through a forward-only cursor (see {@link JDBC#streamAppointments}) and each one is encoded straight
+ * into the fixed-size buffer of a {@link Csv.Writer} over a file channel, so neither the rows nor the file's text
+ * are ever held in full; memory use is the same for ten appointments as for a million. The count reports are small
+ * aggregates read from the monthly and daily counts the database returns.
+ * <p>
+ * A file is written under a temporary name next to the destination and moved into place once complete, so a
+ * failed export never leaves a truncated file behind. Appointment times are written in local time formatted as
+ * {@code yyyy-MM-dd HH:mm}, so an exported appointment file can be imported again with {@link BulkImport}.
+ */
+public abstract class CsvExport {
+    /**
+     * The header of an appointment file.
+     */
+    private static final String[] APPOINTMENT_HEADER = {"Appointment_ID", "Title", "Description", "Location",
+            "Type", "Start", "End", "Customer_ID", "User_ID", "Contact"};
+
+    /**
+     * The header of a customer file.
+     */
+    private static final String[] CUSTOMER_HEADER = {"Customer_ID", "Customer_Name", "Address", "Postal_Code",
+            "Phone", "Division", "Country"};
+
+    /**
+     * Exports every appointment, ordered by ID.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression writes each appointment as the cursor reads it.
+     *
+     * @param file the file to write
+     *
+     * @return a future completed with the number of appointments written
+     */
+    public static CompletableFuture<Long> appointments(Path file) {
+        return export(file, writer -> {
+            writer.writeRecord(APPOINTMENT_HEADER);
+            return JDBC.streamAppointments(appointment -> write(writer, appointmentFields(appointment)));
+        });
+    }
+
+    /**
+     * Exports every customer, ordered by ID.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression writes each customer as the cursor reads it.
+     *
+     * @param file the file to write
+     *
+     * @return a future completed with the number of customers written
+     */
+    public static CompletableFuture<Long> customers(Path file) {
+        return export(file, writer -> {
+            writer.writeRecord(CUSTOMER_HEADER);
+            return JDBC.streamCustomers(customer -> write(writer, customerFields(customer)));
+        });
+    }
+
+    /**
+     * Exports a report, one row per count or per appointment.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions select the rows written for each report.
+     *
+     * @param report the report to export
+     * @param file   the file to write
+     *
+     * @return a future completed with the number of rows written, not counting the header
+     */
+    public static CompletableFuture<Long> report(AppointmentReports.Report report, Path file) {
+        return switch (report) {
+            case TYPE_BY_MONTH -> export(file, CsvExport::writeTypeByMonth);
+            case COUNT_BY_DATE -> export(file, CsvExport::writeCountByDate);
+            case APPOINTMENTS_BY_CONTACT -> export(file, writer -> {
+                writer.writeRecord("Contact", "Appointment_ID", "Title", "Type", "Description", "Start", "End",
+                        "Customer_ID");
+                return JDBC.streamAppointmentsByContact(appointment -> write(writer,
+                        appointment.contact(),
+                        String.valueOf(appointment.appointmentID()),
+                        appointment.title(),
+                        appointment.type(),
+                        appointment.description(),
+                        appointment.startDateTimeFormatted(),
+                        appointment.endDateTimeFormatted(),
+                        String.valueOf(appointment.customerID())));
+            });
+        };
+    }
+
+    /**
+     * Writes a file on a background worker, under a temporary name that is moved to the destination once the
+     * content has been written and flushed. The temporary file is deleted if the export fails.
+     *
+     * @param file    the file to write
+     * @param content writes the file's records
+     *
+     * @return a future completed with the number of rows written, or exceptionally if the rows cannot be read or the
+     *         file cannot be written
+     */
+    private static CompletableFuture<Long> export(Path file, Content content) {
+        return AsyncJDBC.supply(() -> {
+            Path destination = file.toAbsolutePath();
+            Path temporary = null;
+
+            try {
+                temporary = Files.createTempFile(destination.getParent(), ".export-", ".csv");
+
+                long rows;
+                try (Csv.Writer writer = new Csv.Writer(FileChannel.open(temporary, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING))) {
+                    rows = content.write(writer);
+                }
+
+                Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                return rows;
+            } catch (IOException e) {
+                deleteQuietly(temporary);
+                throw new UncheckedIOException(e);
+            } catch (SQLException | RuntimeException e) {
+                deleteQuietly(temporary);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Writes the number of appointments of each type in each month, ordered by type and then month.
+     *
+     * @param writer the writer of the file
+     *
+     * @return the number of rows written
+     *
+     * @throws SQLException if the counts cannot be read
+     * @throws IOException  if the file cannot be written
+     */
+    private static long writeTypeByMonth(Csv.Writer writer) throws SQLException, IOException {
+        Map<String, Map<YearMonth, Integer>> counts = new TreeMap<>();
+        for (JDBC.TypeMonthCount count : JDBC.selectTypeMonthCounts()) {
+            counts.computeIfAbsent(count.type(), type -> new TreeMap<>()).put(count.month(), count.count());
+        }
+
+        writer.writeRecord("Type", "Month", "Appointments");
+        long rows = 0;
+        for (Map.Entry<String, Map<YearMonth, Integer>> type : counts.entrySet()) {
+            for (Map.Entry<YearMonth, Integer> month : type.getValue().entrySet()) {
+                writer.writeRecord(type.getKey(), month.getKey().toString(), String.valueOf(month.getValue()));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the number of appointments on each date, ordered by date.
+     *
+     * @param writer the writer of the file
+     *
+     * @return the number of rows written
+     *
+     * @throws SQLException if the counts cannot be read
+     * @throws IOException  if the file cannot be written
+     */
+    private static long writeCountByDate(Csv.Writer writer) throws SQLException, IOException {
+        Map<LocalDate, Integer> counts = new TreeMap<>();
+        for (JDBC.DateCount count : JDBC.selectDateCounts()) {
+            counts.put(count.date(), count.count());
+        }
+
+        writer.writeRecord("Date", "Appointments");
+        for (Map.Entry<LocalDate, Integer> date : counts.entrySet()) {
+            writer.writeRecord(date.getKey().format(DateTime.dateFormat), String.valueOf(date.getValue()));
+        }
+        return counts.size();
+    }
+
+    /**
+     * Returns the fields of an appointment, in the order of {@link #APPOINTMENT_HEADER}.
+     *
+     * @param appointment the appointment
+     *
+     * @return the appointment's fields
+     */
+    private static String[] appointmentFields(Appointment appointment) {
+        return new String[]{
+                String.valueOf(appointment.appointmentID()),
+                appointment.title(),
+                appointment.description(),
+                appointment.location(),
+                appointment.type(),
+                appointment.startDateTimeFormatted(),
+                appointment.endDateTimeFormatted(),
+                String.valueOf(appointment.customerID()),
+                String.valueOf(appointment.userID()),
+                appointment.contact()
+        };
+    }
+
+    /**
+     * Returns the fields of a customer, in the order of {@link #CUSTOMER_HEADER}.
+     *
+     * @param customer the customer
+     *
+     * @return the customer's fields
+     */
+    private static String[] customerFields(Customer customer) {
+        return new String[]{
+                String.valueOf(customer.customerID()),
+                customer.name(),
+                customer.address(),
+                customer.postalCode(),
+                customer.phoneNumber(),
+                customer.division(),
+                customer.country()
+        };
+    }
+
+    /**
+     * Writes a record from within a row callback, which cannot throw checked exceptions.
+     *
+     * @param writer the writer of the file
+     * @param fields the record's fields
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    private static void write(Csv.Writer writer, String... fields) {
+        try {
+            writer.writeRecord(fields);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes a file if it exists, reporting rather than throwing any error.
+     *
+     * @param file the file to delete, or null
+     */
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the records of an export.
+     */
+    @FunctionalInterface
+    private interface Content {
+        /**
+         * Writes the records.
+         *
+         * @param writer the writer of the file
+         *
+         * @return the number of rows written, not counting the header
+         *
+         * @throws SQLException if the rows cannot be read
+         * @throws IOException  if the file cannot be written
+         */
+        long write(Csv.Writer writer) throws SQLException, IOException;
+    }
+}
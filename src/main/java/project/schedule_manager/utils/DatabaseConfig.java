@@ -0,0 +1,86 @@
+package project.schedule_manager.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Connection and pool settings for the application database.
+ * <p>
+ * Settings are read from the {@code database.properties} resource and may be overridden individually with system
+ * properties of the same name (for example {@code -Ddb.url=jdbc:mysql://dbhost/client_schedule}).
+ */
+public record DatabaseConfig(String driver,
+                             String url,
+                             String user,
+                             String password,
+                             int minPoolSize,
+                             int maxPoolSize,
+                             Duration idleTimeout,
+                             Duration borrowTimeout,
+                             Duration validationTimeout,
+                             int reconnectAttempts,
+                             Duration reconnectBackoff,
+                             int statementCacheSize) {
+
+    /**
+     * The classpath resource holding the default settings.
+     */
+    private static final String RESOURCE = "/database.properties";
+
+    /**
+     * Loads the database settings from {@code database.properties}, applying any system property overrides.
+     *
+     * @return the resolved database settings
+     */
+    public static DatabaseConfig load() {
+        Properties properties = new Properties();
+
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        int minPoolSize = Integer.parseInt(setting(properties, "pool.minSize", "2"));
+        int maxPoolSize = Integer.parseInt(setting(properties, "pool.maxSize", "8"));
+
+        if (minPoolSize < 0 || maxPoolSize < 1 || minPoolSize > maxPoolSize) {
+            throw new IllegalArgumentException(String.format("Invalid pool size: min %d, max %d", minPoolSize,
+                    maxPoolSize));
+        }
+
+        return new DatabaseConfig(
+                setting(properties, "db.driver", "com.mysql.cj.jdbc.Driver"),
+                setting(properties, "db.url", "jdbc:mysql://localhost/client_schedule"
+                        + "?connectionTimeZone=SERVER&useServerPrepStmts=true&useCursorFetch=true"),
+                setting(properties, "db.user", ""),
+                setting(properties, "db.password", ""),
+                minPoolSize,
+                maxPoolSize,
+                Duration.ofSeconds(Long.parseLong(setting(properties, "pool.idleTimeoutSeconds", "300"))),
+                Duration.ofSeconds(Long.parseLong(setting(properties, "pool.borrowTimeoutSeconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(setting(properties, "pool.validationTimeoutSeconds", "2"))),
+                Integer.parseInt(setting(properties, "pool.reconnectAttempts", "5")),
+                Duration.ofMillis(Long.parseLong(setting(properties, "pool.reconnectBackoffMillis", "250"))),
+                Integer.parseInt(setting(properties, "pool.statementCacheSize", "32"))
+        );
+    }
+
+    /**
+     * Resolves a single setting, preferring a system property over the loaded properties and falling back to a
+     * default value.
+     *
+     * @param properties   the properties loaded from the resource
+     * @param key          the name of the setting
+     * @param defaultValue the value to use when the setting is absent
+     *
+     * @return the resolved setting
+     */
+    private static String setting(Properties properties, String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue)).trim();
+    }
+}
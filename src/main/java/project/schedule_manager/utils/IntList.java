@@ -0,0 +1,164 @@
+package project.schedule_manager.utils;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints, used to hold row numbers of the {@link AppointmentColumns} without boxing.
+ */
+final class IntList {
+    /**
+     * The list's elements; only the first {@link #size} are in use.
+     */
+    private int[] elements;
+
+    /**
+     * The number of elements in the list.
+     */
+    private int size;
+
+    /**
+     * Creates an empty list.
+     *
+     * @param capacity the number of elements the list can hold before it grows
+     */
+    IntList(int capacity) {
+        elements = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the list's size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the list has no elements.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an element.
+     *
+     * @param index the element's position
+     *
+     * @return the element
+     */
+    int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    /**
+     * Appends an element.
+     *
+     * @param value the element to append
+     */
+    void add(int value) {
+        insert(size, value);
+    }
+
+    /**
+     * Inserts an element, shifting the elements after it.
+     *
+     * @param index the position to insert at
+     * @param value the element to insert
+     */
+    void insert(int index, int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes the element at a position, shifting the elements after it.
+     *
+     * @param index the position of the element to remove
+     *
+     * @return the removed element
+     */
+    int removeAt(int index) {
+        int removed = get(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of a value.
+     *
+     * @param value the value to remove
+     *
+     * @return true if the value was found, false otherwise
+     */
+    boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts a value at its position in a list sorted in ascending order, unless the list already contains it.
+     *
+     * @param value the value to insert
+     *
+     * @return true if the value was inserted, false if it was already present
+     */
+    boolean addSorted(int value) {
+        int index = binarySearch(value);
+        if (index >= 0) {
+            return false;
+        }
+        insert(-index - 1, value);
+        return true;
+    }
+
+    /**
+     * Removes a value from a list sorted in ascending order, finding it by binary search.
+     *
+     * @param value the value to remove
+     *
+     * @return true if the value was found, false otherwise
+     */
+    boolean removeSorted(int value) {
+        int index = binarySearch(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Finds a value in a list sorted in ascending order.
+     *
+     * @param value the value to find
+     *
+     * @return the value's position, or {@code -(insertion point) - 1} if it is not in the list
+     */
+    private int binarySearch(int value) {
+        return Arrays.binarySearch(elements, 0, size, value);
+    }
+
+    /**
+     * Removes every element.
+     */
+    void clear() {
+        size = 0;
+    }
+}
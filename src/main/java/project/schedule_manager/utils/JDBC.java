@@ -1,117 +1,290 @@
 package project.schedule_manager.utils;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.scene.control.Button;
 import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Contact;
+import project.schedule_manager.model.Country;
 import project.schedule_manager.model.Customer;
+import project.schedule_manager.model.Division;
+import project.schedule_manager.model.User;
 
 import java.sql.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * A class that provides methods to interact with a MySQL database using JDBC.
  */
 public abstract class JDBC {
     /**
-     * The protocol used to connect to the database.
+     * How long a caller waits for the connection pool to finish opening.
      */
-    private static final String protocol = "jdbc";
+    private static final Duration OPEN_TIMEOUT = Duration.ofSeconds(30);
 
     /**
-     * The vendor of the database.
+     * Completed with the connection pool once it has been opened, or exceptionally if it could not be opened.
      */
-    private static final String vendor = ":mysql:";
+    private static final CompletableFuture<ConnectionPool> POOL_OPENED = new CompletableFuture<>();
 
     /**
-     * The location of the database.
+     * The pool of connections to the database, or null until it has been opened.
      */
-    private static final String location = "//localhost/";
+    private static volatile ConnectionPool pool;
 
     /**
-     * The name of the database.
+     * Opens the connection pool using the settings in {@code database.properties}. The pool may be opened on a
+     * background thread while the user interface starts; callers that need a connection first wait for it.
      */
-    private static final String databaseName = "client_schedule";
+    public static void openConnection() {
+        try {
+            pool = new ConnectionPool(DatabaseConfig.load());
+            POOL_OPENED.complete(pool);
+            System.out.println("Connection Successful!");
+        } catch (Exception e) {
+            POOL_OPENED.completeExceptionally(e);
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the connection pool and every connection it holds.
+     */
+    public static void closeConnection() {
+        try {
+            System.out.println("Connection Pool: " + pool.stats());
+            pool.close();
+            System.out.println("Connection Closed!");
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
 
     /**
-     * The JDBC URL used to connect to the database.
+     * Borrows a connection from the pool, waiting for the pool to finish opening if needed. The connection must be
+     * closed to return it to the pool.
+     *
+     * @return a pooled connection to the database
+     * @throws SQLException if no connection becomes available within the borrow timeout
      */
-    private static final String jdbUrl = protocol + vendor + location + databaseName + "?connectionTimeZone = SERVER";
+    public static PooledConnection getConnection() throws SQLException {
+        ConnectionPool opened = pool;
+        if (opened != null) {
+            return opened.borrow();
+        }
+
+        try {
+            return POOL_OPENED.get(OPEN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the connection pool to open", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new SQLException("Connection pool is not open", e);
+        }
+    }
 
     /**
-     * The JDBC driver used to connect to the database.
+     * The columns selected for every customer query, joined to the customer's division and country.
      */
-    private static final String driver = "com.mysql.cj.jdbc.Driver";
+    private static final String CUSTOMER_SELECT = "SELECT Customer_ID, Customer_Name, Address, Division, Country, " +
+            "Postal_Code, Phone " +
+            "FROM customers " +
+            "INNER JOIN first_level_divisions fld on customers.Division_ID = fld.Division_ID " +
+            "INNER JOIN countries on fld.Country_ID = countries.Country_ID ";
 
     /**
-     * The username used to connect to the database.
+     * The number of IDs bound by each query of {@link #selectByID(String, RowMapper.Factory, List)}.
      */
-    private static final String userName = "sqlUser";
+    private static final int ID_CHUNK_SIZE = 50;
 
     /**
-     * The password used to connect to the database.
+     * The placeholders of an ID list of {@link #ID_CHUNK_SIZE} IDs.
      */
-    private static final String password = "Passw0rd!";
+    private static final String ID_PLACEHOLDERS = String.join(", ", Collections.nCopies(ID_CHUNK_SIZE, "?"));
 
     /**
-     * The connection to the database.
+     * The number of rows fetched from the server at a time by the streaming selects.
      */
-    public static Connection connection;
+    private static final int STREAM_FETCH_SIZE = 1000;
 
     /**
-     * Opens a connection to the database.
+     * Inserts one appointment.
      */
-    public static void openConnection() {
-        try {
-            Class.forName(driver);
-            connection = DriverManager.getConnection(jdbUrl, userName, password);
-            System.out.println("Connection Successful!");
-        } catch (Exception e) {
-            System.out.println("Error: " + e.getMessage());
+    private static final String INSERT_APPOINTMENT_SQL = "INSERT INTO appointments (Title, Description, Location, " +
+            "Type, Start, End, Customer_ID, User_ID, Contact_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Inserts one customer.
+     */
+    private static final String INSERT_CUSTOMER_SQL = "INSERT INTO customers (Customer_Name, Address, Postal_Code, " +
+            "Phone, Division_ID) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * The columns selected for every appointment query, joined to the contact's name.
+     */
+    private static final String APPOINTMENT_SELECT = "SELECT Appointment_ID, Title, Description, Location, " +
+            "Contact_Name, Type, Start, End, Customer_ID, User_ID " +
+            "FROM appointments " +
+            "INNER JOIN contacts on appointments.Contact_ID = contacts.Contact_ID ";
+
+    /**
+     * The columns selected for a contact's appointments, without the join to the contact's name.
+     */
+    private static final String CONTACT_APPOINTMENT_SELECT = "SELECT Appointment_ID, Title, Description, Location, " +
+            "Type, Start, End, Customer_ID, User_ID " +
+            "FROM appointments ";
+
+    /**
+     * An appointment's start date/time converted from the server's time zone, in which the driver reads DATETIME
+     * values, to the client's, so that SQL groups it by the same month and date the client displays. The first
+     * placeholder is the client's zone ID; the second is its current offset, used if the server has no time zone
+     * tables to resolve the ID with.
+     */
+    private static final String LOCAL_START = "COALESCE(CONVERT_TZ(Start, @@session.time_zone, ?), " +
+            "CONVERT_TZ(Start, @@session.time_zone, ?))";
+
+    /**
+     * Executes a query and maps every row it returns.
+     *
+     * @param sql        the SQL statement to be executed.
+     * @param factory    compiles the row mapper for the query's result set.
+     * @param parameters the values bound, in order, to the statement's placeholders.
+     * @param <T>        the type of object each row is converted into.
+     * @return the mapped rows, in the order returned by the query.
+     * @throws SQLException if a database access error occurs.
+     */
+    private static <T> List<T> selectList(String sql, RowMapper.Factory<T> factory, Object... parameters)
+            throws SQLException {
+        try (PooledConnection pooledConnection = getConnection();
+             ResultSet resultSet = bind(pooledConnection.prepare(sql), parameters).executeQuery()) {
+            return RowMappers.mapAll(resultSet, factory);
         }
     }
 
     /**
-     * Closes the connection to the database.
+     * Executes a query and maps the first row it returns.
+     *
+     * @param sql        the SQL statement to be executed.
+     * @param factory    compiles the row mapper for the query's result set.
+     * @param parameters the values bound, in order, to the statement's placeholders.
+     * @param <T>        the type of object the row is converted into.
+     * @return the mapped row, or null if the query returned no rows.
+     * @throws SQLException if a database access error occurs.
      */
-    public static void closeConnection() {
-        try {
-            connection.close();
-            System.out.println("Connection Closed!");
-        } catch (Exception e) {
-            System.out.println("Error: " + e.getMessage());
+    private static <T> T selectOne(String sql, RowMapper.Factory<T> factory, Object... parameters)
+            throws SQLException {
+        try (PooledConnection pooledConnection = getConnection();
+             ResultSet resultSet = bind(pooledConnection.prepare(sql), parameters).executeQuery()) {
+            return RowMappers.mapOne(resultSet, factory);
         }
     }
 
     /**
-     * Retrieves a list of all customers from the database.
+     * Executes a query, wrapping any SQLException in a RuntimeException, and maps every row it returns.
      *
-     * @return The list of customers.
+     * @param sql        the SQL statement to be executed.
+     * @param factory    compiles the row mapper for the query's result set.
+     * @param parameters the values bound, in order, to the statement's placeholders.
+     * @param <T>        the type of object each row is converted into.
+     * @return the mapped rows, in the order returned by the query.
      */
-    public static ObservableList<Customer> selectCustomerRecords() {
-        ObservableList<Customer> customers = FXCollections.observableArrayList();
-        String sql = "SELECT Customer_ID, Customer_Name, Address, Division, Country, Postal_Code, Phone " +
-                "FROM customers " +
-                "INNER JOIN first_level_divisions fld on customers.Division_ID = fld.Division_ID " +
-                "INNER JOIN countries on fld.Country_ID = countries.Country_ID " +
-                "ORDER BY Customer_ID";
-
-        try (ResultSet resultSet = connection.createStatement().executeQuery(sql)) {
-            while (resultSet.next()) {
-                customers.add(new Customer(
-                        resultSet.getInt("Customer_ID"),
-                        resultSet.getString("Customer_Name"),
-                        resultSet.getString("Address"),
-                        resultSet.getString("Country"),
-                        resultSet.getString("Division"),
-                        resultSet.getString("Postal_Code"),
-                        resultSet.getString("Phone")
-                ));
-            }
+    private static <T> List<T> selectRecords(String sql, RowMapper.Factory<T> factory, Object... parameters) {
+        try {
+            return selectList(sql, factory, parameters);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-        return customers;
+    }
+
+    /**
+     * Executes a query and hands each row to an action as it is read. The rows are read through a forward-only
+     * cursor fetched {@link #STREAM_FETCH_SIZE} rows at a time, so only one fetch is held in memory however many
+     * rows the query returns.
+     *
+     * @param sql     the SQL statement to be executed.
+     * @param factory compiles the row mapper for the query's result set.
+     * @param action  receives each mapped row, in the order returned by the query.
+     * @param <T>     the type of object each row is converted into.
+     * @return the number of rows read.
+     * @throws SQLException if a database access error occurs.
+     */
+    private static <T> long selectEach(String sql, RowMapper.Factory<T> factory, Consumer<? super T> action)
+            throws SQLException {
+        try (PooledConnection pooledConnection = getConnection()) {
+            PreparedStatement preparedStatement = pooledConnection.prepare(sql);
+            preparedStatement.setFetchSize(STREAM_FETCH_SIZE);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return RowMappers.forEach(resultSet, factory, action);
+            }
+        }
+    }
+
+    /**
+     * Reads every customer, ordered by ID, handing each to an action as it is read.
+     *
+     * @param action receives each customer.
+     * @return the number of customers read.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static long streamCustomers(Consumer<? super Customer> action) throws SQLException {
+        return selectEach(CUSTOMER_SELECT + "ORDER BY Customer_ID", RowMappers::customers, action);
+    }
+
+    /**
+     * Reads every appointment, ordered by ID, handing each to an action as it is read.
+     *
+     * @param action receives each appointment.
+     * @return the number of appointments read.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static long streamAppointments(Consumer<? super Appointment> action) throws SQLException {
+        return selectEach(APPOINTMENT_SELECT + "ORDER BY Appointment_ID", RowMappers::appointments, action);
+    }
+
+    /**
+     * Reads every appointment ordered by contact name, then start date/time and appointment ID, handing each to an
+     * action as it is read.
+     *
+     * @param action receives each appointment.
+     * @return the number of appointments read.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static long streamAppointmentsByContact(Consumer<? super Appointment> action) throws SQLException {
+        return selectEach(APPOINTMENT_SELECT + "ORDER BY Contact_Name, Start, Appointment_ID",
+                RowMappers::appointments, action);
+    }
+
+    /**
+     * Retrieves a list of all customers from the database.
+     *
+     * @return The list of customers.
+     */
+    public static List<Customer> selectCustomerRecords() {
+        return selectRecords(CUSTOMER_SELECT + "ORDER BY Customer_ID", RowMappers::customers);
+    }
+
+    /**
+     * Retrieves a single customer from the database.
+     *
+     * @param customerID the ID of the customer.
+     * @return the customer, or null if no customer has the given ID.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static Customer selectCustomer(int customerID) throws SQLException {
+        return selectOne(CUSTOMER_SELECT + "WHERE Customer_ID = ?", RowMappers::customers, customerID);
     }
 
     /**
@@ -119,102 +292,323 @@ public abstract class JDBC {
      *
      * @return The list of appointments.
      */
-    public static ObservableList<Appointment> selectAppointmentRecords() {
-        ObservableList<Appointment> appointments = FXCollections.observableArrayList();
-        String sql = "SELECT Appointment_ID, Title, Description, Location, Contact_Name, Type, Start, End, " +
-                "Customer_ID, User_ID " +
-                "FROM appointments " +
-                "INNER JOIN contacts on appointments.Contact_ID = contacts.Contact_ID " +
-                "ORDER BY Appointment_ID";
-
-        try (ResultSet resultSet = connection.createStatement().executeQuery(sql)) {
-            while (resultSet.next()) {
-                appointments.add(new Appointment(
-                        resultSet.getInt("Appointment_ID"),
-                        resultSet.getString("Title"),
-                        resultSet.getString("Description"),
-                        resultSet.getString("Location"),
-                        resultSet.getString("Contact_Name"),
-                        resultSet.getString("Type"),
-                        resultSet.getTimestamp("Start").toLocalDateTime().toLocalDate(),
-                        resultSet.getTimestamp("Start").toLocalDateTime().toLocalTime(),
-                        resultSet.getTimestamp("End").toLocalDateTime().toLocalTime(),
-                        resultSet.getString("Customer_ID"),
-                        resultSet.getString("User_ID")
-                ));
+    public static List<Appointment> selectAppointmentRecords() {
+        return selectRecords(APPOINTMENT_SELECT + "ORDER BY Appointment_ID", RowMappers::appointments);
+    }
+
+    /**
+     * Retrieves one page of appointments ordered by start date/time and then appointment ID, using keyset pagination
+     * so each page costs the same regardless of how far into the table it is. The rows are read through a
+     * forward-only cursor fetched in batches of the page size.
+     *
+     * @param after    the last appointment of the previous page, or null to fetch the first page.
+     * @param pageSize the maximum number of appointments to return.
+     * @return the appointments that follow {@code after}, at most {@code pageSize} of them.
+     */
+    public static List<Appointment> selectAppointmentPage(Appointment after, int pageSize) {
+        final String FIRST_PAGE_SQL = APPOINTMENT_SELECT + "ORDER BY Start, Appointment_ID LIMIT ?";
+
+        final String NEXT_PAGE_SQL = APPOINTMENT_SELECT +
+                "WHERE Start > ? OR (Start = ? AND Appointment_ID > ?) " +
+                "ORDER BY Start, Appointment_ID LIMIT ?";
+
+        try (PooledConnection pooledConnection = getConnection()) {
+            PreparedStatement preparedStatement;
+
+            if (after == null) {
+                preparedStatement = bind(pooledConnection.prepare(FIRST_PAGE_SQL), pageSize);
+            } else {
+                Timestamp start = Timestamp.valueOf(after.startDateTime());
+                preparedStatement = bind(pooledConnection.prepare(NEXT_PAGE_SQL), start, start,
+                        after.appointmentID(), pageSize);
+            }
+            preparedStatement.setFetchSize(pageSize);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return RowMappers.mapAll(resultSet, RowMappers::appointments);
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-        return appointments;
     }
 
     /**
-     * This method executes a given SQL statement and returns the resulting data as an observable list.
+     * Retrieves a single appointment from the database.
      *
-     * @param sql the SQL statement to be executed.
-     * @return an observable list containing the resulting data from the executed SQL statement.
+     * @param appointmentID the ID of the appointment.
+     * @return the appointment, or null if no appointment has the given ID.
+     * @throws SQLException if a database access error occurs.
      */
-    private static ObservableList<Object> selectFieldData(String sql) {
-        ObservableList<Object> fieldData = FXCollections.observableArrayList();
-        try {
-            ResultSet resultSet = connection.createStatement().executeQuery(sql);
-            while (resultSet.next()) {
-                fieldData.add(resultSet.getString(sql.substring("SELECT".length() + 1, sql.indexOf("FROM") - 1)));
+    public static Appointment selectAppointment(int appointmentID) throws SQLException {
+        return selectOne(APPOINTMENT_SELECT + "WHERE Appointment_ID = ?", RowMappers::appointments, appointmentID);
+    }
+
+    /**
+     * Retrieves the appointments with the given IDs. The IDs are queried in fixed-size chunks, padding the last chunk
+     * by repeating an ID, so every chunk reuses the same cached statement.
+     *
+     * @param appointmentIDs the IDs of the appointments.
+     * @return the appointments that still exist, ordered by ID within each chunk.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static List<Appointment> selectAppointments(List<Integer> appointmentIDs) throws SQLException {
+        return selectByID(APPOINTMENT_SELECT + "WHERE Appointment_ID IN (" + ID_PLACEHOLDERS + ") " +
+                "ORDER BY Appointment_ID", RowMappers::appointments, appointmentIDs);
+    }
+
+    /**
+     * Retrieves the customers with the given IDs, in fixed-size chunks like {@link #selectAppointments(List)}.
+     *
+     * @param customerIDs the IDs of the customers.
+     * @return the customers that still exist, ordered by ID within each chunk.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static List<Customer> selectCustomers(List<Integer> customerIDs) throws SQLException {
+        return selectByID(CUSTOMER_SELECT + "WHERE Customer_ID IN (" + ID_PLACEHOLDERS + ") ORDER BY Customer_ID",
+                RowMappers::customers, customerIDs);
+    }
+
+    /**
+     * Runs a query taking {@link #ID_CHUNK_SIZE} ID placeholders once per chunk of IDs.
+     *
+     * @param sql     the SQL statement to be executed.
+     * @param factory compiles the row mapper for the query's result set.
+     * @param ids     the IDs to bind.
+     * @param <T>     the type of object each row is converted into.
+     * @return the mapped rows of every chunk, in chunk order.
+     * @throws SQLException if a database access error occurs.
+     */
+    private static <T> List<T> selectByID(String sql, RowMapper.Factory<T> factory, List<?> ids)
+            throws SQLException {
+        List<T> rows = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            Object[] chunk = new Object[ID_CHUNK_SIZE];
+            for (int i = 0; i < ID_CHUNK_SIZE; i++) {
+                chunk[i] = ids.get(Math.min(from + i, ids.size() - 1));
             }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+            rows.addAll(selectList(sql, factory, chunk));
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves the latest version recorded in the change log.
+     *
+     * @return the latest version, or 0 if the log is empty.
+     * @throws SQLException if a database access error occurs, or the change log has not been created.
+     */
+    public static long selectLatestChangeVersion() throws SQLException {
+        return selectOne("SELECT COALESCE(MAX(Version), 0) FROM change_log", RowMappers::versions);
+    }
+
+    /**
+     * Retrieves the changes recorded after a version, oldest first.
+     *
+     * @param version the last version already seen.
+     * @param limit   the maximum number of changes to return.
+     * @return the changes following {@code version}, at most {@code limit} of them.
+     * @throws SQLException if a database access error occurs, or the change log has not been created.
+     */
+    public static List<Change> selectChangesSince(long version, int limit) throws SQLException {
+        return selectList("SELECT Version, Table_Name, Row_ID, Operation, Client_ID FROM change_log " +
+                "WHERE Version > ? ORDER BY Version LIMIT ?", RowMappers::changes, version, limit);
+    }
+
+    /**
+     * Retrieves the changes recorded under the given versions, in fixed-size chunks like
+     * {@link #selectAppointments(List)}.
+     *
+     * @param versions the versions to read.
+     * @return the changes recorded under those versions, ordered by version within each chunk.
+     * @throws SQLException if a database access error occurs, or the change log has not been created.
+     */
+    public static List<Change> selectChanges(List<Long> versions) throws SQLException {
+        return selectByID("SELECT Version, Table_Name, Row_ID, Operation, Client_ID FROM change_log " +
+                "WHERE Version IN (" + ID_PLACEHOLDERS + ") ORDER BY Version", RowMappers::changes, versions);
+    }
+
+    /**
+     * Retrieves the customer and times of every appointment overlapping the given range.
+     *
+     * @param from the start of the range, inclusive.
+     * @param to   the end of the range, exclusive.
+     * @return the intervals of the appointments that start before {@code to} and end after {@code from}.
+     */
+    public static List<AppointmentInterval> selectAppointmentIntervals(LocalDateTime from, LocalDateTime to) {
+        return selectRecords("SELECT Customer_ID, Start, End FROM appointments WHERE Start < ? AND End > ?",
+                RowMappers::appointmentIntervals, Timestamp.valueOf(to), Timestamp.valueOf(from));
+    }
+
+    /**
+     * Retrieves the appointments that start within the given range.
+     *
+     * @param from the earliest start date/time, inclusive.
+     * @param to   the latest start date/time, exclusive.
+     * @return the appointments starting in the range, ordered by start date/time.
+     */
+    public static List<Appointment> selectAppointmentsStartingBetween(LocalDateTime from, LocalDateTime to) {
+        return selectRecords(APPOINTMENT_SELECT + "WHERE Start >= ? AND Start < ? ORDER BY Start, Appointment_ID",
+                RowMappers::appointments, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Retrieves a customer's appointments that overlap the given range.
+     *
+     * @param customerID the ID of the customer.
+     * @param from       the start of the range, inclusive.
+     * @param to         the end of the range, exclusive.
+     * @return the customer's appointments that start before {@code to} and end after {@code from}, ordered by start
+     * date/time.
+     */
+    public static List<Appointment> selectCustomerAppointmentsOverlapping(int customerID, LocalDateTime from,
+                                                                          LocalDateTime to) {
+        return selectRecords(APPOINTMENT_SELECT + "WHERE Customer_ID = ? AND Start < ? AND End > ? " +
+                "ORDER BY Start, Appointment_ID", RowMappers::appointments, customerID, Timestamp.valueOf(to),
+                Timestamp.valueOf(from));
+    }
+
+    /**
+     * Counts the appointments of each type starting in each month, in the client's time zone. Only one row per type
+     * and month is transferred, however many appointments there are.
+     *
+     * @return the number of appointments of each type per start month.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static List<TypeMonthCount> selectTypeMonthCounts() throws SQLException {
+        final String sql = "SELECT Type, YEAR(Local_Start) AS Start_Year, MONTH(Local_Start) AS Start_Month, " +
+                "COUNT(*) AS Appointment_Count " +
+                "FROM (SELECT Type, " + LOCAL_START + " AS Local_Start FROM appointments) AS local_appointments " +
+                "GROUP BY Type, Start_Year, Start_Month";
+
+        return selectList(sql, RowMappers::typeMonthCounts, clientTimeZone());
+    }
+
+    /**
+     * Counts the appointments starting on each date, in the client's time zone. Only one row per date is transferred,
+     * however many appointments there are.
+     *
+     * @return the number of appointments per start date.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static List<DateCount> selectDateCounts() throws SQLException {
+        final String sql = "SELECT DATE(Local_Start) AS Start_Date, COUNT(*) AS Appointment_Count " +
+                "FROM (SELECT " + LOCAL_START + " AS Local_Start FROM appointments) AS local_appointments " +
+                "GROUP BY Start_Date";
+
+        return selectList(sql, RowMappers::dateCounts, clientTimeZone());
+    }
+
+    /**
+     * Returns the values bound to the placeholders of {@link #LOCAL_START}: the client's time zone ID, and its current
+     * offset in the form MySQL accepts.
+     *
+     * @return the zone ID and the offset.
+     */
+    private static Object[] clientTimeZone() {
+        ZoneId zone = ZoneId.systemDefault();
+        ZoneOffset offset = zone.getRules().getOffset(Instant.now());
+        return new Object[]{zone.getId(), offset.getTotalSeconds() == 0 ? "+00:00" : offset.getId()};
+    }
+
+    /**
+     * Retrieves one page of a contact's appointments ordered by start date/time and appointment ID, using keyset
+     * pagination over the contact's range of the (Contact_ID, Start, Appointment_ID) index. The contact's name is not
+     * joined, since the caller already holds it.
+     *
+     * @param contact  the contact whose appointments are read.
+     * @param after    the last appointment of the previous page, or null to fetch the first page.
+     * @param pageSize the maximum number of appointments to return.
+     * @return the contact's appointments that follow {@code after}, at most {@code pageSize} of them.
+     */
+    public static List<Appointment> selectContactAppointmentsPage(Contact contact, Appointment after, int pageSize) {
+        final String FIRST_PAGE_SQL = CONTACT_APPOINTMENT_SELECT +
+                "WHERE Contact_ID = ? ORDER BY Start, Appointment_ID LIMIT ?";
+
+        final String NEXT_PAGE_SQL = CONTACT_APPOINTMENT_SELECT +
+                "WHERE Contact_ID = ? AND (Start > ? OR (Start = ? AND Appointment_ID > ?)) " +
+                "ORDER BY Start, Appointment_ID LIMIT ?";
+
+        RowMapper.Factory<Appointment> factory = RowMappers.appointmentsOf(contact.name());
+        if (after == null) {
+            return selectRecords(FIRST_PAGE_SQL, factory, contact.contactID(), pageSize);
         }
-        return fieldData;
+
+        Timestamp start = Timestamp.valueOf(after.startDateTime());
+        return selectRecords(NEXT_PAGE_SQL, factory, contact.contactID(), start, start, after.appointmentID(),
+                pageSize);
     }
 
     /**
-     * This method selects the Contact_Name field from the contacts table and returns it as an observable list.
+     * Retrieves every contact, ordered by name.
      *
-     * @return an observable list containing the Contact_Name field from the contacts table.
+     * @return the list of contacts.
      */
-    public static ObservableList<Object> selectContacts() {
-        return selectFieldData("SELECT Contact_Name FROM contacts ORDER BY Contact_Name");
+    public static List<Contact> selectContactRecords() {
+        return selectRecords("SELECT Contact_ID, Contact_Name FROM contacts ORDER BY Contact_Name",
+                RowMappers::contacts);
     }
 
     /**
-     * This method selects the Customer_ID field from the customers table and returns it as an observable list.
+     * This method selects the Customer_ID field from the customers table.
      *
-     * @return an observable list containing the Customer_ID field from the customers table.
+     * @return the customer IDs, in ascending order.
      */
-    public static ObservableList<Object> selectCustomerID() {
-        return selectFieldData("SELECT Customer_ID FROM customers ORDER BY Customer_ID");
+    public static List<Integer> selectCustomerID() {
+        return selectRecords("SELECT Customer_ID FROM customers ORDER BY Customer_ID", RowMappers::ids);
     }
 
     /**
-     * This method selects the User_ID field from the users table and returns it as an observable list.
+     * This method selects the User_ID field from the users table.
      *
-     * @return an observable list containing the User_ID field from the users table.
+     * @return the user IDs, in ascending order.
      */
-    public static ObservableList<Object> selectUserID() {
-        return selectFieldData("SELECT User_ID FROM users ORDER BY User_ID");
+    public static List<Integer> selectUserID() {
+        return selectRecords("SELECT User_ID FROM users ORDER BY User_ID", RowMappers::ids);
     }
 
     /**
-     * This method selects the Country field from the countries table and returns it as an observable list.
+     * Retrieves the ID, name and stored password of every user. Only the columns needed to log in are read.
      *
-     * @return an observable list containing the Country field from the countries table.
+     * @return the users, in ascending order of ID.
      */
-    public static ObservableList<Object> selectCountry() {
-        return selectFieldData("SELECT Country FROM countries");
+    public static List<User> selectUserRecords() {
+        return selectRecords("SELECT User_ID, User_Name, Password FROM users ORDER BY User_ID", RowMappers::users);
     }
 
     /**
-     * This method selects the Division field from the first_level_divisions table for a given country and returns it as an
-     * observable list.
+     * Retrieves every country, in table order.
      *
-     * @param countryID the ID of the country for which the Division field is to be selected.
-     * @return an observable list containing the Division field from the first_level_divisions table for the given country.
+     * @return the list of countries.
      */
-    public static ObservableList<Object> selectDivision(int countryID) {
-        String sql = String.format("SELECT Division FROM first_level_divisions WHERE Country_ID = %d ORDER BY " +
-                "Division", countryID);
-        return selectFieldData(sql);
+    public static List<Country> selectCountryRecords() {
+        return selectRecords("SELECT Country_ID, Country FROM countries ORDER BY Country_ID", RowMappers::countries);
+    }
+
+    /**
+     * Retrieves every first-level division of every country, ordered by name.
+     *
+     * @return the list of divisions.
+     */
+    public static List<Division> selectDivisionRecords() {
+        return selectRecords("SELECT Division_ID, Division, Country_ID FROM first_level_divisions ORDER BY Division",
+                RowMappers::divisions);
+    }
+
+    /**
+     * Binds the given values, in order, to the placeholders of a prepared statement.
+     *
+     * @param preparedStatement the statement to bind the values to.
+     * @param parameters        the values to bind.
+     * @return the same prepared statement, for chaining.
+     * @throws SQLException if a value cannot be bound.
+     */
+    private static PreparedStatement bind(PreparedStatement preparedStatement, Object... parameters)
+            throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            preparedStatement.setObject(i + 1, parameters[i]);
+        }
+        return preparedStatement;
     }
 
     /**
@@ -225,11 +619,92 @@ public abstract class JDBC {
      * @throws SQLException if a database access error occurs or the SQL statement does not return a ResultSet.
      */
     public static void deleteRecord(String sql, int recordID) throws SQLException {
-        PreparedStatement preparedStatement = connection.prepareStatement(sql);
-        preparedStatement.setInt(1, recordID);
-        preparedStatement.executeUpdate();
+        try (PooledConnection pooledConnection = getConnection()) {
+            bind(pooledConnection.prepare(sql), recordID).executeUpdate();
+        }
+    }
+
+
+    /**
+     * Replaces a user's stored password, used to upgrade it to a salted hash.
+     *
+     * @param userID   the ID of the user.
+     * @param password the new stored password.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static void updateUserPassword(int userID, String password) throws SQLException {
+        try (PooledConnection pooledConnection = getConnection()) {
+            bind(pooledConnection.prepare("UPDATE users SET Password = ? WHERE User_ID = ?"), password, userID)
+                    .executeUpdate();
+        }
     }
 
+    /**
+     * Inserts appointments as one batch in a single transaction.
+     *
+     * @param appointments the appointments to insert.
+     * @return the generated appointment IDs, in insertion order.
+     * @throws SQLException if a database access error occurs, in which case nothing is inserted.
+     */
+    public static List<Integer> insertAppointments(List<NewAppointment> appointments) throws SQLException {
+        return insertBatch(INSERT_APPOINTMENT_SQL, appointments.stream()
+                .map(appointment -> new Object[]{appointment.title(), appointment.description(),
+                        appointment.location(), appointment.type(), Timestamp.valueOf(appointment.start()),
+                        Timestamp.valueOf(appointment.end()), appointment.customerID(), appointment.userID(),
+                        appointment.contactID()})
+                .toList());
+    }
+
+    /**
+     * Inserts customers as one batch in a single transaction.
+     *
+     * @param customers the customers to insert.
+     * @return the generated customer IDs, in insertion order.
+     * @throws SQLException if a database access error occurs, in which case nothing is inserted.
+     */
+    public static List<Integer> insertCustomers(List<NewCustomer> customers) throws SQLException {
+        return insertBatch(INSERT_CUSTOMER_SQL, customers.stream()
+                .map(customer -> new Object[]{customer.name(), customer.address(), customer.postalCode(),
+                        customer.phone(), customer.divisionID()})
+                .toList());
+    }
+
+    /**
+     * Executes an insert once per row as a single JDBC batch and commits it as one transaction. With
+     * {@code rewriteBatchedStatements} enabled, the driver sends the batch as multi-row inserts.
+     *
+     * @param sql  the insert statement.
+     * @param rows the values of each row, bound in order to the statement's placeholders.
+     * @return the generated keys, in row order.
+     * @throws SQLException if a database access error occurs, in which case the transaction is rolled back.
+     */
+    private static List<Integer> insertBatch(String sql, List<Object[]> rows) throws SQLException {
+        try (PooledConnection pooledConnection = getConnection()) {
+            Connection connection = pooledConnection.connection();
+            connection.setAutoCommit(false);
+
+            try {
+                PreparedStatement preparedStatement = pooledConnection.prepareReturningKeys(sql);
+                for (Object[] row : rows) {
+                    bind(preparedStatement, row).addBatch();
+                }
+                preparedStatement.executeBatch();
+
+                List<Integer> keys;
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    keys = RowMappers.mapAll(generatedKeys, RowMappers::ids);
+                }
+                connection.commit();
+
+                return keys;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
 
     /**
      * This method deletes an appointment record with a given ID from the appointments table.
@@ -251,6 +726,132 @@ public abstract class JDBC {
         deleteRecord("DELETE FROM customers WHERE Customer_ID = ?", customerID);
     }
 
+    /**
+     * Deletes a customer together with all of its appointments in a single transaction. Either both deletes are
+     * committed or neither is.
+     *
+     * @param customerID the ID of the customer to be deleted.
+     * @return the deleted customer's ID and the IDs of the appointments deleted with it.
+     * @throws SQLException if a database access error occurs, in which case nothing is deleted.
+     */
+    public static CustomerDeletion deleteCustomerCascade(int customerID) throws SQLException {
+        final String SELECT_APPOINTMENT_IDS_SQL = "SELECT Appointment_ID FROM appointments WHERE Customer_ID = ? " +
+                "FOR UPDATE";
+        final String DELETE_APPOINTMENTS_SQL = "DELETE FROM appointments WHERE Customer_ID = ?";
+        final String DELETE_CUSTOMER_SQL = "DELETE FROM customers WHERE Customer_ID = ?";
+
+        try (PooledConnection pooledConnection = getConnection()) {
+            Connection connection = pooledConnection.connection();
+            connection.setAutoCommit(false);
+
+            try {
+                List<Integer> appointmentIDs;
+                try (ResultSet resultSet = bind(pooledConnection.prepare(SELECT_APPOINTMENT_IDS_SQL), customerID)
+                        .executeQuery()) {
+                    appointmentIDs = RowMappers.mapAll(resultSet, RowMappers::ids);
+                }
+
+                bind(pooledConnection.prepare(DELETE_APPOINTMENTS_SQL), customerID).executeUpdate();
+                bind(pooledConnection.prepare(DELETE_CUSTOMER_SQL), customerID).executeUpdate();
+                connection.commit();
+
+                return new CustomerDeletion(customerID, appointmentIDs);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * The rows removed by {@link #deleteCustomerCascade(int)}.
+     *
+     * @param customerID     the ID of the deleted customer.
+     * @param appointmentIDs the IDs of the customer's deleted appointments.
+     */
+    public record CustomerDeletion(int customerID, List<Integer> appointmentIDs) {
+    }
+
+    /**
+     * One entry of the change log.
+     *
+     * @param version   the version the change was recorded at.
+     * @param table     the table changed, either "appointments" or "customers".
+     * @param rowID     the ID of the changed row.
+     * @param operation how the row was changed.
+     * @param clientID  the ID of the client that made the change, or null if it was made outside the application.
+     */
+    public record Change(long version, String table, int rowID, Operation operation, String clientID) {
+        /**
+         * How a row was changed.
+         */
+        public enum Operation {
+            INSERT,
+            UPDATE,
+            DELETE
+        }
+    }
+
+    /**
+     * An appointment to be inserted by {@link #insertAppointments(List)}.
+     *
+     * @param title       the title.
+     * @param description the description.
+     * @param location    the location.
+     * @param type        the type.
+     * @param start       the start, in local time.
+     * @param end         the end, in local time.
+     * @param customerID  the ID of the customer.
+     * @param userID      the ID of the user.
+     * @param contactID   the ID of the contact.
+     */
+    public record NewAppointment(String title, String description, String location, String type,
+                                 LocalDateTime start, LocalDateTime end, int customerID, int userID, int contactID) {
+    }
+
+    /**
+     * A customer to be inserted by {@link #insertCustomers(List)}.
+     *
+     * @param name       the name.
+     * @param address    the address.
+     * @param postalCode the postal code.
+     * @param phone      the phone number.
+     * @param divisionID the ID of the first-level division.
+     */
+    public record NewCustomer(String name, String address, String postalCode, String phone, int divisionID) {
+    }
+
+    /**
+     * The customer and time of an appointment.
+     *
+     * @param customerID the ID of the customer.
+     * @param start      the start, in local time.
+     * @param end        the end, in local time.
+     */
+    public record AppointmentInterval(int customerID, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * The number of appointments of one type starting in one month.
+     *
+     * @param type  the appointment type.
+     * @param month the month, in local time.
+     * @param count the number of appointments.
+     */
+    public record TypeMonthCount(String type, YearMonth month, int count) {
+    }
+
+    /**
+     * The number of appointments starting on one date.
+     *
+     * @param date  the date, in local time.
+     * @param count the number of appointments.
+     */
+    public record DateCount(LocalDate date, int count) {
+    }
+
     /**
      * This method updates a specified table with the given form data.
      * <p>
@@ -263,62 +864,62 @@ public abstract class JDBC {
      *
      * @param sql      the SQL statement used to update the table.
      * @param formData a map of the form data to be used in the update statement.
+     * @return the key generated by an insert, or 0 if the statement generated none.
      * @throws SQLException if a database access error occurs or the SQL statement does not return a ResultSet.
      */
-    private static void updateTable(String sql, Map<Integer, ?> formData) throws SQLException {
-        PreparedStatement preparedStatement = connection.prepareStatement(sql);
-
-        formData.forEach((index, val) -> {
-            try {
-                preparedStatement.setObject(index, val);
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+    private static int updateTable(String sql, Map<Integer, ?> formData) throws SQLException {
+        try (PooledConnection pooledConnection = getConnection()) {
+            PreparedStatement preparedStatement = pooledConnection.prepareReturningKeys(sql);
+
+            formData.forEach((index, val) -> {
+                try {
+                    preparedStatement.setObject(index, val);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            preparedStatement.executeUpdate();
+
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                return generatedKeys.next() ? generatedKeys.getInt(1) : 0;
             }
-        });
-
-        preparedStatement.executeUpdate();
+        }
     }
 
     /**
-     * This method updates the appointments table with the given form data.
+     * This method inserts or updates an appointment with the given form data.
      *
-     * @param submit   the Button used to submit the form.
-     * @param formData a map of the form data to be used in the update statement.
-     * @throws SQLException if a database access error occurs or the SQL statement does not return a ResultSet.
+     * @param isUpdate whether the form data updates an existing appointment, identified by its 10th value.
+     * @param formData a map of the form data to be used in the insert or update statement.
+     * @return the inserted or updated appointment as stored, or null if it no longer exists.
+     * @throws SQLException if a database access error occurs.
      */
-    public static void updateAppointmentsTable(Button submit, Map<Integer, ?> formData) throws SQLException {
-        final String INSERT_APPOINTMENT_SQL = "INSERT INTO appointments (Title, Description, Location, Type, Start, " +
-                "End," +
-                " Customer_ID, User_ID, Contact_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, (SELECT Contact_ID FROM contacts " +
-                "WHERE Contact_Name = ?))";
-
-        final String UPDATE_APPOINTMENT_SQL = "UPDATE appointments SET Title = ?, Description = ?, Location = ?, Type" +
-                " = " +
-                "?, Start = ?, End = ?, Customer_ID = ?, User_ID = ?, Contact_ID = (SELECT Contact_ID FROM contacts " +
-                "WHERE Contact_Name = ?) WHERE Appointment_ID = ?";
+    public static Appointment saveAppointment(boolean isUpdate, Map<Integer, ?> formData) throws SQLException {
+        final String UPDATE_APPOINTMENT_SQL = "UPDATE appointments SET Title = ?, Description = ?, Location = ?, " +
+                "Type = ?, Start = ?, End = ?, Customer_ID = ?, User_ID = ?, Contact_ID = ? WHERE Appointment_ID = ?";
 
-        String sql = submit.getText().equals("Update") ? UPDATE_APPOINTMENT_SQL : INSERT_APPOINTMENT_SQL;
+        String sql = isUpdate ? UPDATE_APPOINTMENT_SQL : INSERT_APPOINTMENT_SQL;
 
-        updateTable(sql, formData);
+        int generatedID = updateTable(sql, formData);
+        return selectAppointment(isUpdate ? Integer.parseInt(String.valueOf(formData.get(10))) : generatedID);
     }
 
-/**
- * This method updates the customers table with the given form data.
- *
- * @param submit   the Button used to submit the form.
- * @param formData a map of the form data to be used in the update statement
- */
-    public static void updateCustomersTable(Button submit, Map<Integer, ?> formData) throws SQLException {
-        final String INSERT_CUSTOMER_SQL = "INSERT INTO customers (Customer_Name, Address, Postal_Code, Phone, " +
-                "Division_ID) VALUES (?, ?, ?, ?, (SELECT Division_ID FROM first_level_divisions WHERE Division = ?))";
-
+    /**
+     * This method inserts or updates a customer with the given form data.
+     *
+     * @param isUpdate whether the form data updates an existing customer, identified by its 6th value.
+     * @param formData a map of the form data to be used in the insert or update statement.
+     * @return the inserted or updated customer as stored, or null if it no longer exists.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static Customer saveCustomer(boolean isUpdate, Map<Integer, ?> formData) throws SQLException {
         final String UPDATE_CUSTOMER_SQL = "UPDATE customers SET Customer_Name = ?, Address = ?, Postal_Code = ?, " +
-                "Phone " +
-                "= ?, Division_ID = (SELECT Division_ID FROM first_level_divisions WHERE Division = ?) WHERE " +
-                "Customer_ID = ?";
+                "Phone = ?, Division_ID = ? WHERE Customer_ID = ?";
 
-        String sql = submit.getText().equals("Update") ? UPDATE_CUSTOMER_SQL : INSERT_CUSTOMER_SQL;
+        String sql = isUpdate ? UPDATE_CUSTOMER_SQL : INSERT_CUSTOMER_SQL;
 
-        updateTable(sql, formData);
+        int generatedID = updateTable(sql, formData);
+        return selectCustomer(isUpdate ? Integer.parseInt(String.valueOf(formData.get(6))) : generatedID);
     }
 }
@@ -0,0 +1,110 @@
+package project.schedule_manager.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Settings for the login activity journal.
+ * <p>
+ * Settings are read from the {@code journal.properties} resource and may be overridden individually with system
+ * properties of the same name (for example {@code -Djournal.fsync=BATCH}).
+ *
+ * @param file        the journal file; rotated files are stored beside it with a numeric suffix
+ * @param fsync       when written records are forced to the storage device
+ * @param fsyncPeriod the minimum time between forces under {@link Fsync#PERIODIC}
+ * @param maxBytes    the size at which the journal file is rotated
+ * @param maxAge      the age at which the journal file is rotated
+ * @param keepFiles   the number of rotated files kept
+ * @param batchSize   the maximum number of records written in one batch
+ * @param queueSize   the maximum number of records waiting to be written
+ */
+public record JournalConfig(Path file,
+                            Fsync fsync,
+                            Duration fsyncPeriod,
+                            long maxBytes,
+                            Duration maxAge,
+                            int keepFiles,
+                            int batchSize,
+                            int queueSize) {
+
+    /**
+     * When written records are forced to the storage device.
+     */
+    public enum Fsync {
+        /**
+         * Leave flushing to the operating system.
+         */
+        NEVER,
+
+        /**
+         * Force the file after every written batch.
+         */
+        BATCH,
+
+        /**
+         * Force the file after a written batch if the last force was at least the fsync period ago.
+         */
+        PERIODIC
+    }
+
+    /**
+     * The classpath resource holding the default settings.
+     */
+    private static final String RESOURCE = "/journal.properties";
+
+    /**
+     * Loads the journal settings from {@code journal.properties}, applying any system property overrides.
+     *
+     * @return the resolved journal settings
+     */
+    public static JournalConfig load() {
+        Properties properties = new Properties();
+
+        try (InputStream in = JournalConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        int keepFiles = Integer.parseInt(setting(properties, "journal.keepFiles", "5"));
+        int batchSize = Integer.parseInt(setting(properties, "journal.batchSize", "256"));
+        int queueSize = Integer.parseInt(setting(properties, "journal.queueSize", "10000"));
+
+        if (keepFiles < 0 || batchSize < 1 || queueSize < batchSize) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid journal settings: keepFiles %d, batchSize %d, queueSize %d", keepFiles, batchSize,
+                    queueSize));
+        }
+
+        return new JournalConfig(
+                Path.of(setting(properties, "journal.file", "login_activity.txt")),
+                Fsync.valueOf(setting(properties, "journal.fsync", "PERIODIC").toUpperCase(Locale.ROOT)),
+                Duration.ofMillis(Long.parseLong(setting(properties, "journal.fsyncPeriodMillis", "1000"))),
+                Long.parseLong(setting(properties, "journal.maxBytes", "1048576")),
+                Duration.ofHours(Long.parseLong(setting(properties, "journal.maxAgeHours", "24"))),
+                keepFiles,
+                batchSize,
+                queueSize
+        );
+    }
+
+    /**
+     * Resolves a single setting, preferring a system property over the loaded properties and falling back to a
+     * default value.
+     *
+     * @param properties   the properties loaded from the resource
+     * @param key          the name of the setting
+     * @param defaultValue the value to use when the setting is absent
+     *
+     * @return the resolved setting
+     */
+    private static String setting(Properties properties, String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue)).trim();
+    }
+}
@@ -1,7 +1,6 @@
 package project.schedule_manager.utils;
 
 import javafx.application.Platform;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -11,6 +10,7 @@ import javafx.stage.Stage;
 import project.schedule_manager.AppEntry;
 import project.schedule_manager.controller.AppointmentController;
 import project.schedule_manager.controller.CustomerController;
+import project.schedule_manager.controller.LoginController;
 import project.schedule_manager.controller.ScheduleController;
 import project.schedule_manager.model.Appointment;
 import project.schedule_manager.model.Customer;
@@ -20,35 +20,69 @@ import java.util.ResourceBundle;
 
 /**
  * This abstract class provides methods for loading different scenes in the application.
+ * <p>
+ * Each FXML file is parsed once and its scene graph and controller are kept for the rest of the application's life.
+ * Navigating to a screen resets or reconfigures its controller and swaps its root into the stage's single Scene, so
+ * no FXML is parsed and no data is reloaded on navigation. The screens reachable after login are preloaded while the
+ * login screen is displayed. All methods must be called on the JavaFX application thread.
  */
 public abstract class LoadScene {
     private static final ResourceBundle RESOURCE_BUNDLE = ResourceBundle.getBundle("rb");
 
     /**
-     * This method loads the login scene of the application.
+     * The application's window, recorded when the login screen is first displayed.
+     */
+    private static Stage primaryStage;
+
+    /**
+     * The login screen, or null if it has not been loaded.
+     */
+    private static View<LoginController> loginView;
+
+    /**
+     * The schedule screen, or null if it has not been loaded.
+     */
+    private static View<ScheduleController> scheduleView;
+
+    /**
+     * The appointment form, or null if it has not been loaded.
+     */
+    private static View<AppointmentController> appointmentView;
+
+    /**
+     * The customer form, or null if it has not been loaded.
+     */
+    private static View<CustomerController> customerView;
+
+    /**
+     * This method loads the login scene of the application. The login form is cleared before it is displayed.
      *
      * @param actionEventOrStage the ActionEvent object or the Stage object to use for displaying the scene
      * @throws IOException if there is an error loading the FXML file for the scene
      */
     public static <T> void login(T actionEventOrStage) throws IOException {
-        FXMLLoader loader = new FXMLLoader(AppEntry.class.getResource("login.fxml"), RESOURCE_BUNDLE);
-        Scene scene = new Scene(loader.load());
+        if (loginView == null) {
+            loginView = load("login.fxml", RESOURCE_BUNDLE);
+        }
+        loginView.controller().reset();
+
         Stage stage = null;
 
         if (actionEventOrStage instanceof ActionEvent actionEvent) {
-            stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
+            stage = stageOf(actionEvent);
         } else if (actionEventOrStage instanceof Stage s) {
             stage = s;
         }
 
+        primaryStage = stage;
         stage.setTitle(RESOURCE_BUNDLE.getString("title"));
-        stage.setScene(scene);
-        stage.centerOnScreen();
+        show(stage, loginView.root());
         stage.show();
     }
 
     /**
-     * This method loads the schedule scene of the application.
+     * This method loads the schedule scene of the application. On the initial login, the screen is reset for the new
+     * session before it is displayed.
      *
      * @param actionEvent the ActionEvent object to use for displaying the scene
      * @param tab the tab to select initially in the scene (either "appointment" or "customer")
@@ -56,12 +90,10 @@ public abstract class LoadScene {
      * @throws IOException if there is an error loading the FXML file for the scene
      */
     public static void schedule(ActionEvent actionEvent, String tab, boolean isInitialLogin) throws IOException {
-        FXMLLoader loader = new FXMLLoader(AppEntry.class.getResource("schedule.fxml"));
-        Parent root = loader.load();
-
-        ScheduleController scheduleController = loader.getController();
+        ScheduleController scheduleController = scheduleView().controller();
 
         if (isInitialLogin) {
+            scheduleController.reset();
             scheduleController.upcomingAppointmentsAlert();
         }
 
@@ -71,31 +103,19 @@ public abstract class LoadScene {
             scheduleController.selectCustomersTab();
         }
 
-        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.centerOnScreen();
+        show(stageOf(actionEvent), scheduleView.root());
     }
 
     /**
      * This method loads the appointment scene of the application.
      *
      * @param actionEvent the ActionEvent object to use for displaying the scene
-     * @param appointments the list of Appointment objects to display in the scene
      * @param appointment the Appointment objects to pre-populate the form with (optional)
      * @throws IOException if there is an error loading the FXML file for the scene
      */
-    public static void appointment(ActionEvent actionEvent, ObservableList<Appointment> appointments,
-                                   Appointment... appointment) throws IOException {
-        FXMLLoader loader = new FXMLLoader(AppEntry.class.getResource("appointment.fxml"));
-        Parent root = loader.load();
-
-        AppointmentController appointmentController = loader.getController();
-        appointmentController.configureAppointmentForm(appointment);
-        appointmentController.passAppointments(appointments.stream().toList());
-
-        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.centerOnScreen();
+    public static void appointment(ActionEvent actionEvent, Appointment... appointment) throws IOException {
+        appointmentView().controller().configureAppointmentForm(appointment);
+        show(stageOf(actionEvent), appointmentView.root());
     }
 
     /**
@@ -106,21 +126,123 @@ public abstract class LoadScene {
      * @throws IOException if there is an error loading the FXML file for the scene
      */
     public static void customer(ActionEvent actionEvent, Customer... customer) throws IOException {
-        FXMLLoader loader = new FXMLLoader(AppEntry.class.getResource("customer.fxml"));
+        customerView().controller().configureCustomerForm(customer);
+        show(stageOf(actionEvent), customerView.root());
+    }
+
+    /**
+     * This method exits the application.
+     */
+    public static void exit() {
+        Platform.exit();
+    }
+
+    /**
+     * Loads the screens reachable after login that have not been loaded yet. A screen that fails to load is reported
+     * and loaded again when it is first displayed.
+     */
+    public static void preload() {
+        try {
+            scheduleView();
+            appointmentView();
+            customerView();
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the schedule screen, loading it first if needed.
+     *
+     * @return the schedule screen
+     * @throws IOException if there is an error loading the FXML file
+     */
+    private static View<ScheduleController> scheduleView() throws IOException {
+        if (scheduleView == null) {
+            scheduleView = load("schedule.fxml", null);
+        }
+        return scheduleView;
+    }
+
+    /**
+     * Returns the appointment form, loading it first if needed.
+     *
+     * @return the appointment form
+     * @throws IOException if there is an error loading the FXML file
+     */
+    private static View<AppointmentController> appointmentView() throws IOException {
+        if (appointmentView == null) {
+            appointmentView = load("appointment.fxml", null);
+        }
+        return appointmentView;
+    }
+
+    /**
+     * Returns the customer form, loading it first if needed.
+     *
+     * @return the customer form
+     * @throws IOException if there is an error loading the FXML file
+     */
+    private static View<CustomerController> customerView() throws IOException {
+        if (customerView == null) {
+            customerView = load("customer.fxml", null);
+        }
+        return customerView;
+    }
+
+    /**
+     * Parses an FXML file.
+     *
+     * @param fxml      the name of the FXML file
+     * @param resources the resource bundle used to localize the file, or null
+     * @param <C>       the type of the file's controller
+     * @return the parsed scene graph and its controller
+     * @throws IOException if there is an error loading the FXML file
+     */
+    private static <C> View<C> load(String fxml, ResourceBundle resources) throws IOException {
+        FXMLLoader loader = new FXMLLoader(AppEntry.class.getResource(fxml), resources);
         Parent root = loader.load();
+        return new View<>(root, loader.getController());
+    }
 
-        CustomerController customerController = loader.getController();
-        customerController.configureCustomerForm(customer);
+    /**
+     * Displays a screen in a stage, swapping it into the stage's scene, and resizes the stage to fit it.
+     *
+     * @param stage the stage to display the screen in
+     * @param root  the root of the screen's scene graph
+     */
+    private static void show(Stage stage, Parent root) {
+        Scene scene = stage.getScene();
+
+        if (scene == null) {
+            stage.setScene(new Scene(root));
+        } else if (scene.getRoot() != root) {
+            scene.setRoot(root);
+        }
 
-        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
+        stage.sizeToScene();
         stage.centerOnScreen();
     }
 
     /**
-     * This method exits the application.
+     * Returns the stage of the window an action took place in. If the screen the action took place in is no longer
+     * displayed, as when a save completes after its form was cancelled, the application's window is returned.
+     *
+     * @param actionEvent the action
+     * @return the stage
      */
-    public static void exit() {
-        Platform.exit();
+    private static Stage stageOf(ActionEvent actionEvent) {
+        Scene scene = ((Node) actionEvent.getSource()).getScene();
+        return scene != null ? (Stage) scene.getWindow() : primaryStage;
+    }
+
+    /**
+     * A loaded screen.
+     *
+     * @param root       the root of the screen's scene graph
+     * @param controller the screen's controller
+     * @param <C>        the type of the controller
+     */
+    private record View<C>(Parent root, C controller) {
     }
 }
@@ -0,0 +1,353 @@
+package project.schedule_manager.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append-only journal of login attempts.
+ * <p>
+ * Recording an attempt only queues it, so the JavaFX application thread never waits for the disk. A background writer
+ * takes every queued record, up to the batch size, and appends them to the journal file in a single write through one
+ * {@link FileChannel} that stays open between batches. Records are forced to the storage device according to the
+ * configured {@link JournalConfig.Fsync} policy; under the periodic policy the writer wakes up to force written records
+ * once the period has passed, even if no further attempt is recorded. The file is rotated once it outgrows the
+ * configured size or age, its age being taken from the timestamp of its first record, and only a configured number of
+ * rotated files is kept.
+ * <p>
+ * Each attempt is one tab-separated line: the UTC timestamp in ISO-8601 format, {@code SUCCESS} or {@code FAILURE},
+ * and the username. For example: {@code 2023-04-01T14:05:09Z	SUCCESS	test}.
+ */
+public abstract class LoginJournal {
+    /**
+     * The journal settings.
+     */
+    private static final JournalConfig CONFIG = JournalConfig.load();
+
+    /**
+     * Queued after the last record to stop the writer.
+     */
+    private static final Entry CLOSE = new Entry(Instant.EPOCH, "", false);
+
+    /**
+     * How long {@link #close()} waits for the queued records to be written.
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The records waiting to be written.
+     */
+    private static final BlockingQueue<Entry> QUEUE = new LinkedBlockingQueue<>(CONFIG.queueSize());
+
+    /**
+     * Writes the queued records. The fields below are confined to this thread.
+     */
+    private static final Thread WRITER = new Thread(LoginJournal::drain, "login-journal");
+
+    /**
+     * The open journal file, or null if it is not open.
+     */
+    private static FileChannel channel;
+
+    /**
+     * When the open journal file was started, used for age-based rotation.
+     */
+    private static Instant fileStartedAt;
+
+    /**
+     * When the journal file was last forced, in {@link System#nanoTime()} units.
+     */
+    private static long lastForced = System.nanoTime();
+
+    /**
+     * Whether records have been written to the open journal file since it was last forced.
+     */
+    private static boolean unforced;
+
+    static {
+        WRITER.setDaemon(true);
+        WRITER.start();
+    }
+
+    /**
+     * Queues a login attempt to be written. A record that does not fit in the queue is dropped rather than making
+     * the caller wait.
+     *
+     * @param username the username entered
+     * @param success  whether the login succeeded
+     */
+    public static void record(String username, boolean success) {
+        if (!QUEUE.offer(new Entry(Instant.now(), username, success))) {
+            System.out.println("Error: Login journal queue is full; the login attempt was not recorded.");
+        }
+    }
+
+    /**
+     * Writes the queued records, closes the journal file and stops the writer, waiting a bounded time for it to
+     * finish.
+     */
+    public static void close() {
+        try {
+            if (QUEUE.offer(CLOSE, CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                WRITER.join(CLOSE_TIMEOUT.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes batches of records from the queue and writes them until the journal is closed. While written records
+     * wait to be forced under the periodic policy, the writer waits for the queue only until the force is due, then
+     * forces them.
+     */
+    private static void drain() {
+        List<Entry> batch = new ArrayList<>(CONFIG.batchSize());
+        boolean closing = false;
+
+        while (!closing) {
+            try {
+                Entry next = unforced && CONFIG.fsync() == JournalConfig.Fsync.PERIODIC
+                        ? QUEUE.poll(untilForceDue(), TimeUnit.NANOSECONDS)
+                        : QUEUE.take();
+                if (next != null) {
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                closing = true;
+            }
+            QUEUE.drainTo(batch, CONFIG.batchSize() - batch.size());
+            closing |= batch.removeIf(entry -> entry == CLOSE);
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            } else {
+                try {
+                    force();
+                } catch (IOException e) {
+                    System.out.println("Error: " + e.getMessage());
+                    closeChannel();
+                }
+            }
+        }
+
+        if (channel != null) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+        }
+        closeChannel();
+    }
+
+    /**
+     * Appends a batch of records to the journal file in one write, rotating the file first if the batch would
+     * outgrow it. If the file cannot be written, the batch is dropped and the file is reopened for the next batch.
+     *
+     * @param batch the records to write
+     */
+    private static void write(List<Entry> batch) {
+        StringBuilder lines = new StringBuilder(batch.size() * 48);
+        batch.forEach(entry -> entry.appendTo(lines));
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+
+        try {
+            if (channel == null) {
+                open();
+            }
+            if (isRotationDue(bytes.remaining())) {
+                rotate();
+                open();
+            }
+
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            unforced = true;
+            force();
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+            closeChannel();
+        }
+    }
+
+    /**
+     * Forces the records written to the journal file to the storage device if the fsync policy requires it.
+     *
+     * @throws IOException if the file cannot be forced
+     */
+    private static void force() throws IOException {
+        if (!unforced) {
+            return;
+        }
+
+        boolean due = switch (CONFIG.fsync()) {
+            case NEVER -> false;
+            case BATCH -> true;
+            case PERIODIC -> System.nanoTime() - lastForced >= CONFIG.fsyncPeriod().toNanos();
+        };
+
+        if (due) {
+            channel.force(false);
+            lastForced = System.nanoTime();
+            unforced = false;
+        }
+    }
+
+    /**
+     * Returns how long until the written records are due to be forced under the periodic policy.
+     *
+     * @return the delay in nanoseconds, zero if the force is already due
+     */
+    private static long untilForceDue() {
+        return Math.max(0, CONFIG.fsyncPeriod().toNanos() - (System.nanoTime() - lastForced));
+    }
+
+    /**
+     * Returns whether the journal file must be rotated before more bytes are appended. An empty file is never
+     * rotated.
+     *
+     * @param incoming the number of bytes about to be appended
+     *
+     * @return true if the file is too large or too old, false otherwise
+     *
+     * @throws IOException if the file size cannot be read
+     */
+    private static boolean isRotationDue(long incoming) throws IOException {
+        long size = channel.size();
+
+        return size > 0 && (size + incoming > CONFIG.maxBytes()
+                || Duration.between(fileStartedAt, Instant.now()).compareTo(CONFIG.maxAge()) > 0);
+    }
+
+    /**
+     * Closes the journal file and renames it to the first rotated name, shifting the older rotated files up by one
+     * and deleting the oldest. Records still waiting to be forced are forced first, unless the policy never forces.
+     *
+     * @throws IOException if a file cannot be forced, renamed or deleted
+     */
+    private static void rotate() throws IOException {
+        if (unforced && CONFIG.fsync() != JournalConfig.Fsync.NEVER) {
+            channel.force(false);
+            lastForced = System.nanoTime();
+        }
+        closeChannel();
+
+        Path file = CONFIG.file();
+        if (CONFIG.keepFiles() == 0) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        Files.deleteIfExists(rotated(CONFIG.keepFiles()));
+        for (int i = CONFIG.keepFiles() - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Returns the path of a rotated journal file.
+     *
+     * @param generation the rotation number, 1 being the most recent
+     *
+     * @return the rotated file's path
+     */
+    private static Path rotated(int generation) {
+        return CONFIG.file().resolveSibling(CONFIG.file().getFileName() + "." + generation);
+    }
+
+    /**
+     * Opens the journal file for appending, creating it if needed, and records when it was started.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    private static void open() throws IOException {
+        channel = FileChannel.open(CONFIG.file(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileStartedAt = channel.size() == 0 ? Instant.now() : firstRecordedAt();
+    }
+
+    /**
+     * Reads when the journal file was started from the timestamp of its first record. File system creation times
+     * cannot be used, since many file systems report the last modification time instead.
+     *
+     * @return the timestamp of the first record, or the current time if it cannot be read
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private static Instant firstRecordedAt() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(CONFIG.file(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            int tab = line == null ? -1 : line.indexOf('\t');
+            return tab < 0 ? Instant.now() : Instant.parse(line.substring(0, tab));
+        } catch (DateTimeParseException e) {
+            System.out.println("Error: " + e.getMessage());
+            return Instant.now();
+        }
+    }
+
+    /**
+     * Closes the journal file if it is open.
+     */
+    private static void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+        channel = null;
+        unforced = false;
+    }
+
+    /**
+     * A login attempt waiting to be written.
+     *
+     * @param at       when the attempt was made
+     * @param username the username entered
+     * @param success  whether the login succeeded
+     */
+    private record Entry(Instant at, String username, boolean success) {
+        /**
+         * Appends the attempt as one journal line. Tabs and line breaks in the username are replaced with spaces so
+         * every record stays on one line.
+         *
+         * @param lines the buffer to append to
+         */
+        void appendTo(StringBuilder lines) {
+            lines.append(at.truncatedTo(ChronoUnit.SECONDS))
+                    .append('\t')
+                    .append(success ? "SUCCESS" : "FAILURE")
+                    .append('\t');
+
+            for (int i = 0; i < username.length(); i++) {
+                char c = username.charAt(i);
+                lines.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+            }
+            lines.append('\n');
+        }
+    }
+}
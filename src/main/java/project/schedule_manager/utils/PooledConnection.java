@@ -0,0 +1,211 @@
+package project.schedule_manager.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A database connection on loan from a {@link ConnectionPool}.
+ * <p>
+ * Closing a pooled connection returns it to the pool instead of closing the underlying socket, so callers should
+ * borrow it in a try-with-resources block. Each connection also keeps a least-recently-used cache of prepared
+ * statements keyed by their SQL text, so repeated queries are parsed once per connection rather than once per call.
+ */
+public class PooledConnection implements AutoCloseable {
+    /**
+     * Distinguishes cached statements that return generated keys from plain statements with the same SQL.
+     */
+    private static final String GENERATED_KEYS_PREFIX = "RETURN_GENERATED_KEYS:";
+
+    /**
+     * The pool that owns this connection.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * The physical connection to the database.
+     */
+    private final Connection connection;
+
+    /**
+     * The prepared statements cached on this connection, least recently used first.
+     */
+    private final Map<String, PreparedStatement> statements;
+
+    /**
+     * The time, in nanoseconds, at which the connection was last returned to the pool.
+     */
+    private long lastReleased = System.nanoTime();
+
+    /**
+     * Whether the connection is currently on loan.
+     */
+    private boolean borrowed;
+
+    /**
+     * Creates a pooled connection around a physical connection.
+     *
+     * @param pool               the pool that owns the connection
+     * @param connection         the physical connection to the database
+     * @param statementCacheSize the maximum number of prepared statements to keep open on the connection
+     */
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > statementCacheSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the physical connection for issuing statements.
+     *
+     * @return the underlying connection
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Returns a cached prepared statement for the given SQL, preparing it on first use. Any parameters left over from
+     * a previous use are cleared.
+     * <p>
+     * The statement belongs to the connection and is closed when it is evicted from the cache or the connection is
+     * discarded, so callers must not close it themselves; they should close any ResultSet it produces.
+     *
+     * @param sql the SQL text of the statement
+     *
+     * @return the prepared statement
+     *
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement preparedStatement = statements.get(sql);
+
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql);
+            statements.put(sql, preparedStatement);
+        } else {
+            preparedStatement.clearParameters();
+        }
+
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a cached prepared statement for the given SQL that reports the keys generated by an insert, preparing it
+     * on first use. The same ownership rules as {@link #prepare(String)} apply.
+     *
+     * @param sql the SQL text of the insert or update statement
+     *
+     * @return the prepared statement
+     *
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareReturningKeys(String sql) throws SQLException {
+        String key = GENERATED_KEYS_PREFIX + sql;
+        PreparedStatement preparedStatement = statements.get(key);
+
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            statements.put(key, preparedStatement);
+        } else {
+            preparedStatement.clearParameters();
+        }
+
+        return preparedStatement;
+    }
+
+    /**
+     * Returns the connection to its pool. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (borrowed) {
+            borrowed = false;
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Marks the connection as on loan.
+     */
+    void markBorrowed() {
+        borrowed = true;
+    }
+
+    /**
+     * Restores the connection to its default state before it is handed out again, rolling back any transaction the
+     * borrower left open.
+     *
+     * @throws SQLException if the connection can no longer be used
+     */
+    void reset() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+        lastReleased = System.nanoTime();
+    }
+
+    /**
+     * Checks whether the connection is still usable.
+     *
+     * @param timeout the maximum time to wait for the database to respond
+     *
+     * @return true if the connection responded within the timeout, false otherwise
+     */
+    boolean isValid(Duration timeout) {
+        try {
+            return connection.isValid((int) Math.max(1, timeout.toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns how long the connection has been sitting idle in the pool.
+     *
+     * @return the idle duration
+     */
+    Duration idleTime() {
+        return Duration.ofNanos(System.nanoTime() - lastReleased);
+    }
+
+    /**
+     * Closes every cached statement and then the physical connection, ignoring any error raised by an already broken
+     * socket.
+     */
+    void closePhysical() {
+        statements.values().forEach(PooledConnection::closeQuietly);
+        statements.clear();
+
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Closes a prepared statement, ignoring any error.
+     *
+     * @param preparedStatement the statement to close
+     */
+    private static void closeQuietly(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
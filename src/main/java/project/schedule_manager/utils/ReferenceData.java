@@ -0,0 +1,251 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Contact;
+import project.schedule_manager.model.Country;
+import project.schedule_manager.model.Division;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * A cache of the reference data behind the appointment and customer forms: contacts, customer IDs, user IDs,
+ * countries and first-level divisions.
+ * <p>
+ * The tables are read once, in parallel, and kept in memory as a {@link Snapshot} so that opening a form or changing
+ * the selected country does not query the database. The snapshot is reloaded after {@link #TIME_TO_LIVE} or after
+ * {@link #invalidate()} is called by a write that changes one of the cached tables.
+ */
+public abstract class ReferenceData {
+    /**
+     * How long a loaded snapshot is served before it is read again.
+     */
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    /**
+     * The current or in-progress load, or null if the cache is empty.
+     */
+    private static CompletableFuture<Snapshot> current;
+
+    /**
+     * Returns the cached reference data, loading it first if the cache is empty, expired or the last load failed.
+     * Concurrent callers share a single load.
+     *
+     * @return a future completed with the reference data
+     */
+    public static synchronized CompletableFuture<Snapshot> load() {
+        if (current == null
+                || current.isCompletedExceptionally()
+                || (current.isDone() && current.join().isExpired())) {
+            current = fetch();
+        }
+        return current;
+    }
+
+    /**
+     * Discards the cached reference data so the next {@link #load()} reads it again.
+     */
+    public static synchronized void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Reads every reference table on its own background worker and combines the results into a snapshot.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression combines the five queries once they have all completed,
+     * keeping the parallel fetch in a single expression.
+     *
+     * @return a future completed with the loaded snapshot
+     */
+    private static CompletableFuture<Snapshot> fetch() {
+        var contacts = AsyncJDBC.selectContactRecords();
+        var customerIDs = AsyncJDBC.selectCustomerID();
+        var userIDs = AsyncJDBC.selectUserID();
+        var countries = AsyncJDBC.selectCountryRecords();
+        var divisions = AsyncJDBC.selectDivisionRecords();
+
+        return CompletableFuture.allOf(contacts, customerIDs, userIDs, countries, divisions)
+                .thenApply(loaded -> new Snapshot(contacts.join(),
+                        customerIDs.join(),
+                        userIDs.join(),
+                        countries.join(),
+                        divisions.join(),
+                        Instant.now()));
+    }
+
+    /**
+     * An immutable copy of the reference tables with lookups from names to IDs.
+     */
+    public static final class Snapshot {
+        /**
+         * The contacts, in display order.
+         */
+        private final List<Contact> contacts;
+
+        /**
+         * The contact names, in display order.
+         */
+        private final List<String> contactNames;
+
+        /**
+         * The contact IDs, keyed by contact name.
+         */
+        private final Map<String, Integer> contactIDs;
+
+        /**
+         * The customer IDs, in display order.
+         */
+        private final List<Integer> customerIDs;
+
+        /**
+         * The user IDs, in display order.
+         */
+        private final List<Integer> userIDs;
+
+        /**
+         * The country names, in display order.
+         */
+        private final List<String> countryNames;
+
+        /**
+         * The names of each country's divisions, in display order, keyed by country name.
+         */
+        private final Map<String, List<String>> divisionNamesByCountry;
+
+        /**
+         * The division IDs, keyed by division name.
+         */
+        private final Map<String, Integer> divisionIDs;
+
+        /**
+         * When the snapshot was read from the database.
+         */
+        private final Instant loadedAt;
+
+        /**
+         * Builds the lookups of a snapshot from the rows read from the database.
+         *
+         * @param contacts    the contacts, in display order
+         * @param customerIDs the customer IDs, in display order
+         * @param userIDs     the user IDs, in display order
+         * @param countries   the countries, in display order
+         * @param divisions   the divisions of every country, in display order
+         * @param loadedAt    when the rows were read
+         */
+        private Snapshot(List<Contact> contacts,
+                         List<Integer> customerIDs,
+                         List<Integer> userIDs,
+                         List<Country> countries,
+                         List<Division> divisions,
+                         Instant loadedAt) {
+            this.contacts = List.copyOf(contacts);
+            this.contactNames = contacts.stream().map(Contact::name).toList();
+            this.contactIDs = contacts.stream().collect(Collectors.toUnmodifiableMap(Contact::name,
+                    Contact::contactID, (first, second) -> first));
+            this.customerIDs = List.copyOf(customerIDs);
+            this.userIDs = List.copyOf(userIDs);
+            this.countryNames = countries.stream().map(Country::name).toList();
+
+            Map<Integer, String> countryNamesByID = countries.stream()
+                    .collect(Collectors.toMap(Country::countryID, Country::name));
+            this.divisionNamesByCountry = divisions.stream()
+                    .filter(division -> countryNamesByID.containsKey(division.countryID()))
+                    .collect(Collectors.groupingBy(division -> countryNamesByID.get(division.countryID()),
+                            Collectors.collectingAndThen(Collectors.mapping(Division::name, Collectors.toList()),
+                                    List::copyOf)));
+            this.divisionIDs = divisions.stream().collect(Collectors.toUnmodifiableMap(Division::name,
+                    Division::divisionID, (first, second) -> first));
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * Returns the contacts.
+         *
+         * @return the contacts, in display order
+         */
+        public List<Contact> contacts() {
+            return contacts;
+        }
+
+        /**
+         * Returns the contact names.
+         *
+         * @return the contact names, in display order
+         */
+        public List<String> contactNames() {
+            return contactNames;
+        }
+
+        /**
+         * Returns the customer IDs.
+         *
+         * @return the customer IDs, in display order
+         */
+        public List<Integer> customerIDs() {
+            return customerIDs;
+        }
+
+        /**
+         * Returns the user IDs.
+         *
+         * @return the user IDs, in display order
+         */
+        public List<Integer> userIDs() {
+            return userIDs;
+        }
+
+        /**
+         * Returns the country names.
+         *
+         * @return the country names, in display order
+         */
+        public List<String> countryNames() {
+            return countryNames;
+        }
+
+        /**
+         * Returns the names of a country's divisions.
+         *
+         * @param country the name of the country
+         *
+         * @return the division names, in display order, or an empty list if the country is unknown
+         */
+        public List<String> divisionNames(String country) {
+            return divisionNamesByCountry.getOrDefault(country, List.of());
+        }
+
+        /**
+         * Looks up the ID of a contact.
+         *
+         * @param contactName the name of the contact
+         *
+         * @return the contact's ID, or null if no contact has that name
+         */
+        public Integer contactID(Object contactName) {
+            return contactIDs.get(contactName);
+        }
+
+        /**
+         * Looks up the ID of a division.
+         *
+         * @param divisionName the name of the division
+         *
+         * @return the division's ID, or null if no division has that name
+         */
+        public Integer divisionID(Object divisionName) {
+            return divisionIDs.get(divisionName);
+        }
+
+        /**
+         * Returns whether the snapshot has outlived the cache's time to live.
+         *
+         * @return true if the snapshot should be read again, false otherwise
+         */
+        private boolean isExpired() {
+            return Duration.between(loadedAt, Instant.now()).compareTo(TIME_TO_LIVE) > 0;
+        }
+    }
+}
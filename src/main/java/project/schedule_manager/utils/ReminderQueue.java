@@ -0,0 +1,126 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The upcoming reminders of {@link ReminderScheduler}, ordered by reminder time.
+ * <p>
+ * Each appointment has at most one current reminder. Queueing an appointment again or cancelling it only replaces its
+ * entry in the lookup map, in O(1); the superseded queue entry is discarded when it reaches the head. Not
+ * thread-safe.
+ */
+class ReminderQueue {
+    /**
+     * How long before an appointment starts its reminder is raised.
+     */
+    private final Duration leadTime;
+
+    /**
+     * The queued reminders, earliest first, including superseded ones not yet discarded.
+     */
+    private final PriorityQueue<Reminder> queue = new PriorityQueue<>(Comparator.comparing(Reminder::remindAt));
+
+    /**
+     * The current reminder of each queued appointment, keyed by appointment ID.
+     */
+    private final Map<Integer, Reminder> active = new HashMap<>();
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param leadTime how long before an appointment starts its reminder is raised
+     */
+    ReminderQueue(Duration leadTime) {
+        this.leadTime = leadTime;
+    }
+
+    /**
+     * Queues the reminder of an appointment if it starts after now and before the horizon, replacing any earlier
+     * reminder for the same appointment. Otherwise any earlier reminder is cancelled.
+     *
+     * @param appointment the appointment to remind the user of
+     * @param now         the current date/time
+     * @param horizon     the date/time up to which appointments are queued
+     */
+    void offer(Appointment appointment, LocalDateTime now, LocalDateTime horizon) {
+        LocalDateTime start = appointment.startDateTime();
+
+        if (!start.isAfter(now) || !start.isBefore(horizon)) {
+            active.remove(appointment.appointmentID());
+            return;
+        }
+
+        Reminder reminder = new Reminder(start.minus(leadTime), appointment);
+        active.put(appointment.appointmentID(), reminder);
+        queue.add(reminder);
+    }
+
+    /**
+     * Cancels the reminder of an appointment.
+     *
+     * @param appointmentID the ID of the appointment
+     *
+     * @return whether a reminder was queued for the appointment
+     */
+    boolean cancel(int appointmentID) {
+        return active.remove(appointmentID) != null;
+    }
+
+    /**
+     * Removes every reminder that is due and returns their appointments.
+     *
+     * @param now the current date/time
+     *
+     * @return the appointments whose reminder time has been reached, ordered by start
+     */
+    List<Appointment> takeDue(LocalDateTime now) {
+        List<Appointment> due = new ArrayList<>();
+
+        Reminder head;
+        while ((head = head()) != null && !head.remindAt().isAfter(now)) {
+            queue.poll();
+            active.remove(head.appointment().appointmentID());
+            due.add(head.appointment());
+        }
+        return due;
+    }
+
+    /**
+     * Discards superseded reminders from the head of the queue.
+     *
+     * @return the earliest current reminder, or null if none is queued
+     */
+    Reminder head() {
+        Reminder head;
+        while ((head = queue.peek()) != null && active.get(head.appointment().appointmentID()) != head) {
+            queue.poll();
+        }
+        return head;
+    }
+
+    /**
+     * Discards every reminder.
+     */
+    void clear() {
+        queue.clear();
+        active.clear();
+    }
+
+    /**
+     * A queued reminder.
+     *
+     * @param remindAt    when the reminder is raised
+     * @param appointment the appointment to remind the user of
+     */
+    record Reminder(LocalDateTime remindAt, Appointment appointment) {
+    }
+}
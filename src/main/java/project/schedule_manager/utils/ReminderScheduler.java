@@ -0,0 +1,267 @@
+package project.schedule_manager.utils;
+
+import javafx.application.Platform;
+import project.schedule_manager.model.Appointment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Raises appointment reminders {@link #LEAD_TIME} before each appointment starts, for as long as a user is logged in.
+ * <p>
+ * Upcoming appointments are kept in a priority queue ordered by reminder time, and a single timer is armed for the
+ * head of the queue, so nothing is scanned while waiting. Saves and deletes reschedule or cancel one reminder in
+ * O(log n); superseded queue entries are skipped when they reach the head. Only appointments starting before a
+ * rolling horizon, {@link #LOOKAHEAD} ahead, are queued, and the next window is read from the database shortly before
+ * the horizon is reached.
+ * <p>
+ * All state is confined to the scheduler's own thread; reminders are delivered on the JavaFX application thread.
+ */
+public abstract class ReminderScheduler {
+    /**
+     * How long before an appointment starts its reminder is raised.
+     */
+    public static final Duration LEAD_TIME = Duration.ofMinutes(15);
+
+    /**
+     * How far ahead of the current time appointments are queued.
+     */
+    private static final Duration LOOKAHEAD = Duration.ofDays(1);
+
+    /**
+     * How long before the horizon the next window is read, and how long to wait before retrying a failed read.
+     */
+    private static final Duration REFILL_MARGIN = Duration.ofHours(1);
+
+    /**
+     * Runs every scheduler task, one at a time.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "appointment-reminders");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The upcoming reminders, earliest first.
+     */
+    private static final ReminderQueue QUEUE = new ReminderQueue(LEAD_TIME);
+
+    /**
+     * Receives the reminders of the current session, or null when no user is logged in.
+     */
+    private static Consumer<List<Appointment>> listener;
+
+    /**
+     * Appointments starting at or after this time are not queued yet.
+     */
+    private static LocalDateTime horizon;
+
+    /**
+     * The timer armed for the reminder at the head of the queue, or null if the queue is empty.
+     */
+    private static ScheduledFuture<?> wakeUp;
+
+    /**
+     * The reminder the wake-up timer is armed for.
+     */
+    private static ReminderQueue.Reminder armedFor;
+
+    /**
+     * The task that reads the next window of appointments.
+     */
+    private static ScheduledFuture<?> refill;
+
+    /**
+     * Starts raising reminders for a new session, replacing any previous session.
+     *
+     * @param onReminder receives, on the application thread, the appointments whose reminder time has been reached
+     *
+     * @return a future completed with the appointments that already start within the lead time, ordered by start;
+     * empty if the database cannot be read, in which case the read is retried later
+     */
+    public static CompletableFuture<List<Appointment>> start(Consumer<List<Appointment>> onReminder) {
+        return CompletableFuture.supplyAsync(() -> {
+            reset();
+            listener = onReminder;
+
+            LocalDateTime now = LocalDateTime.now();
+            horizon = now;
+            fillOrRetry(now.plus(LOOKAHEAD));
+
+            return takeDue(now);
+        }, EXECUTOR);
+    }
+
+    /**
+     * Stops raising reminders and discards every queued reminder.
+     */
+    public static void stop() {
+        EXECUTOR.execute(ReminderScheduler::reset);
+    }
+
+    /**
+     * Queues, or moves, the reminder of an appointment that has been saved.
+     *
+     * @param appointment the appointment as stored
+     */
+    public static void schedule(Appointment appointment) {
+        EXECUTOR.execute(() -> {
+            if (listener != null) {
+                QUEUE.offer(appointment, LocalDateTime.now(), horizon);
+                arm();
+            }
+        });
+    }
+
+    /**
+     * Cancels the reminder of an appointment that has been deleted.
+     *
+     * @param appointmentID the ID of the deleted appointment
+     */
+    public static void cancel(int appointmentID) {
+        EXECUTOR.execute(() -> {
+            if (QUEUE.cancel(appointmentID)) {
+                arm();
+            }
+        });
+    }
+
+    /**
+     * Queues every appointment starting between the current horizon and a new one, then schedules the next read.
+     *
+     * @param newHorizon the new horizon
+     */
+    private static void fill(LocalDateTime newHorizon) {
+        LocalDateTime from = horizon;
+        LocalDateTime now = LocalDateTime.now();
+
+        horizon = newHorizon;
+        JDBC.selectAppointmentsStartingBetween(from, newHorizon)
+                .forEach(appointment -> QUEUE.offer(appointment, now, newHorizon));
+
+        refill = EXECUTOR.schedule(ReminderScheduler::refill, delayUntil(newHorizon.minus(REFILL_MARGIN)),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Extends the horizon by another window, retrying later if the database cannot be read.
+     */
+    private static void refill() {
+        if (listener == null) {
+            return;
+        }
+
+        if (fillOrRetry(horizon.plus(LOOKAHEAD))) {
+            arm();
+        }
+    }
+
+    /**
+     * Queues every appointment starting between the current horizon and a new one. If the database cannot be read,
+     * the horizon is left as it was and the read is retried after the refill margin.
+     *
+     * @param newHorizon the new horizon
+     *
+     * @return whether the appointments were read
+     */
+    private static boolean fillOrRetry(LocalDateTime newHorizon) {
+        LocalDateTime previousHorizon = horizon;
+        try {
+            fill(newHorizon);
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("Error: " + e.getMessage());
+            horizon = previousHorizon;
+            refill = EXECUTOR.schedule(ReminderScheduler::refill, REFILL_MARGIN.toMillis(), TimeUnit.MILLISECONDS);
+            return false;
+        }
+    }
+
+    /**
+     * Removes every reminder that is due and returns their appointments.
+     *
+     * @param now the current date/time
+     *
+     * @return the appointments whose reminder time has been reached, ordered by start
+     */
+    private static List<Appointment> takeDue(LocalDateTime now) {
+        List<Appointment> due = QUEUE.takeDue(now);
+        arm();
+        return due;
+    }
+
+    /**
+     * Raises the reminders that are due and arms the timer for the next one.
+     */
+    private static void fire() {
+        armedFor = null;
+        if (listener == null) {
+            return;
+        }
+
+        Consumer<List<Appointment>> sessionListener = listener;
+        List<Appointment> due = takeDue(LocalDateTime.now());
+
+        if (!due.isEmpty()) {
+            Platform.runLater(() -> sessionListener.accept(due));
+        }
+    }
+
+    /**
+     * Arms the wake-up timer for the reminder at the head of the queue, unless it is already armed for it.
+     */
+    private static void arm() {
+        ReminderQueue.Reminder head = QUEUE.head();
+        if (head == armedFor) {
+            return;
+        }
+
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+
+        armedFor = head;
+        if (head != null) {
+            wakeUp = EXECUTOR.schedule(ReminderScheduler::fire, delayUntil(head.remindAt()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Ends the current session: cancels the timers and empties the queue.
+     */
+    private static void reset() {
+        listener = null;
+        horizon = null;
+        armedFor = null;
+        QUEUE.clear();
+
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        if (refill != null) {
+            refill.cancel(false);
+            refill = null;
+        }
+    }
+
+    /**
+     * Returns the number of milliseconds from now until a date/time, or zero if it has passed.
+     *
+     * @param dateTime the date/time to wait for
+     *
+     * @return the delay in milliseconds
+     */
+    private static long delayUntil(LocalDateTime dateTime) {
+        return Math.max(0, Duration.between(LocalDateTime.now(), dateTime).toMillis());
+    }
+}
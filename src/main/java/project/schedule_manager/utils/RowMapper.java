@@ -0,0 +1,45 @@
+package project.schedule_manager.utils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the current row of a result set into an object.
+ * <p>
+ * A row mapper is compiled for one result set by a {@link Factory}, which looks up the index of every column it needs
+ * once. Mapping each row then reads the columns by index instead of resolving their labels again.
+ *
+ * @param <T> the type of object each row is converted into
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * Converts the row the result set is positioned on.
+     *
+     * @param resultSet the result set positioned on a row
+     *
+     * @return the object read from the row
+     *
+     * @throws SQLException if a column cannot be read
+     */
+    T map(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Compiles a row mapper for a result set.
+     *
+     * @param <T> the type of object each row is converted into
+     */
+    @FunctionalInterface
+    interface Factory<T> {
+        /**
+         * Resolves the columns the mapper reads against the result set's metadata.
+         *
+         * @param resultSet the result set the mapper will read
+         *
+         * @return a mapper bound to the result set's column indices
+         *
+         * @throws SQLException if a required column is missing
+         */
+        RowMapper<T> compile(ResultSet resultSet) throws SQLException;
+    }
+}
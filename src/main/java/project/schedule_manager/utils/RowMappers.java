@@ -0,0 +1,356 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Contact;
+import project.schedule_manager.model.Country;
+import project.schedule_manager.model.Customer;
+import project.schedule_manager.model.Division;
+import project.schedule_manager.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The row mappers for every type read from the database.
+ * <p>
+ * Each factory resolves its column indices with {@link ResultSet#findColumn(String)} once per result set, and each
+ * mapper reads every column exactly once, by index and with the column's own type.
+ */
+public abstract class RowMappers {
+    /**
+     * Reads every remaining row of a result set.
+     *
+     * @param resultSet the result set to read
+     * @param factory   compiles the mapper for the result set
+     * @param <T>       the type of object each row is converted into
+     *
+     * @return the objects read, in row order
+     *
+     * @throws SQLException if a row cannot be read
+     */
+    public static <T> List<T> mapAll(ResultSet resultSet, RowMapper.Factory<T> factory) throws SQLException {
+        RowMapper<T> mapper = factory.compile(resultSet);
+        List<T> rows = new ArrayList<>();
+
+        while (resultSet.next()) {
+            rows.add(mapper.map(resultSet));
+        }
+        return rows;
+    }
+
+    /**
+     * Reads every remaining row of a result set, handing each object to an action as soon as it is read instead of
+     * collecting them.
+     *
+     * @param resultSet the result set to read
+     * @param factory   compiles the mapper for the result set
+     * @param action    receives each object, in row order
+     * @param <T>       the type of object each row is converted into
+     *
+     * @return the number of rows read
+     *
+     * @throws SQLException if a row cannot be read
+     */
+    public static <T> long forEach(ResultSet resultSet, RowMapper.Factory<T> factory, Consumer<? super T> action)
+            throws SQLException {
+        RowMapper<T> mapper = factory.compile(resultSet);
+        long rows = 0;
+
+        while (resultSet.next()) {
+            action.accept(mapper.map(resultSet));
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the next row of a result set, if there is one.
+     *
+     * @param resultSet the result set to read
+     * @param factory   compiles the mapper for the result set
+     * @param <T>       the type of object the row is converted into
+     *
+     * @return the object read, or null if the result set has no more rows
+     *
+     * @throws SQLException if the row cannot be read
+     */
+    public static <T> T mapOne(ResultSet resultSet, RowMapper.Factory<T> factory) throws SQLException {
+        return resultSet.next() ? factory.compile(resultSet).map(resultSet) : null;
+    }
+
+    /**
+     * Maps rows selected with {@code JDBC.APPOINTMENT_SELECT} to appointments. The start and end are decoded once
+     * each, and the date and times are taken from the decoded values.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the appointment mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<Appointment> appointments(ResultSet resultSet) throws SQLException {
+        int contact = resultSet.findColumn("Contact_Name");
+        return appointments(resultSet, row -> row.getString(contact));
+    }
+
+    /**
+     * Returns a factory of mappers for rows of one contact's appointments selected without the contact's name, which
+     * is supplied instead.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: The factory and the name reader are lambda expressions capturing the contact's
+     * name, so no factory class has to hold it as a field.
+     *
+     * @param contact the name of the contact every row belongs to
+     *
+     * @return the appointment mapper factory
+     */
+    public static RowMapper.Factory<Appointment> appointmentsOf(String contact) {
+        return resultSet -> appointments(resultSet, row -> contact);
+    }
+
+    /**
+     * Maps appointment rows, reading the contact's name with a given reader.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: The mapper is returned as a lambda expression that captures the resolved column
+     * indices, so no mapper class has to hold them as fields.
+     *
+     * @param resultSet the result set the mapper will read
+     * @param contact   reads the contact's name of a row
+     *
+     * @return the appointment mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    private static RowMapper<Appointment> appointments(ResultSet resultSet, RowMapper<String> contact)
+            throws SQLException {
+        int appointmentID = resultSet.findColumn("Appointment_ID");
+        int title = resultSet.findColumn("Title");
+        int description = resultSet.findColumn("Description");
+        int location = resultSet.findColumn("Location");
+        int type = resultSet.findColumn("Type");
+        int start = resultSet.findColumn("Start");
+        int end = resultSet.findColumn("End");
+        int customerID = resultSet.findColumn("Customer_ID");
+        int userID = resultSet.findColumn("User_ID");
+
+        return row -> {
+            LocalDateTime startDateTime = row.getTimestamp(start).toLocalDateTime();
+            LocalDateTime endDateTime = row.getTimestamp(end).toLocalDateTime();
+
+            return new Appointment(
+                    row.getInt(appointmentID),
+                    row.getString(title),
+                    row.getString(description),
+                    row.getString(location),
+                    contact.map(row),
+                    row.getString(type),
+                    startDateTime.toLocalDate(),
+                    startDateTime.toLocalTime(),
+                    endDateTime.toLocalTime(),
+                    row.getInt(customerID),
+                    row.getInt(userID)
+            );
+        };
+    }
+
+    /**
+     * Maps rows selected with {@code JDBC.CUSTOMER_SELECT} to customers.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the customer mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<Customer> customers(ResultSet resultSet) throws SQLException {
+        int customerID = resultSet.findColumn("Customer_ID");
+        int name = resultSet.findColumn("Customer_Name");
+        int address = resultSet.findColumn("Address");
+        int country = resultSet.findColumn("Country");
+        int division = resultSet.findColumn("Division");
+        int postalCode = resultSet.findColumn("Postal_Code");
+        int phone = resultSet.findColumn("Phone");
+
+        return row -> new Customer(
+                row.getInt(customerID),
+                row.getString(name),
+                row.getString(address),
+                row.getString(country),
+                row.getString(division),
+                row.getString(postalCode),
+                row.getString(phone)
+        );
+    }
+
+    /**
+     * Maps rows of the users table to users.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the user mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<User> users(ResultSet resultSet) throws SQLException {
+        int userID = resultSet.findColumn("User_ID");
+        int name = resultSet.findColumn("User_Name");
+        int password = resultSet.findColumn("Password");
+
+        return row -> new User(row.getInt(userID), row.getString(name), row.getString(password));
+    }
+
+    /**
+     * Maps rows of the contacts table to contacts.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the contact mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<Contact> contacts(ResultSet resultSet) throws SQLException {
+        int contactID = resultSet.findColumn("Contact_ID");
+        int name = resultSet.findColumn("Contact_Name");
+
+        return row -> new Contact(row.getInt(contactID), row.getString(name));
+    }
+
+    /**
+     * Maps rows of the countries table to countries.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the country mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<Country> countries(ResultSet resultSet) throws SQLException {
+        int countryID = resultSet.findColumn("Country_ID");
+        int name = resultSet.findColumn("Country");
+
+        return row -> new Country(row.getInt(countryID), row.getString(name));
+    }
+
+    /**
+     * Maps rows of the first_level_divisions table to divisions.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the division mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<Division> divisions(ResultSet resultSet) throws SQLException {
+        int divisionID = resultSet.findColumn("Division_ID");
+        int name = resultSet.findColumn("Division");
+        int countryID = resultSet.findColumn("Country_ID");
+
+        return row -> new Division(row.getInt(divisionID), row.getString(name), row.getInt(countryID));
+    }
+
+    /**
+     * Maps rows of appointment counts per type and start month.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the count mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<JDBC.TypeMonthCount> typeMonthCounts(ResultSet resultSet) throws SQLException {
+        int type = resultSet.findColumn("Type");
+        int year = resultSet.findColumn("Start_Year");
+        int month = resultSet.findColumn("Start_Month");
+        int count = resultSet.findColumn("Appointment_Count");
+
+        return row -> new JDBC.TypeMonthCount(row.getString(type),
+                YearMonth.of(row.getInt(year), row.getInt(month)),
+                row.getInt(count));
+    }
+
+    /**
+     * Maps rows of appointment counts per start date.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the count mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<JDBC.DateCount> dateCounts(ResultSet resultSet) throws SQLException {
+        int date = resultSet.findColumn("Start_Date");
+        int count = resultSet.findColumn("Appointment_Count");
+
+        return row -> new JDBC.DateCount(row.getObject(date, LocalDate.class), row.getInt(count));
+    }
+
+    /**
+     * Maps single-column rows of integer IDs.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the ID mapper
+     */
+    public static RowMapper<Integer> ids(ResultSet resultSet) {
+        return row -> row.getInt(1);
+    }
+
+    /**
+     * Maps single-column rows of change log versions.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the version mapper
+     */
+    public static RowMapper<Long> versions(ResultSet resultSet) {
+        return row -> row.getLong(1);
+    }
+
+    /**
+     * Maps rows of the change log to changes.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the change mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<JDBC.Change> changes(ResultSet resultSet) throws SQLException {
+        int version = resultSet.findColumn("Version");
+        int table = resultSet.findColumn("Table_Name");
+        int rowID = resultSet.findColumn("Row_ID");
+        int operation = resultSet.findColumn("Operation");
+        int clientID = resultSet.findColumn("Client_ID");
+
+        return row -> new JDBC.Change(row.getLong(version),
+                row.getString(table),
+                row.getInt(rowID),
+                JDBC.Change.Operation.valueOf(row.getString(operation)),
+                row.getString(clientID));
+    }
+
+    /**
+     * Maps rows of appointment customers and times to intervals.
+     *
+     * @param resultSet the result set the mapper will read
+     *
+     * @return the interval mapper
+     *
+     * @throws SQLException if a column is missing
+     */
+    public static RowMapper<JDBC.AppointmentInterval> appointmentIntervals(ResultSet resultSet) throws SQLException {
+        int customerID = resultSet.findColumn("Customer_ID");
+        int start = resultSet.findColumn("Start");
+        int end = resultSet.findColumn("End");
+
+        return row -> new JDBC.AppointmentInterval(row.getInt(customerID),
+                row.getTimestamp(start).toLocalDateTime(),
+                row.getTimestamp(end).toLocalDateTime());
+    }
+}
@@ -0,0 +1,577 @@
+package project.schedule_manager.utils;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Button;
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Customer;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The application-wide store of appointments and customers.
+ * <p>
+ * The store owns the data that every view reads from. Appointments are held in dictionary-encoded
+ * {@link AppointmentColumns}, and views materialize only the rows they display. Appointments and customers are read
+ * from the database once; after that, inserts, updates and deletes apply the rows returned by {@link JDBC} to the
+ * store as targeted changes, so filtered and sorted views built on it stay in sync without reloading whole tables.
+ * All methods must be called on the JavaFX application thread.
+ */
+public abstract class ScheduleStore {
+    /**
+     * The loaded customers, in customer ID order, so a customer's position is found by binary search.
+     */
+    private static final ObservableList<Customer> CUSTOMERS = FXCollections.observableArrayList();
+
+    /**
+     * A read-only view of the loaded customers.
+     */
+    private static final ObservableList<Customer> READ_ONLY_CUSTOMERS =
+            FXCollections.unmodifiableObservableList(CUSTOMERS);
+
+    /**
+     * The loaded appointments, stored column by column. The index and the calendar hold rows of these columns.
+     */
+    private static final AppointmentColumns APPOINTMENT_COLUMNS = new AppointmentColumns();
+
+    /**
+     * The loaded customers, keyed by customer ID.
+     */
+    private static final Map<Integer, Customer> CUSTOMERS_BY_ID = new HashMap<>();
+
+    /**
+     * The loaded appointments, indexed by customer and time for conflict checks.
+     */
+    private static final AppointmentIndex APPOINTMENT_INDEX = new AppointmentIndex(APPOINTMENT_COLUMNS);
+
+    /**
+     * The loaded appointments, bucketed by start date for the date-range views.
+     */
+    private static final AppointmentCalendar APPOINTMENT_CALENDAR =
+            new AppointmentCalendar(APPOINTMENT_COLUMNS, ScheduleStore::loadAppointmentsBetween);
+
+    /**
+     * The date ranges whose appointments have all been loaded.
+     */
+    private static final Set<AppointmentCalendar.DateRange> LOADED_RANGES = new HashSet<>();
+
+    /**
+     * The report aggregates, seeded from the database and updated as appointments are saved and deleted.
+     */
+    private static final AppointmentReports APPOINTMENT_REPORTS = new AppointmentReports();
+
+    /**
+     * The loaded appointments, indexed by the terms of their title, description, location, type and contact.
+     */
+    private static final SearchIndex APPOINTMENT_SEARCH = new SearchIndex();
+
+    /**
+     * The loaded customers, indexed by the terms of their name and address.
+     */
+    private static final SearchIndex CUSTOMER_SEARCH = new SearchIndex();
+
+    /**
+     * Loads appointments into the store one page at a time.
+     */
+    private static final AppointmentPager APPOINTMENT_PAGER = new AppointmentPager(ScheduleStore::mergeAppointments);
+
+    /**
+     * The start of the change feed for the current session, or null if it has not been started.
+     */
+    private static CompletableFuture<Void> feedStarted;
+
+    /**
+     * The load of the first page of appointments, or null if it has not been requested.
+     */
+    private static CompletableFuture<Void> appointmentsLoaded;
+
+    /**
+     * The load of the customers, or null if it has not been requested.
+     */
+    private static CompletableFuture<Void> customersLoaded;
+
+    /**
+     * Returns a read-only view of the loaded customers.
+     *
+     * @return the loaded customers
+     */
+    public static ObservableList<Customer> customers() {
+        return READ_ONLY_CUSTOMERS;
+    }
+
+    /**
+     * Returns the index of the loaded appointments by customer and time.
+     *
+     * @return the appointment index
+     */
+    public static AppointmentIndex appointmentIndex() {
+        return APPOINTMENT_INDEX;
+    }
+
+    /**
+     * Returns the loaded appointments bucketed by start date, with a live view of a selected date range.
+     *
+     * @return the appointment calendar
+     */
+    public static AppointmentCalendar appointmentCalendar() {
+        return APPOINTMENT_CALENDAR;
+    }
+
+    /**
+     * Returns the report aggregates over the loaded appointments.
+     *
+     * @return the appointment reports
+     */
+    public static AppointmentReports appointmentReports() {
+        return APPOINTMENT_REPORTS;
+    }
+
+    /**
+     * Returns the search index of the loaded appointments, keyed by appointment ID.
+     *
+     * @return the appointment search index
+     */
+    public static SearchIndex appointmentSearch() {
+        return APPOINTMENT_SEARCH;
+    }
+
+    /**
+     * Returns the search index of the loaded customers, keyed by customer ID.
+     *
+     * @return the customer search index
+     */
+    public static SearchIndex customerSearch() {
+        return CUSTOMER_SEARCH;
+    }
+
+    /**
+     * Returns the pager that loads further pages of appointments into the store.
+     *
+     * @return the appointment pager
+     */
+    public static AppointmentPager appointmentPager() {
+        return APPOINTMENT_PAGER;
+    }
+
+    /**
+     * Loads the first page of appointments unless it has already been loaded or requested. The change feed is started
+     * first, so no change made after the page is read is missed.
+     *
+     * @return a future completed on the application thread once the first page is in the store
+     */
+    public static CompletableFuture<Void> loadAppointments() {
+        if (appointmentsLoaded == null) {
+            appointmentsLoaded = startChangeFeed()
+                    .thenComposeAsync(started -> APPOINTMENT_PAGER.loadNextPage(), Platform::runLater);
+            appointmentsLoaded.exceptionally(error -> {
+                appointmentsLoaded = null;
+                return null;
+            });
+        }
+        return appointmentsLoaded;
+    }
+
+    /**
+     * Loads every customer unless they have already been loaded or requested. The change feed is started first, so no
+     * change made after the customers are read is missed.
+     *
+     * @return a future completed on the application thread once the customers are in the store
+     */
+    public static CompletableFuture<Void> loadCustomers() {
+        if (customersLoaded == null) {
+            customersLoaded = startChangeFeed()
+                    .thenCompose(started -> AsyncJDBC.onFxThread(AsyncJDBC.selectCustomerRecords(),
+                            ScheduleStore::mergeCustomers))
+                    .thenApply(customers -> null);
+            customersLoaded.exceptionally(error -> {
+                customersLoaded = null;
+                return null;
+            });
+        }
+        return customersLoaded;
+    }
+
+    /**
+     * Loads a customer's appointments that overlap a time slot, so that a conflict check against the appointment
+     * index sees them without the rest of the table being loaded. Appointments the store already holds are kept.
+     *
+     * @param customerID the ID of the customer
+     * @param start      the start of the slot, inclusive
+     * @param end        the end of the slot, exclusive
+     *
+     * @return a future completed on the application thread once the customer's overlapping appointments are in the
+     *         store
+     */
+    public static CompletableFuture<Void> loadCustomerAppointments(int customerID, LocalDateTime start,
+                                                                   LocalDateTime end) {
+        if (APPOINTMENT_PAGER.isComplete()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return AsyncJDBC.onFxThread(AsyncJDBC.selectCustomerAppointmentsOverlapping(customerID, start, end),
+                ScheduleStore::mergeAppointments).thenApply(appointments -> null);
+    }
+
+    /**
+     * Inserts or updates an appointment and applies the stored row to the store.
+     *
+     * @param submit   the Button used to submit the form
+     * @param formData a map of the form data to be used in the statement
+     *
+     * @return a future completed on the application thread with the stored appointment once it is in the store
+     */
+    public static CompletableFuture<Appointment> saveAppointment(Button submit, Map<Integer, ?> formData) {
+        boolean isUpdate = submit.getText().equals("Update");
+        return AsyncJDBC.onFxThread(AsyncJDBC.saveAppointment(isUpdate, formData),
+                appointment -> putAppointment(appointment, isUpdate));
+    }
+
+    /**
+     * Inserts or updates a customer and applies the stored row to the store.
+     *
+     * @param submit   the Button used to submit the form
+     * @param formData a map of the form data to be used in the statement
+     *
+     * @return a future completed on the application thread with the stored customer once it is in the store
+     */
+    public static CompletableFuture<Customer> saveCustomer(Button submit, Map<Integer, ?> formData) {
+        boolean isUpdate = submit.getText().equals("Update");
+        return AsyncJDBC.onFxThread(AsyncJDBC.saveCustomer(isUpdate, formData), ScheduleStore::putCustomer);
+    }
+
+    /**
+     * Imports the appointments in a CSV file and adds each committed chunk to the store.
+     *
+     * @param file the file to import
+     *
+     * @return a future completed on a background thread with the import's report once every chunk has been queued
+     *         for the store
+     */
+    public static CompletableFuture<BulkImport.Report> importAppointments(Path file) {
+        return BulkImport.appointments(file, ScheduleStore::addImportedAppointments);
+    }
+
+    /**
+     * Imports the customers in a CSV file and adds each committed chunk to the store.
+     *
+     * @param file the file to import
+     *
+     * @return a future completed on a background thread with the import's report once every chunk has been queued
+     *         for the store
+     */
+    public static CompletableFuture<BulkImport.Report> importCustomers(Path file) {
+        return BulkImport.customers(file, ScheduleStore::addImportedCustomers);
+    }
+
+    /**
+     * Deletes an appointment and removes it from the store.
+     *
+     * @param appointmentID the ID of the appointment to delete
+     *
+     * @return a future completed on the application thread once the appointment has been removed
+     */
+    public static CompletableFuture<Void> deleteAppointment(int appointmentID) {
+        return AsyncJDBC.onFxThread(AsyncJDBC.deleteAppointment(appointmentID),
+                deleted -> removeAppointments(List.of(appointmentID)));
+    }
+
+    /**
+     * Deletes a customer together with its appointments and removes them from the store.
+     *
+     * @param customerID the ID of the customer to delete
+     *
+     * @return a future completed on the application thread with the deleted IDs once they have been removed
+     */
+    public static CompletableFuture<JDBC.CustomerDeletion> deleteCustomer(int customerID) {
+        return AsyncJDBC.onFxThread(AsyncJDBC.deleteCustomerCascade(customerID), deletion -> {
+            removeAppointments(deletion.appointmentIDs());
+            removeCustomer(deletion.customerID());
+            ReferenceData.invalidate();
+        });
+    }
+
+    /**
+     * Empties the store so the next user starts from fresh data, and stops the change feed.
+     */
+    public static void clear() {
+        ChangeFeed.stop();
+        feedStarted = null;
+        APPOINTMENT_INDEX.clear();
+        APPOINTMENT_CALENDAR.clear();
+        APPOINTMENT_COLUMNS.clear();
+        APPOINTMENT_SEARCH.clear();
+        LOADED_RANGES.clear();
+        APPOINTMENT_REPORTS.clear();
+        CUSTOMERS.clear();
+        CUSTOMERS_BY_ID.clear();
+        CUSTOMER_SEARCH.clear();
+        appointmentsLoaded = null;
+        customersLoaded = null;
+        APPOINTMENT_PAGER.reset();
+    }
+
+    /**
+     * Starts the change feed for the current session unless it has already been started.
+     *
+     * @return a future completed once the feed has read the current version
+     */
+    private static CompletableFuture<Void> startChangeFeed() {
+        if (feedStarted == null) {
+            feedStarted = ChangeFeed.start(ScheduleStore::applyChanges);
+        }
+        return feedStarted;
+    }
+
+    /**
+     * Applies the changes made by other clients. Deletes are applied first, then inserts and updates, each as if it
+     * had been made here. Changes arriving after the store has been cleared belong to a finished session and are
+     * dropped.
+     * <p>
+     * A remote change may already be included in report counts queried after it was committed but before it was
+     * delivered, so any remote change to the appointments invalidates the counts rather than adjusting them.
+     *
+     * @param changes the net changes since the previous batch
+     */
+    private static void applyChanges(ChangeFeed.Changes changes) {
+        if (feedStarted == null) {
+            return;
+        }
+
+        removeAppointments(changes.deletedAppointmentIDs());
+        for (Appointment appointment : changes.appointments()) {
+            putAppointment(appointment, !changes.insertedAppointmentIDs().contains(appointment.appointmentID()));
+        }
+        if (!changes.deletedAppointmentIDs().isEmpty() || !changes.appointments().isEmpty()) {
+            APPOINTMENT_REPORTS.invalidate();
+        }
+
+        changes.deletedCustomerIDs().forEach(ScheduleStore::removeCustomer);
+        changes.customers().forEach(ScheduleStore::putCustomer);
+        if (!changes.deletedCustomerIDs().isEmpty()) {
+            ReferenceData.invalidate();
+        }
+    }
+
+    /**
+     * Adds a page of appointments read by the pager, skipping any appointment the store already holds because it was
+     * saved after the pager started.
+     *
+     * @param page the appointments to add
+     */
+    private static void mergeAppointments(List<Appointment> page) {
+        for (Appointment appointment : page) {
+            if (APPOINTMENT_COLUMNS.rowOf(appointment.appointmentID()) < 0) {
+                int row = APPOINTMENT_COLUMNS.put(appointment);
+                indexForSearch(appointment);
+                APPOINTMENT_INDEX.add(row);
+                APPOINTMENT_CALENDAR.add(row);
+            }
+        }
+    }
+
+    /**
+     * Loads the appointments starting in a date range, unless every appointment or that range has already been
+     * loaded. Appointments the store already holds are kept. The unbounded range is left to the pager, which loads
+     * further pages as the table is scrolled.
+     *
+     * @param range the dates whose appointments are needed
+     *
+     * @return a future completed on the application thread once the range's appointments are in the store
+     */
+    private static CompletableFuture<Void> loadAppointmentsBetween(AppointmentCalendar.DateRange range) {
+        if (APPOINTMENT_PAGER.isComplete()
+                || LOADED_RANGES.contains(range)
+                || range.equals(AppointmentCalendar.DateRange.UNBOUNDED)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (range.from() == null || range.to() == null) {
+            return APPOINTMENT_PAGER.loadAll();
+        }
+
+        return AsyncJDBC.onFxThread(AsyncJDBC.selectAppointmentsStartingBetween(range.from().atStartOfDay(),
+                range.to().atStartOfDay()), appointments -> {
+            mergeAppointments(appointments);
+            LOADED_RANGES.add(range);
+        }).thenApply(appointments -> null);
+    }
+
+    /**
+     * Adds a chunk of imported appointments, as if each had been inserted through the form.
+     *
+     * @param appointments the appointments as stored in the database
+     */
+    private static void addImportedAppointments(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            putAppointment(appointment, false);
+        }
+    }
+
+    /**
+     * Adds a chunk of imported customers, as if each had been inserted through the form.
+     *
+     * @param customers the customers as stored in the database
+     */
+    private static void addImportedCustomers(List<Customer> customers) {
+        customers.forEach(ScheduleStore::putCustomer);
+    }
+
+    /**
+     * Adds the customers read from the database, skipping any customer the store already holds. Customers read in ID
+     * order after those already loaded are appended; otherwise the customers are sorted by ID again.
+     *
+     * @param customers the customers to add
+     */
+    private static void mergeCustomers(List<Customer> customers) {
+        var added = customers.stream()
+                .filter(customer -> CUSTOMERS_BY_ID.putIfAbsent(customer.customerID(), customer) == null)
+                .toList();
+        added.forEach(ScheduleStore::indexForSearch);
+
+        int from = CUSTOMERS.size();
+        CUSTOMERS.addAll(added);
+        for (int i = Math.max(1, from); i < CUSTOMERS.size(); i++) {
+            if (CUSTOMERS.get(i - 1).customerID() > CUSTOMERS.get(i).customerID()) {
+                CUSTOMERS.sort(Comparator.comparingInt(Customer::customerID));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the stored copy of an appointment, or adds it if the store does not hold it yet.
+     *
+     * @param appointment the appointment as stored in the database, or null if it no longer exists
+     * @param isUpdate    whether the save updated an existing appointment
+     */
+    private static void putAppointment(Appointment appointment, boolean isUpdate) {
+        if (appointment == null) {
+            APPOINTMENT_REPORTS.invalidate();
+            return;
+        }
+
+        Appointment previous = null;
+        int row = APPOINTMENT_COLUMNS.rowOf(appointment.appointmentID());
+        if (row >= 0) {
+            previous = APPOINTMENT_COLUMNS.materialize(row);
+            APPOINTMENT_INDEX.remove(row);
+            APPOINTMENT_CALENDAR.remove(row);
+        }
+
+        row = APPOINTMENT_COLUMNS.put(appointment);
+        indexForSearch(appointment);
+        APPOINTMENT_INDEX.add(row);
+        APPOINTMENT_CALENDAR.add(row);
+        APPOINTMENT_REPORTS.saved(previous, appointment, isUpdate);
+        ReminderScheduler.schedule(appointment);
+    }
+
+    /**
+     * Replaces the stored copy of a customer, or adds it if the store does not hold it yet. Adding a customer
+     * invalidates the cached customer IDs.
+     *
+     * @param customer the customer as stored in the database, or null if it no longer exists
+     */
+    private static void putCustomer(Customer customer) {
+        if (customer == null) {
+            return;
+        }
+
+        var previous = CUSTOMERS_BY_ID.put(customer.customerID(), customer);
+        indexForSearch(customer);
+        if (previous == null) {
+            CUSTOMERS.add(-customerIndex(customer.customerID()) - 1, customer);
+            ReferenceData.invalidate();
+        } else {
+            CUSTOMERS.set(customerIndex(customer.customerID()), customer);
+        }
+    }
+
+    /**
+     * Finds a customer in the loaded customers by binary search.
+     *
+     * @param customerID the ID of the customer
+     *
+     * @return the customer's position, or {@code -(insertion point) - 1} if it is not loaded
+     */
+    private static int customerIndex(int customerID) {
+        int low = 0;
+        int high = CUSTOMERS.size() - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = Integer.compare(CUSTOMERS.get(mid).customerID(), customerID);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Removes appointments from the store.
+     *
+     * @param appointmentIDs the IDs of the appointments to remove
+     */
+    private static void removeAppointments(Collection<Integer> appointmentIDs) {
+        for (Integer appointmentID : Set.copyOf(appointmentIDs)) {
+            Appointment appointment = null;
+            int row = APPOINTMENT_COLUMNS.rowOf(appointmentID);
+            if (row >= 0) {
+                appointment = APPOINTMENT_COLUMNS.materialize(row);
+                APPOINTMENT_INDEX.remove(row);
+                APPOINTMENT_CALENDAR.remove(row);
+                APPOINTMENT_COLUMNS.remove(appointmentID);
+                APPOINTMENT_SEARCH.remove(appointmentID);
+            }
+            APPOINTMENT_REPORTS.deleted(appointment);
+            ReminderScheduler.cancel(appointmentID);
+        }
+    }
+
+    /**
+     * Removes a customer from the store.
+     *
+     * @param customerID the ID of the customer to remove
+     */
+    private static void removeCustomer(int customerID) {
+        var removed = CUSTOMERS_BY_ID.remove(customerID);
+        CUSTOMER_SEARCH.remove(customerID);
+        if (removed != null) {
+            CUSTOMERS.remove(customerIndex(customerID));
+        }
+    }
+
+    /**
+     * Indexes an appointment's text for search, replacing any previous copy. Called before the appointment reaches
+     * the views, so an active search sees it.
+     *
+     * @param appointment the appointment to index
+     */
+    private static void indexForSearch(Appointment appointment) {
+        APPOINTMENT_SEARCH.put(appointment.appointmentID(), appointment.title(), appointment.description(),
+                appointment.location(), appointment.type(), appointment.contact());
+    }
+
+    /**
+     * Indexes a customer's text for search, replacing any previous copy. Called before the customer reaches the
+     * views, so an active search sees it.
+     *
+     * @param customer the customer to index
+     */
+    private static void indexForSearch(Customer customer) {
+        CUSTOMER_SEARCH.put(customer.customerID(), customer.name(), customer.address());
+    }
+}
@@ -0,0 +1,201 @@
+package project.schedule_manager.utils;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * An inverted index over the text fields of the loaded rows, used by the search boxes.
+ * <p>
+ * Each field is split into lower-case terms of letters and digits, and each term maps to the IDs of the rows
+ * containing it. The terms are kept sorted, so the terms starting with a query term are one sub-map slice rather than a
+ * scan of every row. A query matches the rows containing, for every query term, some term starting with it. The index
+ * is updated row by row as the store changes; each term's row IDs are kept sorted, so a row is added to or removed
+ * from a term's postings by binary search rather than a scan of every row containing the term. All methods must be
+ * called on the JavaFX application thread.
+ */
+public class SearchIndex {
+    /**
+     * The IDs of the rows containing each term, in ascending order, sorted by term.
+     */
+    private final TreeMap<String, IntList> postings = new TreeMap<>();
+
+    /**
+     * The distinct terms of each indexed row, keyed by row ID, used to remove a row's postings.
+     */
+    private final Map<Integer, String[]> terms = new HashMap<>();
+
+    /**
+     * Incremented whenever the index changes, so that matchers know when to run their query again.
+     */
+    private int version;
+
+    /**
+     * Splits text into its distinct lower-case terms.
+     *
+     * @param fields the text to split; null fields are skipped
+     *
+     * @return the distinct terms, in order of first appearance
+     */
+    public static Set<String> terms(String... fields) {
+        Set<String> terms = new LinkedHashSet<>();
+
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+
+            int start = -1;
+            for (int i = 0; i <= field.length(); i++) {
+                boolean inTerm = i < field.length() && Character.isLetterOrDigit(field.charAt(i));
+                if (inTerm && start < 0) {
+                    start = i;
+                } else if (!inTerm && start >= 0) {
+                    terms.add(field.substring(start, i).toLowerCase(Locale.ROOT));
+                    start = -1;
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Indexes a row, replacing its previous fields if it is already indexed.
+     *
+     * @param id     the ID of the row
+     * @param fields the row's searchable text
+     */
+    public void put(int id, String... fields) {
+        remove(id);
+
+        String[] rowTerms = terms(fields).toArray(String[]::new);
+        for (String term : rowTerms) {
+            postings.computeIfAbsent(term, key -> new IntList(1)).addSorted(id);
+        }
+        terms.put(id, rowTerms);
+        version++;
+    }
+
+    /**
+     * Removes a row from the index. Removing a row that is not indexed has no effect.
+     *
+     * @param id the ID of the row
+     */
+    public void remove(int id) {
+        String[] rowTerms = terms.remove(id);
+        if (rowTerms == null) {
+            return;
+        }
+
+        for (String term : rowTerms) {
+            IntList ids = postings.get(term);
+            if (ids != null && ids.removeSorted(id) && ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Removes every row from the index.
+     */
+    public void clear() {
+        postings.clear();
+        terms.clear();
+        version++;
+    }
+
+    /**
+     * Finds the rows matching a query: those containing, for every term of the query, a term starting with it.
+     *
+     * @param query the text to search for
+     *
+     * @return the IDs of the matching rows, or null if the query has no terms and so matches every row
+     */
+    public BitSet search(String query) {
+        BitSet matches = null;
+
+        for (String prefix : terms(query)) {
+            BitSet prefixMatches = new BitSet();
+            for (IntList ids : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < ids.size(); i++) {
+                    prefixMatches.set(ids.get(i));
+                }
+            }
+
+            if (matches == null) {
+                matches = prefixMatches;
+            } else {
+                matches.and(prefixMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns a test of whether a row matches a query. The query runs once, and again only after the index has
+     * changed, so the test can be used as a list filter that stays current as rows are saved and deleted.
+     *
+     * @param query the text to search for
+     *
+     * @return a test of row IDs, or null if the query has no terms and so matches every row
+     */
+    public IntPredicate matcher(String query) {
+        return terms(query).isEmpty() ? null : new Matcher(query);
+    }
+
+    /**
+     * The result of a query, refreshed when the index changes.
+     */
+    private final class Matcher implements IntPredicate {
+        /**
+         * The text to search for.
+         */
+        private final String query;
+
+        /**
+         * The IDs of the matching rows as of {@link #searchedVersion}.
+         */
+        private BitSet matches;
+
+        /**
+         * The version of the index the query last ran against.
+         */
+        private int searchedVersion;
+
+        /**
+         * Creates a matcher and runs its query.
+         *
+         * @param query the text to search for
+         */
+        Matcher(String query) {
+            this.query = query;
+            this.matches = search(query);
+            this.searchedVersion = version;
+        }
+
+        /**
+         * Returns whether a row matches the query.
+         *
+         * @param id the ID of the row
+         *
+         * @return true if the row matches, false otherwise
+         */
+        @Override
+        public boolean test(int id) {
+            if (searchedVersion != version) {
+                matches = search(query);
+                searchedVersion = version;
+            }
+            return matches.get(id);
+        }
+    }
+}
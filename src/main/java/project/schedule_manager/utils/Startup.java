@@ -0,0 +1,110 @@
+package project.schedule_manager.utils;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The application's startup pipeline.
+ * <p>
+ * The connection pool is opened on a background thread while the JavaFX toolkit starts and the login screen is
+ * displayed. Once the login screen is showing, the remaining screens are parsed on the application thread while the
+ * reference data, the user directory, the first page of appointments and the customers are read in parallel, so the
+ * schedule screen is ready by the time the user has entered their credentials. Each stage is timed, and the
+ * breakdown is printed once every stage has finished.
+ */
+public abstract class Startup {
+    /**
+     * When startup began, in {@link System#nanoTime()} units.
+     */
+    private static final long STARTED = System.nanoTime();
+
+    /**
+     * The name and duration of every finished stage, in order of completion.
+     */
+    private static final List<String> TIMINGS = new ArrayList<>();
+
+    /**
+     * The opening of the connection pool, or null if it has not been started.
+     */
+    private static CompletableFuture<Void> connected;
+
+    /**
+     * Starts opening the connection pool in the background. Called first thing in main.
+     */
+    public static synchronized void begin() {
+        if (connected == null) {
+            connected = timed("connect", () -> CompletableFuture.runAsync(JDBC::openConnection, runnable -> {
+                Thread thread = new Thread(runnable, "startup-connect");
+                thread.setDaemon(true);
+                thread.start();
+            }));
+        }
+    }
+
+    /**
+     * Warms up everything needed after login. Must be called on the application thread once the login screen is
+     * displayed.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: Lambda expressions describe each stage inline so that the whole pipeline, and what
+     * each stage waits for, can be read in one place.
+     *
+     * @return a future completed once every stage has finished, whether or not it succeeded
+     */
+    public static CompletableFuture<Void> warmUp() {
+        begin();
+        record("login screen", STARTED);
+
+        var screens = timed("screens", () -> CompletableFuture.runAsync(LoadScene::preload, Platform::runLater));
+        var referenceData = timed("reference data", () -> connected.thenCompose(opened -> ReferenceData.load()));
+        var users = timed("users", () -> connected.thenCompose(opened -> Authenticator.warmUp()));
+        var appointments = timed("appointments", () -> connected.thenComposeAsync(opened ->
+                ScheduleStore.loadAppointments(), Platform::runLater));
+        var customers = timed("customers", () -> connected.thenComposeAsync(opened ->
+                ScheduleStore.loadCustomers(), Platform::runLater));
+
+        return CompletableFuture.allOf(screens, referenceData, users, appointments, customers)
+                .handle((ready, error) -> {
+                    record("ready", STARTED);
+                    synchronized (TIMINGS) {
+                        System.out.println("Startup: " + String.join(", ", TIMINGS));
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Runs a stage and records its duration once it finishes. A failed stage is recorded as failed.
+     *
+     * @param stage the name of the stage
+     * @param start starts the stage
+     * @param <T>   the type of the stage's result
+     *
+     * @return the stage's future
+     */
+    private static <T> CompletableFuture<T> timed(String stage, Supplier<CompletableFuture<T>> start) {
+        long started = System.nanoTime();
+        CompletableFuture<T> future = start.get();
+
+        future.whenComplete((result, error) -> record(error == null ? stage : stage + " (failed)", started));
+        return future;
+    }
+
+    /**
+     * Records the time elapsed since a stage started.
+     *
+     * @param stage   the name of the stage
+     * @param started when the stage started, in {@link System#nanoTime()} units
+     */
+    private static void record(String stage, long started) {
+        long millis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        synchronized (TIMINGS) {
+            TIMINGS.add(stage + " " + millis + " ms");
+        }
+    }
+}
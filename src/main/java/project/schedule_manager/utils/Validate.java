@@ -1,40 +1,31 @@
 package project.schedule_manager.utils;
 
 import javafx.beans.InvalidationListener;
-import javafx.collections.ObservableList;
 import javafx.scene.control.*;
 import project.schedule_manager.model.Appointment;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A class containing static methods for validating user inputs.
  */
 public abstract class Validate {
     /**
-     * Validates user credentials by checking the given username and password against the database.
+     * Validates user credentials by checking the given username and password against the stored password hashes.
+     * The check runs in the background; see {@link Authenticator}.
      *
      * @param userName the TextField containing the user's username
      * @param password the TextField containing the user's password
      *
-     * @return true if the username and password match an entry in the database, false otherwise
-     *
-     * @throws SQLException if there is an error accessing the database
+     * @return a future completed with true if the username and password match a user, false otherwise
      */
-    public static boolean userCredentials(TextField userName, TextField password) throws SQLException {
-        String sql = "SELECT * FROM USERS WHERE User_Name = ? AND Password = ?";
-        PreparedStatement ps = JDBC.connection.prepareStatement(sql);
-        ps.setString(1, userName.getText());
-        ps.setString(2, password.getText());
-        ResultSet rs = ps.executeQuery();
-        return rs.next();
+    public static CompletableFuture<Boolean> userCredentials(TextField userName, TextField password) {
+        return Authenticator.verify(userName.getText(), password.getText());
     }
 
     /**
@@ -55,35 +46,14 @@ public abstract class Validate {
         return zonedTime.isAfter(businessStart.minusMinutes(1)) && zonedTime.isBefore(businessEnd.plusMinutes(1));
     }
 
-    /**
-     * Returns a List of Appointment objects that are scheduled within the next 15 minutes, based on the current time.
-     * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used in the filter() method to check if the start date and
-     * time of each appointment is after the current date and time and before 15 minutes from now. Using a lambda
-     * expression in this case improves code readability and conciseness, as it allows us to define the filtering
-     * condition in a clear and concise way, without having to create a separate method for it.
-     *
-     * @param appointments the list of appointments to filter
-     *
-     * @return a List of Appointment objects that are scheduled within the next 15 minutes, based on the current time
-     */
-    public static List<Appointment> areAppointmentsWithin15Minutes(ObservableList<Appointment> appointments) {
-        return appointments.stream().filter(appointment -> {
-            var dateTime = DateTime.toLocalDateTime(appointment.date(), appointment.start());
-
-            return dateTime.isAfter(LocalDateTime.now()) && dateTime.isBefore(LocalDateTime.now().plusMinutes(15));
-        }).toList();
-    }
-
     /**
      * Finds appointments that overlap with a given time period and customerID, including the appointment
-     * with a given ID (if provided).
+     * with a given ID (if provided). Only the customer's appointments in the index's lookup window are examined.
      * <p>
-     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used to filter the stream of appointments based on whether
-     * they overlap with the given start and end times. It allows for a more concise and readable code, and reduces
-     * the amount of boilerplate code required.
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression is used to filter out the appointment being updated. It allows
+     * for a more concise and readable code, and reduces the amount of boilerplate code required.
      *
-     * @param appointments  the list of appointments to check
+     * @param appointments  the index of appointments to check
      * @param customerID    the ComboBox containing the customerID associated with the appointments
      * @param start         the start time of the time period to check for overlapping appointments
      * @param end           the end time of the time period to check for overlapping appointments
@@ -92,16 +62,12 @@ public abstract class Validate {
      * @return a List of Appointment objects that overlap with the given time period and contact, including the
      * appointment with the given ID (if provided)
      */
-    public static List<Appointment> areAppointmentsOverlapping(List<Appointment> appointments,
+    public static List<Appointment> areAppointmentsOverlapping(AppointmentIndex appointments,
                                                                ComboBox<Object> customerID,
                                                                LocalDateTime start, LocalDateTime end,
                                                                TextField... appointmentID) {
 
-        var appointmentStream = appointments.stream()
-                .filter(appointment -> appointment.customerID().equals(customerID.getValue())
-                        && appointment.date().isEqual(start.toLocalDate())
-                        && appointment.start().isBefore(end.toLocalTime())
-                        && appointment.end().isAfter(start.toLocalTime()));
+        var appointmentStream = appointments.overlapping((Integer) customerID.getValue(), start, end).stream();
 
 
         return appointmentID.length == 0
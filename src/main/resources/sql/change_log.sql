@@ -0,0 +1,58 @@
+-- Records every change to the appointments and customers tables, read by each running client (ChangeFeed) to apply
+-- other clients' edits without reloading whole tables. Apply once to the client_schedule database.
+--
+-- Each change gets the next version. Deletes are kept as tombstones so that clients remove the row too. Client_ID is
+-- the @schedule_client session variable set by the application on every pooled connection, so a client can skip its
+-- own changes; it is null for changes made outside the application. The log is append-only; it may be truncated
+-- while no client is running.
+CREATE TABLE change_log
+(
+    Version    BIGINT                              NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    Table_Name ENUM ('appointments', 'customers')  NOT NULL,
+    Row_ID     INT                                 NOT NULL,
+    Operation  ENUM ('INSERT', 'UPDATE', 'DELETE') NOT NULL,
+    Client_ID  CHAR(36)                            NULL,
+    Changed_At TIMESTAMP                           NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TRIGGER appointments_log_insert
+    AFTER INSERT
+    ON appointments
+    FOR EACH ROW
+    INSERT INTO change_log (Table_Name, Row_ID, Operation, Client_ID)
+    VALUES ('appointments', NEW.Appointment_ID, 'INSERT', @schedule_client);
+
+CREATE TRIGGER appointments_log_update
+    AFTER UPDATE
+    ON appointments
+    FOR EACH ROW
+    INSERT INTO change_log (Table_Name, Row_ID, Operation, Client_ID)
+    VALUES ('appointments', NEW.Appointment_ID, 'UPDATE', @schedule_client);
+
+CREATE TRIGGER appointments_log_delete
+    AFTER DELETE
+    ON appointments
+    FOR EACH ROW
+    INSERT INTO change_log (Table_Name, Row_ID, Operation, Client_ID)
+    VALUES ('appointments', OLD.Appointment_ID, 'DELETE', @schedule_client);
+
+CREATE TRIGGER customers_log_insert
+    AFTER INSERT
+    ON customers
+    FOR EACH ROW
+    INSERT INTO change_log (Table_Name, Row_ID, Operation, Client_ID)
+    VALUES ('customers', NEW.Customer_ID, 'INSERT', @schedule_client);
+
+CREATE TRIGGER customers_log_update
+    AFTER UPDATE
+    ON customers
+    FOR EACH ROW
+    INSERT INTO change_log (Table_Name, Row_ID, Operation, Client_ID)
+    VALUES ('customers', NEW.Customer_ID, 'UPDATE', @schedule_client);
+
+CREATE TRIGGER customers_log_delete
+    AFTER DELETE
+    ON customers
+    FOR EACH ROW
+    INSERT INTO change_log (Table_Name, Row_ID, Operation, Client_ID)
+    VALUES ('customers', OLD.Customer_ID, 'DELETE', @schedule_client);
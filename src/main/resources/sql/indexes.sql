@@ -0,0 +1,14 @@
+-- Indexes supporting the application's query patterns. Apply once to the client_schedule database.
+
+-- Keyset pagination of the appointments table (JDBC.selectAppointmentPage), start-time range queries and the per-date
+-- report counts (JDBC.selectDateCounts), which are answered from the index alone.
+CREATE INDEX appointments_start_id ON appointments (Start, Appointment_ID);
+
+-- Conflict checks for the customer being scheduled (JDBC.selectCustomerAppointmentsOverlapping).
+CREATE INDEX appointments_customer_start ON appointments (Customer_ID, Start);
+
+-- Report aggregation by type and start month (JDBC.selectTypeMonthCounts), answered from the index alone.
+CREATE INDEX appointments_type_start ON appointments (Type, Start);
+
+-- Per-contact report listing, paged through each contact's range (JDBC.selectContactAppointmentsPage).
+CREATE INDEX appointments_contact_start_id ON appointments (Contact_ID, Start, Appointment_ID);
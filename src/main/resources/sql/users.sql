@@ -0,0 +1,3 @@
+-- Widens the users table's password column to hold salted password hashes. Apply once to the client_schedule
+-- database. Plaintext passwords are replaced with hashes as each user logs in (Authenticator).
+ALTER TABLE users MODIFY Password VARCHAR(255);
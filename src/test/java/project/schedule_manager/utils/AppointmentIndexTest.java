@@ -0,0 +1,166 @@
+package project.schedule_manager.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.schedule_manager.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static project.schedule_manager.utils.TestAppointments.appointment;
+import static project.schedule_manager.utils.TestAppointments.ids;
+
+/**
+ * Tests the conflict queries of {@link AppointmentIndex}.
+ */
+class AppointmentIndexTest {
+    /**
+     * The date of the test appointments.
+     */
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    /**
+     * The columns holding the indexed rows.
+     */
+    private AppointmentColumns columns;
+
+    /**
+     * The index under test.
+     */
+    private AppointmentIndex index;
+
+    /**
+     * Creates an empty index.
+     */
+    @BeforeEach
+    void setUp() {
+        columns = new AppointmentColumns();
+        index = new AppointmentIndex(columns);
+    }
+
+    /**
+     * A slot overlaps an appointment only if each starts before the other ends, so touching slots do not conflict.
+     */
+    @Test
+    void findsOverlapsButNotTouchingSlots() {
+        add(1, 7, "10:00", "11:00");
+
+        assertEquals(List.of(1), ids(overlapping(7, "10:30", "10:45")));
+        assertEquals(List.of(1), ids(overlapping(7, "09:00", "10:01")));
+        assertEquals(List.of(1), ids(overlapping(7, "10:59", "12:00")));
+        assertEquals(List.of(), ids(overlapping(7, "09:00", "10:00")));
+        assertEquals(List.of(), ids(overlapping(7, "11:00", "12:00")));
+    }
+
+    /**
+     * Only the given customer's appointments are returned.
+     */
+    @Test
+    void ignoresOtherCustomers() {
+        add(1, 7, "10:00", "11:00");
+        add(2, 8, "10:00", "11:00");
+
+        assertEquals(List.of(2), ids(overlapping(8, "10:15", "10:30")));
+        assertEquals(List.of(), ids(overlapping(9, "10:15", "10:30")));
+    }
+
+    /**
+     * A long appointment starting well before the slot is still found, and results are ordered by start.
+     */
+    @Test
+    void findsLongAppointmentsStartingBeforeTheSlot() {
+        add(1, 7, "08:00", "17:00");
+        add(2, 7, "12:00", "12:30");
+        add(3, 7, "11:45", "12:15");
+
+        assertEquals(List.of(1, 3, 2), ids(overlapping(7, "12:00", "12:20")));
+    }
+
+    /**
+     * A removed appointment no longer conflicts, and removing a row twice has no effect.
+     */
+    @Test
+    void forgetsRemovedAppointments() {
+        int row = add(1, 7, "10:00", "11:00");
+        add(2, 7, "10:00", "11:00");
+
+        index.remove(row);
+        index.remove(row);
+
+        assertEquals(List.of(2), ids(overlapping(7, "10:00", "11:00")));
+    }
+
+    /**
+     * The index answers the same as a scan of every appointment.
+     */
+    @Test
+    void matchesALinearScan() {
+        Random random = new Random(42);
+        List<Appointment> appointments = new ArrayList<>();
+
+        for (int id = 1; id <= 500; id++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(15L * random.nextInt(48));
+            LocalTime end = start.plusMinutes(15L * (1 + random.nextInt(8)));
+            LocalDate date = DAY.plusDays(random.nextInt(3));
+            Appointment appointment = appointment(id, 1 + random.nextInt(5), date.atTime(start), date.atTime(end));
+            index.add(columns.put(appointment));
+            appointments.add(appointment);
+        }
+
+        for (int query = 0; query < 200; query++) {
+            int customerID = 1 + random.nextInt(5);
+            LocalDateTime start = DAY.atTime(7, 0).plusMinutes(15L * random.nextInt(300));
+            LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(8)));
+
+            List<Integer> expected = appointments.stream()
+                    .filter(appointment -> appointment.customerID() == customerID
+                            && appointment.startDateTime().isBefore(end)
+                            && appointment.endDateTime().isAfter(start))
+                    .map(Appointment::appointmentID)
+                    .sorted()
+                    .toList();
+            List<Appointment> found = index.overlapping(customerID, start, end);
+
+            assertEquals(expected, ids(found).stream().sorted().toList());
+            for (int i = 1; i < found.size(); i++) {
+                assertTrue(!found.get(i).startDateTime().isBefore(found.get(i - 1).startDateTime()));
+            }
+        }
+    }
+
+    /**
+     * Stores and indexes an appointment on the test date.
+     *
+     * @param id         the appointment's ID
+     * @param customerID the customer's ID
+     * @param start      the start time, as HH:mm
+     * @param end        the end time, as HH:mm
+     *
+     * @return the appointment's row
+     */
+    private int add(int id, int customerID, String start, String end) {
+        int row = columns.put(appointment(id, customerID, DAY.atTime(LocalTime.parse(start)),
+                DAY.atTime(LocalTime.parse(end))));
+        index.add(row);
+        return row;
+    }
+
+    /**
+     * Queries the index for a slot on the test date.
+     *
+     * @param customerID the customer's ID
+     * @param start      the start of the slot, as HH:mm
+     * @param end        the end of the slot, as HH:mm
+     *
+     * @return the overlapping appointments
+     */
+    private List<Appointment> overlapping(int customerID, String start, String end) {
+        return index.overlapping(customerID, DAY.atTime(LocalTime.parse(start)), DAY.atTime(LocalTime.parse(end)));
+    }
+}
@@ -0,0 +1,211 @@
+package project.schedule_manager.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.schedule_manager.model.Appointment;
+import project.schedule_manager.model.Contact;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static project.schedule_manager.utils.TestAppointments.appointment;
+
+/**
+ * Tests that the counts of {@link AppointmentReports} stay equal to the seeded counts as appointments are saved and
+ * deleted. Once seeded, the count reports render without a query, so no database is needed.
+ */
+class AppointmentReportsTest {
+    /**
+     * The reports under test, seeded with two appointments: a meeting on March 10 and a review on March 12.
+     */
+    private AppointmentReports reports;
+
+    /**
+     * Seeds the counts.
+     */
+    @BeforeEach
+    void setUp() {
+        reports = new AppointmentReports();
+        reports.seed(
+                List.of(new JDBC.TypeMonthCount("Meeting", YearMonth.of(2025, 3), 1),
+                        new JDBC.TypeMonthCount("Review", YearMonth.of(2025, 3), 1)),
+                List.of(new JDBC.DateCount(LocalDate.of(2025, 3, 10), 1),
+                        new JDBC.DateCount(LocalDate.of(2025, 3, 12), 1)));
+    }
+
+    /**
+     * The seeded counts are rendered by type and month and by date.
+     */
+    @Test
+    void rendersTheSeededCounts() {
+        assertEquals("Meeting:\n\tMarch 2025: 1\n\nReview:\n\tMarch 2025: 1", typeByMonth());
+        assertEquals("2025-03-10: 1\n2025-03-12: 1", countByDate());
+    }
+
+    /**
+     * A new appointment is added to its type, month and date.
+     */
+    @Test
+    void addsNewAppointments() {
+        reports.saved(null, appointment(3, "Meeting", LocalDate.of(2025, 3, 10)), false);
+        reports.saved(null, appointment(4, "Meeting", LocalDate.of(2025, 4, 1)), false);
+
+        assertEquals("Meeting:\n\tMarch 2025: 2\n\tApril 2025: 1\n\nReview:\n\tMarch 2025: 1", typeByMonth());
+        assertEquals("2025-03-10: 2\n2025-03-12: 1\n2025-04-01: 1", countByDate());
+    }
+
+    /**
+     * An update moves the appointment from its previous type and date to its new ones, dropping emptied entries.
+     */
+    @Test
+    void movesUpdatedAppointments() {
+        Appointment review = appointment(2, "Review", LocalDate.of(2025, 3, 12));
+        reports.saved(review, appointment(2, "Meeting", LocalDate.of(2025, 5, 20)), true);
+
+        assertEquals("Meeting:\n\tMarch 2025: 1\n\tMay 2025: 1", typeByMonth());
+        assertEquals("2025-03-10: 1\n2025-05-20: 1", countByDate());
+    }
+
+    /**
+     * A deleted appointment is removed from the counts.
+     */
+    @Test
+    void removesDeletedAppointments() {
+        reports.deleted(appointment(1, "Meeting", LocalDate.of(2025, 3, 10)));
+
+        assertEquals("Review:\n\tMarch 2025: 1", typeByMonth());
+        assertEquals("2025-03-12: 1", countByDate());
+    }
+
+    /**
+     * After any sequence of saves and deletes, the counts equal counts seeded from the resulting appointments.
+     */
+    @Test
+    void matchesCountsSeededFromScratch() {
+        List<Appointment> appointments = new ArrayList<>(List.of(
+                appointment(1, "Meeting", LocalDate.of(2025, 3, 10)),
+                appointment(2, "Review", LocalDate.of(2025, 3, 12))));
+        String[] types = {"Meeting", "Review", "Planning"};
+
+        for (int id = 3; id < 200; id++) {
+            Appointment saved = appointment(id, types[id % 3], LocalDate.of(2025, 1 + id % 4, 1 + id % 28));
+            reports.saved(null, saved, false);
+            appointments.add(saved);
+
+            if (id % 5 == 0) {
+                Appointment previous = appointments.remove(id / 2);
+                Appointment updated = appointment(previous.appointmentID(), types[(id + 1) % 3],
+                        previous.date().plusDays(id % 40));
+                reports.saved(previous, updated, true);
+                appointments.add(updated);
+            }
+            if (id % 7 == 0) {
+                reports.deleted(appointments.remove(id / 3));
+            }
+        }
+
+        AppointmentReports expected = new AppointmentReports();
+        expected.seed(typeMonthCounts(appointments), dateCounts(appointments));
+
+        assertEquals(expected.render(AppointmentReports.Report.TYPE_BY_MONTH).join(), typeByMonth());
+        assertEquals(expected.render(AppointmentReports.Report.COUNT_BY_DATE).join(), countByDate());
+    }
+
+    /**
+     * A report rendered twice without a change in between is served from the cache.
+     */
+    @Test
+    void reusesRenderedTextUntilAChange() {
+        String first = typeByMonth();
+
+        assertSame(first, typeByMonth());
+        reports.deleted(appointment(2, "Review", LocalDate.of(2025, 3, 12)));
+        assertNotEquals(first, typeByMonth());
+    }
+
+    /**
+     * Each contact's schedule is read page by page, across page boundaries, and contacts without appointments are
+     * left out.
+     */
+    @Test
+    void rendersEveryPageOfEachContact() {
+        Contact busy = new Contact(1, "Busy");
+        Contact idle = new Contact(2, "Idle");
+        List<Appointment> schedule = new ArrayList<>();
+        for (int id = 1; id <= 1200; id++) {
+            schedule.add(appointment(id, "Meeting", LocalDate.of(2025, 1, 1).plusDays(id)));
+        }
+
+        String text = AppointmentReports.renderAppointmentsByContact(List.of(idle, busy), (contact, after, size) -> {
+            if (contact == idle) {
+                return List.of();
+            }
+            int from = after == null ? 0 : schedule.indexOf(after) + 1;
+            return schedule.subList(from, Math.min(from + size, schedule.size()));
+        });
+
+        assertEquals(0, text.indexOf("Busy:\n"));
+        assertEquals(-1, text.indexOf("Idle:"));
+        assertEquals(1200, text.split("Appointment ID: ", -1).length - 1);
+        assertNotEquals(-1, text.indexOf("Appointment ID: 1200\n"));
+    }
+
+    /**
+     * Renders the type-by-month report.
+     *
+     * @return the report text
+     */
+    private String typeByMonth() {
+        return reports.render(AppointmentReports.Report.TYPE_BY_MONTH).join();
+    }
+
+    /**
+     * Renders the count-by-date report.
+     *
+     * @return the report text
+     */
+    private String countByDate() {
+        return reports.render(AppointmentReports.Report.COUNT_BY_DATE).join();
+    }
+
+    /**
+     * Counts appointments by type and start month, as the database does.
+     *
+     * @param appointments the appointments
+     *
+     * @return the counts
+     */
+    private static List<JDBC.TypeMonthCount> typeMonthCounts(List<Appointment> appointments) {
+        Map<String, Map<YearMonth, Long>> counts = appointments.stream().collect(Collectors.groupingBy(
+                Appointment::type,
+                Collectors.groupingBy(appointment -> YearMonth.from(appointment.date()), Collectors.counting())));
+
+        List<JDBC.TypeMonthCount> rows = new ArrayList<>();
+        counts.forEach((type, months) -> months.forEach((month, count) ->
+                rows.add(new JDBC.TypeMonthCount(type, month, count.intValue()))));
+        return rows;
+    }
+
+    /**
+     * Counts appointments by start date, as the database does.
+     *
+     * @param appointments the appointments
+     *
+     * @return the counts
+     */
+    private static List<JDBC.DateCount> dateCounts(List<Appointment> appointments) {
+        Map<LocalDate, Long> counts = appointments.stream()
+                .collect(Collectors.groupingBy(Appointment::date, Collectors.counting()));
+
+        List<JDBC.DateCount> rows = new ArrayList<>();
+        counts.forEach((date, count) -> rows.add(new JDBC.DateCount(date, count.intValue())));
+        return rows;
+    }
+}
@@ -0,0 +1,228 @@
+package project.schedule_manager.utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.transformation.FilteredList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.schedule_manager.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the ordering and change notifications of {@link AppointmentRowList}.
+ */
+class AppointmentRowListTest {
+    /**
+     * The default order of the list: start date/time, then appointment ID.
+     */
+    private static final Comparator<Appointment> BY_START = Comparator.comparing(Appointment::startDateTime)
+            .thenComparingInt(Appointment::appointmentID);
+
+    /**
+     * The columns holding the listed rows.
+     */
+    private final AppointmentColumns columns = new AppointmentColumns();
+
+    /**
+     * The list under test.
+     */
+    private AppointmentRowList list;
+
+    /**
+     * A copy of the list maintained only from its change notifications.
+     */
+    private List<Appointment> mirror;
+
+    /**
+     * Creates an empty list and a mirror that replays its changes.
+     * <p>
+     * <b>LAMBDA JUSTIFICATION</b>: A lambda expression replays each change onto the mirror.
+     */
+    @BeforeEach
+    void setUp() {
+        list = new AppointmentRowList(columns);
+        mirror = new ArrayList<>();
+
+        list.addListener((ListChangeListener<Appointment>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    List<Appointment> permuted = new ArrayList<>(mirror);
+                    for (int i = change.getFrom(); i < change.getTo(); i++) {
+                        permuted.set(change.getPermutation(i), mirror.get(i));
+                    }
+                    mirror = permuted;
+                } else {
+                    mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                    mirror.addAll(change.getFrom(), change.getAddedSubList());
+                }
+            }
+        });
+    }
+
+    /**
+     * Rows added in any order are listed by start and then ID.
+     */
+    @Test
+    void keepsRowsInStartOrder() {
+        Random random = new Random(7);
+        List<Appointment> expected = new ArrayList<>();
+
+        for (int id = 1; id <= 300; id++) {
+            Appointment appointment = randomAppointment(id, random);
+            list.addRow(columns.put(appointment));
+            expected.add(appointment);
+        }
+
+        expected.sort(BY_START);
+        assertEquals(expected, list);
+        assertEquals(expected, mirror);
+    }
+
+    /**
+     * Sorting changes the order kept for later additions and removals, and sorting by null restores the default.
+     */
+    @Test
+    void keepsTheSortedOrderAsRowsChange() {
+        Random random = new Random(11);
+        List<Integer> rows = new ArrayList<>();
+        for (int id = 1; id <= 200; id++) {
+            int row = columns.put(randomAppointment(id, random));
+            list.addRow(row);
+            rows.add(row);
+        }
+
+        Comparator<Appointment> byTitle = Comparator.comparing(Appointment::title).reversed();
+        list.sort(byTitle);
+
+        for (int i = 0; i < 80; i++) {
+            int row = rows.remove(random.nextInt(rows.size()));
+            list.removeRow(row);
+            list.removeRow(row);
+            columns.remove(columns.appointmentID(row));
+        }
+        for (int id = 201; id <= 260; id++) {
+            int row = columns.put(randomAppointment(id, random));
+            list.addRow(row);
+            list.addRow(row);
+            rows.add(row);
+        }
+
+        List<Appointment> expected = rows.stream().map(columns::materialize)
+                .sorted(byTitle.thenComparingInt(Appointment::appointmentID)).toList();
+        assertEquals(expected, list);
+        assertEquals(expected, mirror);
+
+        list.sort(null);
+        assertEquals(expected.stream().sorted(BY_START).toList(), list);
+        assertEquals(list, mirror);
+    }
+
+    /**
+     * Replacing and clearing the rows is reported as one change, and a filtered view follows the list.
+     */
+    @Test
+    void replacesRows() {
+        Random random = new Random(3);
+        IntList rows = new IntList(8);
+        for (int id = 1; id <= 50; id++) {
+            rows.add(columns.put(randomAppointment(id, random)));
+        }
+        FilteredList<Appointment> even = new FilteredList<>(list,
+                appointment -> appointment.appointmentID() % 2 == 0);
+
+        list.replaceRows(rows);
+        assertEquals(50, list.size());
+        assertEquals(list, mirror);
+        assertEquals(25, even.size());
+
+        list.clearRows();
+        assertEquals(List.of(), list);
+        assertEquals(List.of(), mirror);
+        assertEquals(0, even.size());
+    }
+
+    /**
+     * A filter lists only the rows whose IDs pass, in order, as rows are added, removed and sorted, and the rows it
+     * left out are listed again once it is cleared.
+     */
+    @Test
+    void filtersRowsByAppointmentID() {
+        Random random = new Random(13);
+        List<Integer> rows = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            int row = columns.put(randomAppointment(id, random));
+            list.addRow(row);
+            rows.add(row);
+        }
+
+        list.filter(id -> id % 3 == 0);
+        for (int i = 0; i < 30; i++) {
+            int row = rows.remove(random.nextInt(rows.size()));
+            list.removeRow(row);
+            columns.remove(columns.appointmentID(row));
+        }
+        for (int id = 101; id <= 130; id++) {
+            int row = columns.put(randomAppointment(id, random));
+            list.addRow(row);
+            rows.add(row);
+        }
+
+        Comparator<Appointment> byTitle = Comparator.comparing(Appointment::title)
+                .thenComparingInt(Appointment::appointmentID);
+        list.sort(byTitle);
+        List<Appointment> all = rows.stream().map(columns::materialize).sorted(byTitle).toList();
+        List<Appointment> expected = all.stream().filter(appointment -> appointment.appointmentID() % 3 == 0)
+                .toList();
+        assertEquals(expected, list);
+        assertEquals(expected, mirror);
+
+        list.filter(null);
+        assertEquals(all, list);
+        assertEquals(all, mirror);
+    }
+
+    /**
+     * Reading a row again returns the same record, and a row reused for another appointment returns the new one.
+     */
+    @Test
+    void reusesRecordsUntilTheRowChanges() {
+        Random random = new Random(5);
+        int row = columns.put(randomAppointment(1, random));
+        list.addRow(row);
+        list.addRow(columns.put(randomAppointment(2, random)));
+
+        Appointment first = list.get(list.indexOf(columns.materialize(row)));
+        assertSame(first, list.get(list.indexOf(first)));
+
+        list.removeRow(row);
+        columns.remove(1);
+        int reused = columns.put(randomAppointment(3, random));
+        list.addRow(reused);
+
+        assertEquals(row, reused);
+        assertEquals(List.of(2, 3), list.stream().map(Appointment::appointmentID).sorted().toList());
+    }
+
+    /**
+     * Creates a 30-minute appointment at a random quarter hour of one of ten days, with one of twenty titles.
+     *
+     * @param id     the appointment's ID
+     * @param random the source of the date and time
+     *
+     * @return the appointment
+     */
+    private static Appointment randomAppointment(int id, Random random) {
+        LocalDateTime start = LocalDate.of(2025, 3, 1).plusDays(random.nextInt(10))
+                .atTime(8, 0).plusMinutes(15L * random.nextInt(40));
+        return TestAppointments.appointment(id, "Title " + random.nextInt(20), "Type", 1, start,
+                start.plusMinutes(30));
+    }
+}
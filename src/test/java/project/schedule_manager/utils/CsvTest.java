@@ -0,0 +1,144 @@
+package project.schedule_manager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the parsing of {@link Csv#readRecord}, the column lookups of {@link Csv.Header}, and that records written by
+ * {@link Csv.Writer} read back unchanged.
+ */
+class CsvTest {
+    /**
+     * Plain, quoted, empty and non-ASCII fields survive a round trip.
+     */
+    @Test
+    void roundTripsFieldsThatNeedQuoting() throws IOException {
+        List<List<String>> records = List.of(
+                List.of("Appointment_ID", "Title", "Description"),
+                List.of("1", "Plain", "No quoting needed"),
+                List.of("2", "Comma, inside", "Say \"hello\""),
+                List.of("3", "Two\nlines", ""),
+                List.of("4", "Café über 東京", "\"\""));
+
+        assertEquals(records, read(write(records)));
+    }
+
+    /**
+     * Records larger than the writer's buffer, and more records than fit in it, are written in full.
+     */
+    @Test
+    void roundTripsMoreThanOneBuffer() throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        records.add(List.of("x".repeat(100_000), "long"));
+        for (int i = 0; i < 10_000; i++) {
+            records.add(List.of(String.valueOf(i), "Row, " + i));
+        }
+
+        assertEquals(records, read(write(records)));
+    }
+
+    /**
+     * Records end with CRLF and a null field is written empty.
+     */
+    @Test
+    void writesCrlfAndEmptyNulls() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Csv.Writer writer = new Csv.Writer(Channels.newChannel(bytes))) {
+            writer.writeRecord("a", null, "c");
+        }
+
+        assertEquals("a,,c\r\n", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Quoted fields may contain commas, doubled quotes and line breaks, and records end at CRLF or LF.
+     */
+    @Test
+    void readsQuotedFields() throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new StringReader("1,\"Comma, inside\",\"Say \"\"hi\"\"\"\r\n2,\"Two\nlines\",\n"));
+
+        assertEquals(List.of("1", "Comma, inside", "Say \"hi\""), Csv.readRecord(reader));
+        assertEquals(List.of("2", "Two\nlines", ""), Csv.readRecord(reader));
+        assertNull(Csv.readRecord(reader));
+    }
+
+    /**
+     * A quoted field left open at the end of the input is an error.
+     */
+    @Test
+    void rejectsAnUnterminatedQuote() {
+        BufferedReader reader = new BufferedReader(new StringReader("1,\"open\n"));
+
+        assertThrows(IOException.class, () -> Csv.readRecord(reader));
+    }
+
+    /**
+     * Header columns are matched ignoring case, whitespace and a byte order mark.
+     */
+    @Test
+    void looksUpFieldsByHeaderName() throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new StringReader("\uFEFFTitle, START \nMeeting, 2025-03-10 09:00 \n"));
+        Csv.Header header = new Csv.Header(reader, List.of("start", "title"));
+        List<String> record = Csv.readRecord(reader);
+
+        assertEquals("Meeting", header.get(record, "title"));
+        assertEquals("2025-03-10 09:00", header.get(record, "Start"));
+        assertEquals("", header.get(record, "End"));
+        assertThrows(IOException.class, () -> new Csv.Header(
+                new BufferedReader(new StringReader("Title\n")), List.of("Start")));
+    }
+
+    /**
+     * Writes records to memory.
+     *
+     * @param records the records
+     *
+     * @return the written text
+     *
+     * @throws IOException if a record cannot be written
+     */
+    private static String write(List<List<String>> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Csv.Writer writer = new Csv.Writer(Channels.newChannel(bytes))) {
+            for (List<String> record : records) {
+                writer.writeRecord(record.toArray(String[]::new));
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads every record of a text.
+     *
+     * @param text the text
+     *
+     * @return the records
+     *
+     * @throws IOException if the text is not valid CSV
+     */
+    private static List<List<String>> read(String text) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(text));
+        List<List<String>> records = new ArrayList<>();
+
+        List<String> record;
+        while ((record = Csv.readRecord(reader)) != null) {
+            records.add(record);
+        }
+        assertNull(Csv.readRecord(reader));
+        return records;
+    }
+}
@@ -0,0 +1,120 @@
+package project.schedule_manager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static project.schedule_manager.utils.TestAppointments.appointment;
+import static project.schedule_manager.utils.TestAppointments.ids;
+
+/**
+ * Tests the ordering, replacement and cancellation of {@link ReminderQueue}.
+ */
+class ReminderQueueTest {
+    /**
+     * The current date/time of every test.
+     */
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    /**
+     * The date/time up to which appointments are queued.
+     */
+    private static final LocalDateTime HORIZON = NOW.plusDays(1);
+
+    /**
+     * The queue under test, raising reminders 15 minutes before each appointment.
+     */
+    private final ReminderQueue queue = new ReminderQueue(Duration.ofMinutes(15));
+
+    /**
+     * Reminders fall due at the lead time before the start, earliest first.
+     */
+    @Test
+    void takesDueRemindersInOrder() {
+        offer(1, NOW.plusMinutes(60));
+        offer(2, NOW.plusMinutes(20));
+        offer(3, NOW.plusMinutes(30));
+
+        assertEquals(List.of(), ids(queue.takeDue(NOW)));
+        assertEquals(NOW.plusMinutes(5), queue.head().remindAt());
+        assertEquals(List.of(2, 3), ids(queue.takeDue(NOW.plusMinutes(15))));
+        assertEquals(List.of(1), ids(queue.takeDue(NOW.plusMinutes(45))));
+        assertNull(queue.head());
+    }
+
+    /**
+     * Appointments that have started or start after the horizon are not queued.
+     */
+    @Test
+    void skipsAppointmentsOutsideTheWindow() {
+        offer(1, NOW);
+        offer(2, HORIZON);
+
+        assertNull(queue.head());
+    }
+
+    /**
+     * Offering an appointment again replaces its reminder, so it is raised once, at its new time.
+     */
+    @Test
+    void replacesTheReminderOfARescheduledAppointment() {
+        offer(1, NOW.plusMinutes(20));
+        offer(1, NOW.plusMinutes(90));
+
+        assertEquals(List.of(), ids(queue.takeDue(NOW.plusMinutes(30))));
+        assertEquals(List.of(1), ids(queue.takeDue(NOW.plusMinutes(75))));
+        assertEquals(List.of(), ids(queue.takeDue(NOW.plusDays(1))));
+    }
+
+    /**
+     * Rescheduling an appointment outside the window cancels its reminder.
+     */
+    @Test
+    void dropsTheReminderOfAnAppointmentMovedOutOfTheWindow() {
+        offer(1, NOW.plusMinutes(20));
+        offer(1, HORIZON.plusHours(1));
+
+        assertNull(queue.head());
+    }
+
+    /**
+     * A cancelled reminder is never raised, and cancelling reports whether a reminder was queued.
+     */
+    @Test
+    void cancelsReminders() {
+        offer(1, NOW.plusMinutes(20));
+        offer(2, NOW.plusMinutes(25));
+
+        assertTrue(queue.cancel(1));
+        assertFalse(queue.cancel(1));
+        assertEquals(List.of(2), ids(queue.takeDue(NOW.plusMinutes(30))));
+    }
+
+    /**
+     * Clearing the queue discards every reminder.
+     */
+    @Test
+    void clearsEveryReminder() {
+        offer(1, NOW.plusMinutes(20));
+        queue.clear();
+
+        assertNull(queue.head());
+        assertFalse(queue.cancel(1));
+    }
+
+    /**
+     * Offers a 30-minute appointment to the queue at the current date/time.
+     *
+     * @param id    the appointment's ID
+     * @param start the start date/time
+     */
+    private void offer(int id, LocalDateTime start) {
+        queue.offer(appointment(id, 1, start, start.plusMinutes(30)), NOW, HORIZON);
+    }
+}
@@ -0,0 +1,107 @@
+package project.schedule_manager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the prefix queries and row updates of {@link SearchIndex}.
+ */
+class SearchIndexTest {
+    /**
+     * The index under test.
+     */
+    private final SearchIndex index = new SearchIndex();
+
+    /**
+     * A query matches the rows containing a term starting with each query term, ignoring case and punctuation.
+     */
+    @Test
+    void matchesEveryQueryTermAsAPrefix() {
+        index.put(1, "Quarterly Review", "Board room");
+        index.put(2, "Review, weekly", "Room 101");
+        index.put(3, "Planning");
+
+        assertEquals(bits(1, 2), index.search("REV"));
+        assertEquals(bits(1), index.search("rev quart"));
+        assertEquals(bits(2), index.search("room-10"));
+        assertEquals(bits(), index.search("review planning"));
+        assertNull(index.search(" ,. "));
+    }
+
+    /**
+     * Putting a row again replaces its terms, and removing it drops them.
+     */
+    @Test
+    void replacesAndRemovesRows() {
+        index.put(1, "Review");
+        index.put(1, "Planning");
+
+        assertEquals(bits(), index.search("review"));
+        assertEquals(bits(1), index.search("plan"));
+
+        index.remove(1);
+        index.remove(1);
+        assertEquals(bits(), index.search("plan"));
+    }
+
+    /**
+     * Rows removed out of ID order leave the other rows sharing their terms indexed.
+     */
+    @Test
+    void keepsPostingsSortedAcrossUpdates() {
+        for (int id = 1000; id > 0; id--) {
+            index.put(id, "common", "row" + id);
+        }
+        for (int id = 1; id <= 1000; id += 3) {
+            index.remove(id);
+        }
+        index.put(1, "common");
+
+        BitSet expected = new BitSet();
+        for (int id = 1; id <= 1000; id++) {
+            if (id == 1 || id % 3 != 1) {
+                expected.set(id);
+            }
+        }
+        assertEquals(expected, index.search("common"));
+        assertEquals(bits(99, 990, 992, 993, 995, 996, 998, 999), index.search("row99"));
+    }
+
+    /**
+     * A matcher runs its query again once the index has changed.
+     */
+    @Test
+    void refreshesMatchersAfterAChange() {
+        index.put(1, "Review");
+        IntPredicate matcher = index.matcher("review");
+
+        assertTrue(matcher.test(1));
+        index.put(2, "Review");
+        index.remove(1);
+        assertFalse(matcher.test(1));
+        assertTrue(matcher.test(2));
+        assertNull(index.matcher(""));
+    }
+
+    /**
+     * Creates a set of row IDs.
+     *
+     * @param ids the IDs
+     *
+     * @return the set
+     */
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
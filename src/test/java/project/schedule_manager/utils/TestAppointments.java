@@ -0,0 +1,68 @@
+package project.schedule_manager.utils;
+
+import project.schedule_manager.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builds the appointments used by the tests.
+ */
+abstract class TestAppointments {
+    /**
+     * Creates an appointment titled after its ID.
+     *
+     * @param id         the appointment's ID
+     * @param customerID the customer's ID
+     * @param start      the start date/time
+     * @param end        the end date/time, on the same date
+     *
+     * @return the appointment
+     */
+    static Appointment appointment(int id, int customerID, LocalDateTime start, LocalDateTime end) {
+        return appointment(id, "Title " + id, "Type", customerID, start, end);
+    }
+
+    /**
+     * Creates a one-hour appointment of a given type, starting at 9:00.
+     *
+     * @param id   the appointment's ID
+     * @param type the type
+     * @param date the date
+     *
+     * @return the appointment
+     */
+    static Appointment appointment(int id, String type, LocalDate date) {
+        return appointment(id, "Title " + id, type, 1, date.atTime(9, 0), date.atTime(10, 0));
+    }
+
+    /**
+     * Creates an appointment.
+     *
+     * @param id         the appointment's ID
+     * @param title      the title
+     * @param type       the type
+     * @param customerID the customer's ID
+     * @param start      the start date/time
+     * @param end        the end date/time, on the same date
+     *
+     * @return the appointment
+     */
+    static Appointment appointment(int id, String title, String type, int customerID, LocalDateTime start,
+                                   LocalDateTime end) {
+        return new Appointment(id, title, "Description", "Location", "Contact", type, start.toLocalDate(),
+                start.toLocalTime(), end.toLocalTime(), customerID, 1);
+    }
+
+    /**
+     * Returns the IDs of appointments.
+     *
+     * @param appointments the appointments
+     *
+     * @return their IDs, in order
+     */
+    static List<Integer> ids(List<Appointment> appointments) {
+        return appointments.stream().map(Appointment::appointmentID).toList();
+    }
+}